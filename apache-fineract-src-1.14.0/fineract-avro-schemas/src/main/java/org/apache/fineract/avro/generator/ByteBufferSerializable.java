@@ -20,9 +20,15 @@
 package org.apache.fineract.avro.generator;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 public interface ByteBufferSerializable {
 
     ByteBuffer toByteBuffer() throws IOException;
+
+    /**
+     * Writes the same bytes as {@link #toByteBuffer()} to the given stream, without allocating an intermediate buffer.
+     */
+    void writeTo(OutputStream out) throws IOException;
 }
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.avro.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Encodes {@link ByteBufferSerializable} records into byte arrays through a per-thread output buffer that is reused
+ * across calls, so each encoded record costs a single exact-size array instead of the intermediate
+ * {@link java.nio.ByteBuffer} and its copy.
+ */
+public final class PooledAvroEncoder {
+
+    private static final int INITIAL_CAPACITY = 4 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private static final ThreadLocal<ReusableOutputStream> BUFFER = new ThreadLocal<ReusableOutputStream>() {
+
+        @Override
+        protected ReusableOutputStream initialValue() {
+            return new ReusableOutputStream();
+        }
+    };
+
+    private PooledAvroEncoder() {}
+
+    public static byte[] encode(ByteBufferSerializable record) throws IOException {
+        ReusableOutputStream out = BUFFER.get();
+        out.reset();
+        try {
+            record.writeTo(out);
+            return out.toByteArray();
+        } finally {
+            if (out.capacity() > MAX_RETAINED_CAPACITY) {
+                // do not keep an occasional oversized payload pinned to the thread
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private static final class ReusableOutputStream extends ByteArrayOutputStream {
+
+        private ReusableOutputStream() {
+            super(INITIAL_CAPACITY);
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
+    }
+}
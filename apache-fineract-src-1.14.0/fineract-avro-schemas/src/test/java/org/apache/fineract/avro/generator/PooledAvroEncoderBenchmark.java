@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.avro.generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.avro.MessageV1;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares encoding a {@link MessageV1} envelope the way the event senders used to (toByteBuffer() followed by a copy
+ * into a byte array) with {@link PooledAvroEncoder}. Run it with the gc profiler (configured in build.gradle) and compare
+ * the gc.alloc.rate.norm figures to get the bytes allocated per event.
+ */
+@BenchmarkMode(Mode.Throughput) // Measures operations per second
+@State(Scope.Thread) // The pooled buffer is per thread
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PooledAvroEncoderBenchmark {
+
+    @Param({ "256", "4096" })
+    private int payloadSize;
+
+    private MessageV1 message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] payload = new byte[payloadSize];
+        new Random(42).nextBytes(payload);
+        message = new MessageV1(1L, "b6c4ea7e-0bd9-4a7b-a1b5-38a6a1e5d8f2", "LoanBalanceChangedBusinessEvent", "Loan",
+                "2024-01-01T10:15:30.123456", "2024-01-01", "default", "8f0e6c4c-6a8e-4b59-9d1c-0c1c7f2d9e11",
+                "org.apache.fineract.avro.loan.v1.LoanAccountDataV1", ByteBuffer.wrap(payload));
+    }
+
+    @Benchmark
+    public byte[] toByteBufferAndCopy() throws IOException {
+        ByteBuffer buffer = message.toByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] pooledEncode() throws IOException {
+        return PooledAvroEncoder.encode(message);
+    }
+}
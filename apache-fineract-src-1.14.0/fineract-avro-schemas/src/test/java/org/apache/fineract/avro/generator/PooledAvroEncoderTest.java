@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.avro.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.fineract.avro.MessageV1;
+import org.junit.jupiter.api.Test;
+
+class PooledAvroEncoderTest {
+
+    @Test
+    void testEncodeProducesSameBytesAsToByteBuffer() throws IOException {
+        MessageV1 message = message(new byte[] { 1, 2, 3 });
+
+        ByteBuffer expected = message.toByteBuffer();
+        byte[] expectedBytes = new byte[expected.remaining()];
+        expected.get(expectedBytes);
+
+        assertArrayEquals(expectedBytes, PooledAvroEncoder.encode(message));
+    }
+
+    @Test
+    void testEncodeCanBeDecodedAfterBufferReuse() throws IOException {
+        byte[] large = new byte[2 * 1024 * 1024];
+        large[large.length - 1] = 7;
+        PooledAvroEncoder.encode(message(large));
+
+        MessageV1 small = message("payload".getBytes(StandardCharsets.UTF_8));
+        MessageV1 decoded = MessageV1.fromByteBuffer(ByteBuffer.wrap(PooledAvroEncoder.encode(small)));
+
+        assertEquals(small, decoded);
+    }
+
+    private static MessageV1 message(byte[] data) {
+        return new MessageV1(1L, "aSource", "aType", "aCategory", "aCreateDate", "aBusinessDate", "aTenantId", "anIdempotencyKey",
+                "aSchema", ByteBuffer.wrap(data));
+    }
+}
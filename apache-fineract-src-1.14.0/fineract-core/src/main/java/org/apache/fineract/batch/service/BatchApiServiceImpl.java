@@ -37,6 +37,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -53,16 +58,21 @@ import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
 import org.apache.fineract.commands.configuration.RetryConfigurationAssembler;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchFilter;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
 import org.apache.fineract.infrastructure.core.persistence.ExtendedJpaTransactionManager;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -70,6 +80,8 @@ import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionExecution;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Implementation for {@link BatchApiService} to iterate through all the incoming requests and obtain the appropriate
@@ -95,6 +107,8 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     private final RetryConfigurationAssembler retryConfigurationAssembler;
 
+    private final FineractProperties fineractProperties;
+
     private PlatformTransactionManager transactionManager;
     private EntityManager entityManager;
 
@@ -196,13 +210,87 @@ public class BatchApiServiceImpl implements BatchApiService {
         }
 
         final ArrayList<BatchResponse> responseList = new ArrayList<>(requestList.size());
-        for (BatchRequestNode rootNode : rootNodes) {
-            this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+        FineractProperties.FineractBatchApiProperties batchProperties = getBatchApiProperties();
+        if (batchProperties != null && batchProperties.isParallelEnabled() && rootNodes.size() > 1
+                && !BatchRequestContextHolder.isEnclosingTransaction()) {
+            responseList.addAll(callRootNodesConcurrently(rootNodes, uriInfo, batchProperties.getMaxConcurrency()));
+        } else {
+            for (BatchRequestNode rootNode : rootNodes) {
+                this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+            }
         }
         responseList.sort(Comparator.comparing(BatchResponse::getRequestId));
         return responseList;
     }
 
+    private FineractProperties.FineractBatchApiProperties getBatchApiProperties() {
+        return fineractProperties.getApi() == null ? null : fineractProperties.getApi().getBatch();
+    }
+
+    /**
+     * Executes the independent root requests (and their dependent child requests) concurrently on virtual threads. Only
+     * used without enclosing transaction, where every request runs in its own transaction anyway. At most
+     * {@code maxConcurrency} root requests are executed at the same time; the tenant, security and request context of
+     * the calling thread is propagated to the worker threads.
+     *
+     * @param rootNodes
+     *            the independent root nodes of the batch request tree
+     * @param uriInfo
+     * @param maxConcurrency
+     *            maximum number of root requests executed at the same time
+     * @return {@code List<BatchResponse>} unordered responses of all the requests
+     */
+    private List<BatchResponse> callRootNodesConcurrently(List<BatchRequestNode> rootNodes, UriInfo uriInfo, int maxConcurrency) {
+        final FineractContext fineractContext = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        final Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+
+        List<Future<List<BatchResponse>>> futures = new ArrayList<>(rootNodes.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (BatchRequestNode rootNode : rootNodes) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        ThreadLocalContextUtil.init(fineractContext);
+                        SecurityContextHolder.setContext(securityContext);
+                        RequestContextHolder.setRequestAttributes(requestAttributes);
+                        BatchRequestContextHolder.setIsEnclosingTransaction(false);
+                        List<BatchResponse> nodeResponses = new ArrayList<>();
+                        callRequestRecursive(rootNode.getRequest(), rootNode, nodeResponses, uriInfo);
+                        return nodeResponses;
+                    } finally {
+                        BatchRequestContextHolder.resetIsEnclosingTransaction();
+                        RequestContextHolder.resetRequestAttributes();
+                        SecurityContextHolder.clearContext();
+                        ThreadLocalContextUtil.reset();
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<BatchResponse> responseList = new ArrayList<>();
+        for (Future<List<BatchResponse>> future : futures) {
+            try {
+                responseList.addAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the batch requests", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return responseList;
+    }
+
     /**
      * Executes the request and call child requests recursively.
      *
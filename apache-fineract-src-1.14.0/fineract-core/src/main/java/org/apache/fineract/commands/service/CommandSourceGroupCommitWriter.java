@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessUnderProcessingException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Group commit writer for command source records. Concurrent requests of the same tenant hand their command source
+ * inserts and result updates to a shared queue; the first request to arrive becomes the leader, waits up to
+ * {@code fineract.command-source.group-commit.max-delay-in-millis} for others to join and writes the whole group in a
+ * single transaction, so a burst of commands pays for one commit instead of one per request.
+ * <p>
+ * Idempotency keys of commands which are being inserted are tracked in memory, so a duplicate arriving while the
+ * original is still queued is rejected the same way as one rejected by the unique key of the database.
+ * <p>
+ * If a group fails (typically because one of its rows violates a constraint) every request of the group falls back to
+ * the non grouped {@link CommandSourceService} write, so a failure is only reported to the request which caused it. A
+ * request whose write was not picked up by a leader within {@code fineract.command-source.group-commit.max-wait-in-millis}
+ * withdraws it from the group and falls back to the single write as well.
+ */
+@Slf4j
+@Component
+public class CommandSourceGroupCommitWriter {
+
+    private static final long DEFAULT_MAX_WAIT_IN_MILLIS = 5_000L;
+
+    private final CommandSourceService commandSourceService;
+    private final CommandSourceRepository commandSourceRepository;
+    private final FineractProperties fineractProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<String, PendingGroup> pendingGroups = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Boolean> pendingIdempotencyKeys = new ConcurrentHashMap<>();
+
+    public CommandSourceGroupCommitWriter(CommandSourceService commandSourceService, CommandSourceRepository commandSourceRepository,
+            FineractProperties fineractProperties, PlatformTransactionManager transactionManager) {
+        this.commandSourceService = commandSourceService;
+        this.commandSourceRepository = commandSourceRepository;
+        this.fineractProperties = fineractProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Group commit is only used when it is enabled and the command source write would otherwise run in its own
+     * transaction: writes which have to join the transaction of the caller can not be handed over to another thread.
+     */
+    public boolean canGroupCommit() {
+        FineractProperties.FineractCommandSourceProperties properties = fineractProperties.getCommandSource();
+        return properties != null && properties.getGroupCommit() != null && properties.getGroupCommit().isEnabled()
+                && !BatchRequestContextHolder.isEnclosingTransaction() && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    @NonNull
+    public CommandSource saveInitial(CommandWrapper wrapper, JsonCommand jsonCommand, AppUser maker, String idempotencyKey) {
+        String pendingKey = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + wrapper.actionName() + ":"
+                + wrapper.entityName() + ":" + idempotencyKey;
+        if (pendingIdempotencyKeys.putIfAbsent(pendingKey, Boolean.TRUE) != null) {
+            throw new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey);
+        }
+        try {
+            CommandSource saved = write(commandSourceService.getInitialCommandSource(wrapper, jsonCommand, maker, idempotencyKey));
+            // the rolled back group may have left the entity half persisted, the fallback starts from a fresh one
+            return saved != null ? saved : commandSourceService.saveInitialNewTransaction(wrapper, jsonCommand, maker, idempotencyKey);
+        } finally {
+            pendingIdempotencyKeys.remove(pendingKey);
+        }
+    }
+
+    public CommandSource saveResult(@NonNull CommandSource commandSource) {
+        CommandSource saved = write(commandSource);
+        return saved != null ? saved : commandSourceService.saveResultNewTransaction(commandSource);
+    }
+
+    /**
+     * @return the saved command source or null if the group it was written with failed
+     */
+    private CommandSource write(CommandSource commandSource) {
+        FineractProperties.FineractCommandSourceGroupCommitProperties properties = fineractProperties.getCommandSource().getGroupCommit();
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        PendingWrite pendingWrite = new PendingWrite(commandSource, new CompletableFuture<>());
+        PendingGroup group = pendingGroups.computeIfAbsent(tenantIdentifier, k -> new PendingGroup());
+        boolean leader;
+        synchronized (group) {
+            group.writes.add(pendingWrite);
+            leader = !group.leaderActive;
+            group.leaderActive = true;
+            if (group.writes.size() >= Math.max(1, properties.getMaxBatchSize())) {
+                group.notifyAll();
+            }
+        }
+        if (leader) {
+            writeGroup(group, properties);
+            return pendingWrite.result.join();
+        }
+        return await(group, pendingWrite, properties);
+    }
+
+    private CommandSource await(PendingGroup group, PendingWrite pendingWrite,
+            FineractProperties.FineractCommandSourceGroupCommitProperties properties) {
+        long maxWaitInMillis = properties.getMaxWaitInMillis() > 0 ? properties.getMaxWaitInMillis() : DEFAULT_MAX_WAIT_IN_MILLIS;
+        try {
+            return pendingWrite.result.get(maxWaitInMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Command source was not group committed within {} ms, falling back to single write", maxWaitInMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            return null;
+        }
+        synchronized (group) {
+            if (group.writes.removeIf(write -> write == pendingWrite)) {
+                return null;
+            }
+        }
+        // a leader has already taken the write into its batch and completes it in any case
+        return pendingWrite.result.join();
+    }
+
+    private void writeGroup(PendingGroup group, FineractProperties.FineractCommandSourceGroupCommitProperties properties) {
+        List<PendingWrite> batch;
+        synchronized (group) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMaxDelayInMillis());
+            long remaining;
+            while (group.writes.size() < properties.getMaxBatchSize() && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(group, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            batch = new ArrayList<>(group.writes);
+            group.writes.clear();
+            // writes arriving from now on start the next group
+            group.leaderActive = false;
+        }
+        try {
+            List<CommandSource> saved = transactionTemplate.execute(status -> {
+                List<CommandSource> result = new ArrayList<>(batch.size());
+                for (PendingWrite write : batch) {
+                    result.add(commandSourceRepository.save(write.commandSource));
+                }
+                commandSourceRepository.flush();
+                return result;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.debug("Group commit of {} command sources failed, falling back to single writes", batch.size(), e);
+        } finally {
+            // no-op for the completed writes, every other request of the group falls back to the single write
+            batch.forEach(write -> write.result.complete(null));
+        }
+    }
+
+    private static final class PendingGroup {
+
+        private final List<PendingWrite> writes = new ArrayList<>();
+        private boolean leaderActive;
+    }
+
+    private record PendingWrite(CommandSource commandSource, CompletableFuture<CommandSource> result) {
+    }
+}
@@ -80,6 +80,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final CommandHandlerProvider commandHandlerProvider;
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final CommandSourceService commandSourceService;
+    private final CommandSourceGroupCommitWriter commandSourceGroupCommitWriter;
     private final RetryConfigurationAssembler retryConfigurationAssembler;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
@@ -124,6 +125,9 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             if (commandSource == null) {
                 if (isEnclosingTransaction) {
                     commandSource = commandSourceService.getInitialCommandSource(wrapper, command, user, idempotencyKey);
+                } else if (commandSourceGroupCommitWriter.canGroupCommit()) {
+                    commandSource = commandSourceGroupCommitWriter.saveInitial(wrapper, command, user, idempotencyKey);
+                    commandId = commandSource.getId();
                 } else {
                     commandSource = commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
                     commandId = commandSource.getId();
@@ -155,7 +159,11 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
                 commandSource.setStatus(ERROR);
             }
             if (!isEnclosingTransaction) { // TODO: temporary solution
-                commandSourceService.saveResultNewTransaction(commandSource);
+                if (commandSourceGroupCommitWriter.canGroupCommit()) {
+                    commandSourceGroupCommitWriter.saveResult(commandSource);
+                } else {
+                    commandSourceService.saveResultNewTransaction(commandSource);
+                }
             }
             // must not throw any exception; must persist in new transaction as the current transaction was already
             // marked as rollback
@@ -184,6 +192,9 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
                 currentSource.setStatus(PROCESSED);
 
                 // Return saved command source
+                if (commandSourceGroupCommitWriter.canGroupCommit()) {
+                    return commandSourceGroupCommitWriter.saveResult(currentSource);
+                }
                 return commandSourceService.saveResultSameTransaction(currentSource);
             });
 
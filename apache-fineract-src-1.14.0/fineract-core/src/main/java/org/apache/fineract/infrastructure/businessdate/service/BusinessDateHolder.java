@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.businessdate.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the stored business dates of each tenant in memory, so they do not have to be read from the database on every
+ * request.
+ * <p>
+ * Changes made on this node evict the tenant's entry once they are committed. Changes made on other nodes are picked up
+ * by a lightweight version check (the row count and the sum of the optimistic lock versions of
+ * {@code m_business_date}) that runs at most once per {@code fineract.business-date.version-check-interval-in-millis}
+ * and tenant; the dates themselves are only reloaded when the version has changed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BusinessDateHolder {
+
+    private static final String VERSION_SQL = "SELECT COUNT(*) AS row_count, COALESCE(SUM(version), 0) AS version_sum FROM m_business_date";
+
+    private final BusinessDateRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
+    private final ConcurrentHashMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public Map<BusinessDateType, LocalDate> getStoredBusinessDates() {
+        FineractProperties.FineractBusinessDateProperties properties = fineractProperties.getBusinessDate();
+        if (properties == null || !properties.isCacheEnabled()) {
+            return load(null).dates();
+        }
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        long now = System.nanoTime();
+        Snapshot snapshot = snapshots.get(tenantIdentifier);
+        if (snapshot == null) {
+            snapshot = load(now);
+        } else if (now - snapshot.checkedAt() >= TimeUnit.MILLISECONDS.toNanos(properties.getVersionCheckIntervalInMillis())) {
+            String version = currentVersion();
+            snapshot = version.equals(snapshot.version()) ? new Snapshot(snapshot.dates(), version, now) : load(now);
+        } else {
+            return snapshot.dates();
+        }
+        snapshots.put(tenantIdentifier, snapshot);
+        return snapshot.dates();
+    }
+
+    /**
+     * Evicts the business dates of the current tenant; when called within a transaction the entry is evicted again after
+     * the commit, so a concurrent request can not keep the old dates loaded before the change became visible.
+     */
+    public void evict() {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        snapshots.remove(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.remove(tenantIdentifier);
+                }
+            });
+        }
+        log.debug("Evicted business dates of tenant {}", tenantIdentifier);
+    }
+
+    private Snapshot load(Long now) {
+        // The version is read before the dates, so a concurrent change is picked up by the next version check at the latest
+        String version = now == null ? null : currentVersion();
+        Map<BusinessDateType, LocalDate> dates = new EnumMap<>(BusinessDateType.class);
+        for (BusinessDate businessDate : repository.findAll()) {
+            dates.put(businessDate.getType(), businessDate.getDate());
+        }
+        return new Snapshot(Collections.unmodifiableMap(dates), version, now == null ? 0L : now);
+    }
+
+    private String currentVersion() {
+        return jdbcTemplate.queryForObject(VERSION_SQL, (rs, rowNum) -> rs.getLong("row_count") + ":" + rs.getLong("version_sum"));
+    }
+
+    private record Snapshot(Map<BusinessDateType, LocalDate> dates, String version, long checkedAt) {
+    }
+}
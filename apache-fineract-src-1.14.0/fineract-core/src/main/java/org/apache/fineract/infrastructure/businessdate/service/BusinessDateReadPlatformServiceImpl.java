@@ -42,6 +42,7 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
     private final BusinessDateRepository repository;
     private final BusinessDateMapper businessDateMapper;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateHolder businessDateHolder;
 
     @Override
     public List<BusinessDateDTO> findAll() {
@@ -73,10 +74,7 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
         businessDateMap.put(BusinessDateType.BUSINESS_DATE, tenantDate);
         businessDateMap.put(BusinessDateType.COB_DATE, tenantDate);
         if (configurationDomainService.isBusinessDateEnabled()) {
-            final List<BusinessDateDTO> businessDateResponseList = this.findAll();
-            for (BusinessDateDTO businessDateResponse : businessDateResponseList) {
-                businessDateMap.put(businessDateResponse.getType(), businessDateResponse.getDate());
-            }
+            businessDateMap.putAll(businessDateHolder.getStoredBusinessDates());
         }
         return businessDateMap;
     }
@@ -44,6 +44,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
 
     private final BusinessDateRepository repository;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateHolder businessDateHolder;
 
     @Override
     public BusinessDateDTO updateBusinessDate(BusinessDateDTO businessDateDto) {
@@ -104,6 +105,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
         if (businessDate.isEmpty()) {
             BusinessDate newBusinessDate = BusinessDate.instance(businessDateType, businessDateDto.getDate());
             repository.save(newBusinessDate);
+            businessDateHolder.evict();
             businessDateDto.addChange(businessDateType, newBusinessDate.getDate());
         } else {
             updateBusinessDate(businessDate.get(), businessDateDto);
@@ -117,6 +119,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
 
         businessDate.setDate(businessDateDto.getDate());
         repository.save(businessDate);
+        businessDateHolder.evict();
 
         businessDateDto.addChange(businessDate.getType(), businessDateDto.getDate());
     }
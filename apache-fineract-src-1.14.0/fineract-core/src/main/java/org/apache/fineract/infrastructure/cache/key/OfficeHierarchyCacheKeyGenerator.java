@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.key;
+
+import java.lang.reflect.Method;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.cache.interceptor.KeyGenerator;
+
+/**
+ * {@link KeyGenerator} for caches holding data visible from the office hierarchy of the authenticated user. The key
+ * only consists of the tenant and the hierarchy, so the cached and the evicting methods can have any signature.
+ */
+@RequiredArgsConstructor
+public class OfficeHierarchyCacheKeyGenerator implements KeyGenerator {
+
+    private final PlatformSecurityContext context;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return TenantCacheKey.of(context.authenticatedUser().getOffice().getHierarchy());
+    }
+}
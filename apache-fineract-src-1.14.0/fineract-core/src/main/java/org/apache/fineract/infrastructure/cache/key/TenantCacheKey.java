@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.key;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+
+/**
+ * Cache key of tenant scoped cache entries: the tenant identifier, an optional discriminator separating the methods
+ * sharing a cache and the method parameters.
+ *
+ * {@link #of(Object...)} builds the same key the {@code tenantKeyGenerator} does, so it can be used in the
+ * {@code key} expression of a {@code @CacheEvict} whose method signature differs from the cached one.
+ *
+ * Keys made of {@code null}, {@link String}, {@link Long}, {@link Integer} and {@link Boolean} parameters have a stable
+ * string form ({@link #toExternalForm()}) which can be sent to the other nodes of a cluster and turned back into an
+ * equal key there.
+ */
+public record TenantCacheKey(String tenantIdentifier, String discriminator, Object[] params) {
+
+    private static final Object[] NO_PARAMS = new Object[0];
+    private static final String EXTERNAL_FORM_PREFIX = "TenantCacheKey|";
+    private static final char SEPARATOR = '|';
+    private static final char ESCAPE = '\\';
+
+    public static TenantCacheKey of(Object... params) {
+        return new TenantCacheKey(currentTenantIdentifier(), null, copy(params));
+    }
+
+    static TenantCacheKey create(String discriminator, Object[] params) {
+        return new TenantCacheKey(currentTenantIdentifier(), discriminator, copy(params));
+    }
+
+    static String currentTenantIdentifier() {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) {
+            throw new IllegalStateException("Tenant scoped cache used without a tenant bound to the current thread");
+        }
+        return tenant.getTenantIdentifier();
+    }
+
+    private static Object[] copy(Object[] params) {
+        return params == null || params.length == 0 ? NO_PARAMS : params.clone();
+    }
+
+    /**
+     * @return the string form of the key, or null if one of the parameters has no string form
+     */
+    public String toExternalForm() {
+        StringBuilder externalForm = new StringBuilder(EXTERNAL_FORM_PREFIX);
+        appendEscaped(externalForm, tenantIdentifier);
+        externalForm.append(SEPARATOR);
+        if (discriminator != null) {
+            externalForm.append('+');
+            appendEscaped(externalForm, discriminator);
+        }
+        for (Object param : params) {
+            externalForm.append(SEPARATOR);
+            if (param == null) {
+                externalForm.append('N');
+            } else if (param instanceof String stringParam) {
+                externalForm.append('S');
+                appendEscaped(externalForm, stringParam);
+            } else if (param instanceof Long longParam) {
+                externalForm.append('L').append(longParam);
+            } else if (param instanceof Integer integerParam) {
+                externalForm.append('I').append(integerParam);
+            } else if (param instanceof Boolean booleanParam) {
+                externalForm.append('B').append(booleanParam);
+            } else {
+                return null;
+            }
+        }
+        return externalForm.toString();
+    }
+
+    public static boolean isExternalForm(String value) {
+        return value != null && value.startsWith(EXTERNAL_FORM_PREFIX);
+    }
+
+    /**
+     * Rebuilds a key from its {@link #toExternalForm() string form}.
+     */
+    public static TenantCacheKey fromExternalForm(String externalForm) {
+        if (!isExternalForm(externalForm)) {
+            throw new IllegalArgumentException("Not a tenant cache key: " + externalForm);
+        }
+        List<String> parts = split(externalForm.substring(EXTERNAL_FORM_PREFIX.length()));
+        if (parts.size() < 2) {
+            throw new IllegalArgumentException("Not a tenant cache key: " + externalForm);
+        }
+        String discriminator = parts.get(1).isEmpty() ? null : parts.get(1).substring(1);
+        Object[] params = new Object[parts.size() - 2];
+        for (int i = 0; i < params.length; i++) {
+            String part = parts.get(i + 2);
+            if (part.isEmpty()) {
+                throw new IllegalArgumentException("Not a tenant cache key: " + externalForm);
+            }
+            String value = part.substring(1);
+            params[i] = switch (part.charAt(0)) {
+                case 'N' -> null;
+                case 'S' -> value;
+                case 'L' -> Long.valueOf(value);
+                case 'I' -> Integer.valueOf(value);
+                case 'B' -> Boolean.valueOf(value);
+                default -> throw new IllegalArgumentException("Not a tenant cache key: " + externalForm);
+            };
+        }
+        return new TenantCacheKey(parts.get(0), discriminator, params.length == 0 ? NO_PARAMS : params);
+    }
+
+    private static void appendEscaped(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == SEPARATOR || c == ESCAPE) {
+                builder.append(ESCAPE);
+            }
+            builder.append(c);
+        }
+    }
+
+    private static List<String> split(String value) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ESCAPE && i + 1 < value.length()) {
+                part.append(value.charAt(++i));
+            } else if (c == SEPARATOR) {
+                parts.add(part.toString());
+                part.setLength(0);
+            } else {
+                part.append(c);
+            }
+        }
+        parts.add(part.toString());
+        return parts;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TenantCacheKey that)) {
+            return false;
+        }
+        return tenantIdentifier.equals(that.tenantIdentifier) && Objects.equals(discriminator, that.discriminator)
+                && Arrays.deepEquals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * tenantIdentifier.hashCode() + Objects.hashCode(discriminator)) + Arrays.deepHashCode(params);
+    }
+
+    @Override
+    public String toString() {
+        return tenantIdentifier + (discriminator == null ? "" : ":" + discriminator) + Arrays.deepToString(params);
+    }
+}
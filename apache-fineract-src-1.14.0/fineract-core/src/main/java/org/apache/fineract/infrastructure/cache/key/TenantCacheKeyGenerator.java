@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.key;
+
+import java.lang.reflect.Method;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.interceptor.KeyGenerator;
+
+/**
+ * {@link KeyGenerator} building {@link TenantCacheKey}s from the current tenant and the method parameters, replacing
+ * the {@code ThreadLocalContextUtil.getTenant().getTenantIdentifier().concat(...)} SpEL keys.
+ *
+ * When several methods with the same parameter types share one cache, the method name has to be part of the key as
+ * well; that variant must only be used for caches which are evicted with {@code allEntries = true}.
+ */
+@RequiredArgsConstructor
+public class TenantCacheKeyGenerator implements KeyGenerator {
+
+    private final boolean includeMethodName;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return TenantCacheKey.create(includeMethodName ? method.getName() : null, params);
+    }
+}
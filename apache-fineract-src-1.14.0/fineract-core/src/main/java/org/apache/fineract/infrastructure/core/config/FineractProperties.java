@@ -55,6 +55,12 @@ public class FineractProperties {
 
     private FineractIpTrackingProperties ipTracking;
 
+    private FineractCommandSourceProperties commandSource;
+
+    private FineractAccountingProperties accounting;
+
+    private FineractBusinessDateProperties businessDate;
+
     private FineractPartitionedJob partitionedJob;
 
     private FineractRemoteJobMessageHandlerProperties remoteJobMessageHandler;
@@ -63,6 +69,8 @@ public class FineractProperties {
 
     private FineractTaskExecutor taskExecutor;
 
+    private FineractVirtualThreadsProperties virtualThreads;
+
     private FineractContentProperties content;
 
     private FineractReportProperties report;
@@ -81,6 +89,8 @@ public class FineractProperties {
 
     private FineractLoanProperties loan;
 
+    private FineractSavingsProperties savings;
+
     private FineractSamplingProperties sampling;
 
     private FineractModulesProperties module;
@@ -144,12 +154,21 @@ public class FineractProperties {
         private boolean writeEnabled;
         private boolean batchWorkerEnabled;
         private boolean batchManagerEnabled;
+        private FineractReadReplicaProperties readReplica = new FineractReadReplicaProperties();
 
         public boolean isReadOnlyMode() {
             return readEnabled && !writeEnabled && !batchWorkerEnabled && !batchManagerEnabled;
         }
     }
 
+    @Getter
+    @Setter
+    public static class FineractReadReplicaProperties {
+
+        private boolean enabled;
+        private Duration primaryStickiness = Duration.ofSeconds(5);
+    }
+
     @Getter
     @Setter
     public static class FineractCorrelationProperties {
@@ -165,6 +184,45 @@ public class FineractProperties {
         private boolean enabled;
     }
 
+    @Getter
+    @Setter
+    public static class FineractCommandSourceProperties {
+
+        private FineractCommandSourceGroupCommitProperties groupCommit;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCommandSourceGroupCommitProperties {
+
+        private boolean enabled;
+        private int maxBatchSize;
+        private long maxDelayInMillis;
+        private long maxWaitInMillis;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractAccountingProperties {
+
+        private FineractJournalEntryBatchPostingProperties journalEntryBatchPosting;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractJournalEntryBatchPostingProperties {
+
+        private boolean enabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBusinessDateProperties {
+
+        private boolean cacheEnabled;
+        private long versionCheckIntervalInMillis;
+    }
+
     @Getter
     @Setter
     public static class FineractPartitionedJob {
@@ -185,6 +243,8 @@ public class FineractProperties {
         private Integer threadPoolQueueCapacity;
         private Integer retryLimit;
         private Integer pollInterval;
+        private Integer readerPrefetchSize;
+        private Boolean adaptivePartitioning;
 
     }
 
@@ -291,6 +351,22 @@ public class FineractProperties {
     public static class FineractEventsProperties {
 
         private FineractExternalEventsProperties external;
+        private FineractHookDeliveryProperties hookDelivery;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookDeliveryProperties {
+
+        private boolean enabled;
+        private int batchSize;
+        private int maxConcurrencyPerEndpoint;
+        private int maxAttempts;
+        private long initialBackoffInMillis;
+        private long maxBackoffInMillis;
+        private long leaseInMillis;
+        private long pollIntervalInMillis;
+        private long failedRetentionInMillis;
     }
 
     @Getter
@@ -304,6 +380,14 @@ public class FineractProperties {
         private int tenantUpgradeTaskExecutorQueueCapacity;
     }
 
+    @Getter
+    @Setter
+    public static class FineractVirtualThreadsProperties {
+
+        private boolean pinningDiagnosticsEnabled;
+        private long pinningThresholdInMillis;
+    }
+
     @Getter
     @Setter
     public static class FineractExternalEventsProperties {
@@ -314,6 +398,26 @@ public class FineractProperties {
         private int threadPoolCorePoolSize;
         private int threadPoolMaxPoolSize;
         private int threadPoolQueueCapacity;
+        private FineractExternalEventsRelayProperties relay;
+        private FineractExternalEventsBatchInsertProperties batchInsert;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsBatchInsertProperties {
+
+        private boolean enabled;
+        private int batchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsRelayProperties {
+
+        private boolean enabled;
+        private int batchSize;
+        private int maxInFlightBatches;
+        private long idlePollIntervalInMillis;
     }
 
     @Getter
@@ -400,6 +504,7 @@ public class FineractProperties {
     @Setter
     public static class FineractExportProperties {
 
+        private int fetchSize;
         private FineractExportS3Properties s3;
     }
 
@@ -418,6 +523,7 @@ public class FineractProperties {
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
         private FineractJournalEntryAggregationProperties journalEntryAggregation;
+        private FineractRunningBalanceUpdateProperties runningBalanceUpdate;
     }
 
     @Getter
@@ -429,6 +535,15 @@ public class FineractProperties {
         private Integer chunkSize;
     }
 
+    @Getter
+    @Setter
+    public static class FineractRunningBalanceUpdateProperties {
+
+        private boolean incrementalEnabled;
+        private Integer pageSize;
+        private Integer threadPoolSize;
+    }
+
     @Getter
     @Setter
     public static class FineractTemplateProperties {
@@ -463,6 +578,15 @@ public class FineractProperties {
     public static class FineractApiProperties {
 
         private FineractBodyItemSizeLimitProperties bodyItemSizeLimit;
+        private FineractBatchApiProperties batch;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchApiProperties {
+
+        private boolean parallelEnabled;
+        private int maxConcurrency;
     }
 
     @Getter
@@ -492,6 +616,22 @@ public class FineractProperties {
 
         private FineractTransactionProcessorProperties transactionProcessor;
         private String statusChangeHistoryStatuses;
+        private FineractProgressiveModelProperties progressiveModel;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSavingsProperties {
+
+        private boolean incrementalDailyBalancesEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractProgressiveModelProperties {
+
+        private boolean binaryEncodingEnabled;
+        private int cacheSize;
     }
 
     @Getter
@@ -560,6 +700,16 @@ public class FineractProperties {
         public static class FineractSecurityBasicAuth {
 
             private boolean enabled;
+            private FineractSecurityCredentialCache credentialCache;
+        }
+
+        @Getter
+        @Setter
+        public static class FineractSecurityCredentialCache {
+
+            private boolean enabled;
+            private long ttlInSeconds;
+            private int maxSize;
         }
 
         @Getter
@@ -654,6 +804,18 @@ public class FineractProperties {
 
         private FineractCacheDetails defaultTemplate;
         private Map<String, FineractCacheDetails> customTemplates = new HashMap<>();
+        private FineractCacheInvalidation invalidation = new FineractCacheInvalidation();
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheInvalidation {
+
+        private boolean enabled;
+        private Duration pollInterval = Duration.ofSeconds(5);
+        private Duration retention = Duration.ofHours(1);
+        private int batchSize = 1000;
+        private Duration gapTimeout = Duration.ofMinutes(1);
     }
 
     @Getter
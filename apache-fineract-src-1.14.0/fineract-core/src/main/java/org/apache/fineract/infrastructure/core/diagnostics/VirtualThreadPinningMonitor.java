@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads which stay pinned to their carrier thread (blocking inside {@code synchronized} or native
+ * code) longer than {@code fineract.virtual-threads.pinning-threshold-in-millis}. Pinned virtual threads block a
+ * carrier thread, so a few of them can stall all request processing when running on virtual threads.
+ * <p>
+ * Uses the {@code jdk.VirtualThreadPinned} JFR event, every pinning is logged with the top of its stack trace and
+ * counted in the {@code fineract.virtual-threads.pinned} metric.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "fineract.virtual-threads.pinning-diagnostics-enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 10;
+
+    private final FineractProperties fineractProperties;
+    private final Counter pinnedCounter;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(FineractProperties fineractProperties, Optional<MeterRegistry> meterRegistry) {
+        this.fineractProperties = fineractProperties;
+        this.pinnedCounter = Counter.builder("fineract.virtual-threads.pinned")
+                .description("Number of virtual threads pinned to their carrier longer than the threshold")
+                .register(meterRegistry.orElseGet(SimpleMeterRegistry::new));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Duration threshold = Duration.ofMillis(fineractProperties.getVirtualThreads().getPinningThresholdInMillis());
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT_NAME).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT_NAME, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        log.warn("Virtual thread {} was pinned to its carrier thread for {} ms at:{}",
+                event.getThread() == null ? "?" : event.getThread().getJavaName(), event.getDuration().toMillis(),
+                formatStackTrace(event.getStackTrace()));
+    }
+
+    private static String formatStackTrace(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream().limit(LOGGED_FRAMES).map(frame -> System.lineSeparator() + "\tat " + frame.getMethod().getType().getName()
+                + "." + frame.getMethod().getName() + ":" + frame.getLineNumber()).collect(Collectors.joining());
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
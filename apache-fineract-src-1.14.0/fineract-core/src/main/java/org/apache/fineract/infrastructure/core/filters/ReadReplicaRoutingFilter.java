@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaStalenessGuard;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Marks GET and HEAD requests as eligible for the read replica of the tenant, unless the same user sent a write request
+ * within the configured primary stickiness window. Every other request is recorded as a write of the user, before it is
+ * processed so reads sent while the write is still running stay on the primary, and again once it completed so the
+ * window starts from the commit.
+ */
+@RequiredArgsConstructor
+public class ReadReplicaRoutingFilter extends OncePerRequestFilter {
+
+    private final ReadReplicaStalenessGuard stalenessGuard;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
+            throws IOException, ServletException {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final String username = getAuthenticatedUsername();
+        final boolean readRequest = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        final boolean recordWrite = !readRequest && tenant != null && username != null;
+        if (recordWrite) {
+            stalenessGuard.recordWrite(tenant.getTenantIdentifier(), username);
+        }
+        try {
+            ReadReplicaRoutingContext.setReadRequest(readRequest && tenant != null
+                    && (username == null || !stalenessGuard.isPinnedToPrimary(tenant.getTenantIdentifier(), username)));
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadReplicaRoutingContext.clearReadRequest();
+            if (recordWrite) {
+                stalenessGuard.recordWrite(tenant.getTenantIdentifier(), username);
+            }
+        }
+    }
+
+    private String getAuthenticatedUsername() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    @Override
+    protected boolean isAsyncDispatch(final HttpServletRequest request) {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+}
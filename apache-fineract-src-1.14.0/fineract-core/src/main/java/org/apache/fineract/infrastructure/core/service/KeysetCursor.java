@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+/**
+ * Position of the last row of a keyset page: the value of the sort key (if the page is not sorted by id only) and the id.
+ * <p>
+ * The cursor is handed out to clients as an opaque, URL safe token that carries the type of the sort value, so it can
+ * be bound with the right SQL type when the next page is requested.
+ */
+public record KeysetCursor(Object sortValue, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public KeysetCursor {
+        sortValue = normalize(sortValue);
+    }
+
+    public String encode() {
+        String value = typeOf(sortValue) + SEPARATOR + (sortValue == null ? "" : sortValue.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token; returns {@code null} for a blank token, which requests the first page.
+     */
+    public static KeysetCursor decode(final String token) {
+        if (StringUtils.isBlank(token)) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int typeEnd = value.indexOf(SEPARATOR);
+            int idStart = value.lastIndexOf(SEPARATOR);
+            if (typeEnd != 1 || idStart <= typeEnd) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String sortValue = value.substring(typeEnd + 1, idStart);
+            long id = Long.parseLong(value.substring(idStart + 1));
+            return new KeysetCursor(parse(value.charAt(0), sortValue), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new UnrecognizedQueryParamException(SearchParameters.AFTER_PARAM, token);
+        }
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Integer || value instanceof Short) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
+    private static char typeOf(Object value) {
+        if (value == null) {
+            // sorted by id only
+            return 'I';
+        } else if (value instanceof Long) {
+            return 'L';
+        } else if (value instanceof BigDecimal) {
+            return 'N';
+        } else if (value instanceof LocalDate) {
+            return 'D';
+        } else if (value instanceof LocalDateTime) {
+            return 'T';
+        } else if (value instanceof String) {
+            return 'S';
+        }
+        throw new IllegalArgumentException("Unsupported keyset sort value type: " + value.getClass().getName());
+    }
+
+    private static Object parse(char type, String value) {
+        return switch (type) {
+            case 'I' -> null;
+            case 'L' -> Long.parseLong(value);
+            case 'N' -> new BigDecimal(value);
+            case 'D' -> LocalDate.parse(value);
+            case 'T' -> LocalDateTime.parse(value);
+            case 'S' -> value;
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        };
+    }
+}
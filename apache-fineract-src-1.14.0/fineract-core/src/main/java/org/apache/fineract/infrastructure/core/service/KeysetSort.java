@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+/**
+ * Sort key of a keyset paginated query: an optional, non-nullable sort column followed by the id as tie breaker. Both
+ * are given as the SQL expression used in the predicate and order by clause and the label they are selected as.
+ */
+public record KeysetSort(String sortExpression, String sortLabel, String idExpression, String idLabel, boolean descending) {
+
+    public static KeysetSort byId(final String idExpression, final String idLabel) {
+        return new KeysetSort(null, null, idExpression, idLabel, false);
+    }
+
+    public static KeysetSort by(final String sortExpression, final String sortLabel, final String idExpression, final String idLabel) {
+        return new KeysetSort(sortExpression, sortLabel, idExpression, idLabel, false);
+    }
+
+    /**
+     * Resolves the sort key requested by {@code orderBy} and {@code sortOrder} among the ones supported by a listing;
+     * without {@code orderBy} the default sort key is used.
+     */
+    public static KeysetSort resolve(final SearchParameters searchParameters, final KeysetSort defaultSort,
+            final Map<String, KeysetSort> supportedSorts) {
+        KeysetSort sort = defaultSort;
+        if (searchParameters.hasOrderBy()) {
+            sort = supportedSorts.get(searchParameters.getOrderBy());
+            if (sort == null) {
+                throw new UnrecognizedQueryParamException("orderBy", searchParameters.getOrderBy(), supportedSorts.keySet().toArray());
+            }
+        }
+        boolean descending = searchParameters.hasSortOrder() && "desc".equalsIgnoreCase(searchParameters.getSortOrder().trim());
+        return new KeysetSort(sort.sortExpression, sort.sortLabel, sort.idExpression, sort.idLabel, descending);
+    }
+
+    public boolean isIdOnly() {
+        return sortExpression == null;
+    }
+
+    public String predicate() {
+        String operator = descending ? " < ?" : " > ?";
+        if (isIdOnly()) {
+            return idExpression + operator;
+        }
+        return "(" + sortExpression + operator + " or (" + sortExpression + " = ? and " + idExpression + operator + "))";
+    }
+
+    public List<Object> predicateArgs(final KeysetCursor cursor) {
+        if (isIdOnly()) {
+            return List.of(cursor.id());
+        }
+        return List.of(cursor.sortValue(), cursor.sortValue(), cursor.id());
+    }
+
+    public String orderBy() {
+        String direction = descending ? " desc" : " asc";
+        if (isIdOnly()) {
+            return idExpression + direction;
+        }
+        return sortExpression + direction + ", " + idExpression + direction;
+    }
+
+    public KeysetCursor cursorOf(final ResultSet rs) throws SQLException {
+        return new KeysetCursor(isIdOnly() ? null : rs.getObject(sortLabel), rs.getLong(idLabel));
+    }
+}
@@ -25,16 +25,32 @@ public class Page<E> implements Serializable {
 
     private final Integer totalFilteredRecords;
     private final List<E> pageItems;
+    private final String nextCursor;
 
     public Page(final List<E> pageItems, final Integer totalFilteredRecords) {
+        this(pageItems, totalFilteredRecords, null);
+    }
+
+    public Page(final List<E> pageItems, final Integer totalFilteredRecords, final String nextCursor) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.nextCursor = nextCursor;
     }
 
-    public int getTotalFilteredRecords() {
+    /**
+     * Returns the number of matching records; it is {@code null} for keyset pages requested without a total count.
+     */
+    public Integer getTotalFilteredRecords() {
         return this.totalFilteredRecords;
     }
 
+    /**
+     * Returns the opaque cursor of the next keyset page, or {@code null} if this is the last page.
+     */
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+
     public List<E> getPageItems() {
         return this.pageItems;
     }
@@ -18,8 +18,13 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +35,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class PaginationHelper {
 
+    private static final Pattern POSTGRESQL_PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final DatabaseTypeResolver databaseTypeResolver;
 
@@ -64,4 +71,71 @@ public class PaginationHelper {
 
         return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, 0));
     }
+
+    /**
+     * Fetches a page using keyset (cursor) pagination instead of an offset, so the cost of a page does not grow with its
+     * depth.
+     *
+     * @param sqlFilteredRows
+     *            the query with all filters applied, including a where clause, but without order by and limit; it must
+     *            select the sort and id columns with the labels of the {@code sort}
+     * @param args
+     *            the arguments of the filters
+     * @return the page with the cursor of the next page (if there is one) and the total count requested by
+     *         {@link SearchParameters#getTotalCount()}
+     */
+    public <E> Page<E> fetchKeysetPage(final JdbcTemplate jt, final String sqlFilteredRows, final Object[] args,
+            final RowMapper<E> rowMapper, final KeysetSort sort, final SearchParameters searchParameters) {
+        final TotalCountMode totalCountMode = TotalCountMode.fromString(searchParameters.getTotalCount());
+        final KeysetCursor cursor = KeysetCursor.decode(searchParameters.getAfter());
+        if (cursor != null && !sort.isIdOnly() && cursor.sortValue() == null) {
+            throw new UnrecognizedQueryParamException(SearchParameters.AFTER_PARAM, searchParameters.getAfter());
+        }
+        final Integer limit = searchParameters.getLimit();
+
+        final StringBuilder sqlBuilder = new StringBuilder(sqlFilteredRows);
+        final List<Object> params = new ArrayList<>(Arrays.asList(args));
+        if (cursor != null) {
+            sqlBuilder.append(" and ").append(sort.predicate());
+            params.addAll(sort.predicateArgs(cursor));
+        }
+        sqlBuilder.append(" order by ").append(sort.orderBy());
+        if (limit != null) {
+            // One extra row tells whether there is a next page
+            sqlBuilder.append(' ').append(sqlGenerator.limit(limit + 1));
+        }
+
+        final List<KeysetCursor> cursors = new ArrayList<>();
+        List<E> items = jt.query(sqlBuilder.toString(), (rs, rowNum) -> { // NOSONAR
+            cursors.add(sort.cursorOf(rs));
+            return rowMapper.mapRow(rs, rowNum);
+        }, params.toArray());
+
+        String nextCursor = null;
+        if (limit != null && items.size() > limit) {
+            items = new ArrayList<>(items.subList(0, limit));
+            nextCursor = cursors.get(limit - 1).encode();
+        }
+
+        final Integer totalFilteredRecords = switch (totalCountMode) {
+            case EXACT -> jt.queryForObject(sqlGenerator.countQueryResult(sqlFilteredRows), Integer.class, args); // NOSONAR
+            case ESTIMATE -> estimateRowCount(jt, sqlFilteredRows, args);
+            case NONE -> null;
+        };
+        return new Page<>(items, totalFilteredRecords, nextCursor);
+    }
+
+    private Integer estimateRowCount(final JdbcTemplate jt, final String sql, final Object[] args) {
+        if (databaseTypeResolver.isPostgreSQL()) {
+            String plan = jt.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args); // NOSONAR
+            Matcher matcher = POSTGRESQL_PLAN_ROWS.matcher(ObjectUtils.defaultIfNull(plan, ""));
+            return matcher.find() ? (int) Math.min(Integer.MAX_VALUE, Long.parseLong(matcher.group(1))) : null;
+        }
+        // MySQL: the rows to be examined in the driving table, reduced by the estimated filtering of the conditions
+        List<Long> estimates = jt.query("EXPLAIN " + sql, (rs, rowNum) -> { // NOSONAR
+            double filtered = rs.getDouble("filtered");
+            return (long) (rs.getLong("rows") * (filtered > 0 ? filtered / 100 : 1));
+        }, args);
+        return estimates.isEmpty() ? null : (int) Math.min(Integer.MAX_VALUE, estimates.get(0));
+    }
 }
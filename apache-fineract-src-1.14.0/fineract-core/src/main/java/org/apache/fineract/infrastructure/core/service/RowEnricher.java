@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Enriches the rows of a list read with data that would otherwise be looked up row by row in the row mapper. The keys
+ * of all rows are collected and resolved with one set based lookup (per chunk of {@value #MAX_KEYS_PER_LOOKUP} keys, to
+ * stay within the limits of an {@code in} clause), then the found values are set on the rows.
+ *
+ * @param <T>
+ *            the type of the rows
+ * @param <K>
+ *            the type of the lookup key, usually the id of the row
+ * @param <V>
+ *            the type of the looked up value
+ */
+public final class RowEnricher<T, K, V> {
+
+    public static final int MAX_KEYS_PER_LOOKUP = 1000;
+
+    private final Function<T, K> keyExtractor;
+    private final Function<Collection<K>, Map<K, V>> lookup;
+    private final BiConsumer<T, V> enrichment;
+
+    private RowEnricher(final Function<T, K> keyExtractor, final Function<Collection<K>, Map<K, V>> lookup,
+            final BiConsumer<T, V> enrichment) {
+        this.keyExtractor = keyExtractor;
+        this.lookup = lookup;
+        this.enrichment = enrichment;
+    }
+
+    /**
+     * @param keyExtractor
+     *            returns the lookup key of a row, rows without a key are not enriched
+     * @param lookup
+     *            resolves a set of keys at once; keys without a value may be missing from the result
+     * @param enrichment
+     *            sets the found value on a row
+     */
+    public static <T, K, V> RowEnricher<T, K, V> of(final Function<T, K> keyExtractor, final Function<Collection<K>, Map<K, V>> lookup,
+            final BiConsumer<T, V> enrichment) {
+        return new RowEnricher<>(keyExtractor, lookup, enrichment);
+    }
+
+    public List<T> enrich(final List<T> rows) {
+        final Set<K> keys = new LinkedHashSet<>();
+        for (T row : rows) {
+            K key = keyExtractor.apply(row);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return rows;
+        }
+
+        final List<K> orderedKeys = new ArrayList<>(keys);
+        for (int from = 0; from < orderedKeys.size(); from += MAX_KEYS_PER_LOOKUP) {
+            final List<K> chunk = orderedKeys.subList(from, Math.min(from + MAX_KEYS_PER_LOOKUP, orderedKeys.size()));
+            final Map<K, V> values = Objects.requireNonNullElse(lookup.apply(chunk), Map.of());
+            if (values.isEmpty()) {
+                continue;
+            }
+            for (T row : rows) {
+                K key = keyExtractor.apply(row);
+                V value = key == null ? null : values.get(key);
+                if (value != null) {
+                    enrichment.accept(row, value);
+                }
+            }
+        }
+        return rows;
+    }
+
+    public Page<T> enrich(final Page<T> page) {
+        enrich(page.getPageItems());
+        return page;
+    }
+
+    public T enrich(final T row) {
+        if (row != null) {
+            enrich(List.of(row));
+        }
+        return row;
+    }
+}
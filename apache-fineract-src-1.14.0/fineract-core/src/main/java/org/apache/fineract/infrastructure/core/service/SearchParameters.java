@@ -30,6 +30,8 @@ import org.apache.commons.lang3.StringUtils;
 public class SearchParameters {
 
     public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final String AFTER_PARAM = "after";
+    public static final String TOTAL_COUNT_PARAM = "totalCount";
 
     private Long officeId;
     private String externalId;
@@ -57,6 +59,9 @@ public class SearchParameters {
     @Getter(AccessLevel.NONE)
     private Boolean isSelfUser;
     private Integer legalForm;
+    // Cursor of keyset pagination, an empty value requests the first page
+    private String after;
+    private String totalCount;
 
     public Integer getLimit() {
         if (limit == null) {
@@ -141,4 +146,8 @@ public class SearchParameters {
     public boolean hasLegalForm() {
         return this.legalForm != null;
     }
+
+    public boolean isKeysetPagination() {
+        return this.after != null;
+    }
 }
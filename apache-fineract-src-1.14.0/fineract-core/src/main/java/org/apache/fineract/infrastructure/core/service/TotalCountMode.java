@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.Arrays;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+/**
+ * How the total number of matching records is determined for a keyset page.
+ */
+public enum TotalCountMode {
+
+    /** Runs a count query over all matching records. */
+    EXACT,
+    /** Uses the row estimate of the query planner. */
+    ESTIMATE,
+    /** Skips counting; the total is not returned. */
+    NONE;
+
+    public static TotalCountMode fromString(final String value) {
+        if (StringUtils.isBlank(value)) {
+            return NONE;
+        }
+        return Arrays.stream(values()).filter(mode -> mode.name().equalsIgnoreCase(value)).findFirst()
+                .orElseThrow(() -> new UnrecognizedQueryParamException(SearchParameters.TOTAL_COUNT_PARAM, value,
+                        Arrays.stream(values()).map(mode -> mode.name().toLowerCase()).toArray()));
+    }
+}
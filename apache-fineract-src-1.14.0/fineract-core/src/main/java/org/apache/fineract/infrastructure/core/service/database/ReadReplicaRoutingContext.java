@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Holds what the {@link RoutingDataSource} needs to know on the current thread to decide between the primary and the
+ * read replica pool of a tenant.
+ *
+ * A connection is only taken from the replica while serving a read request (see
+ * {@code org.apache.fineract.infrastructure.core.filters.ReadReplicaRoutingFilter}) and outside of any read-write
+ * transaction. Transactions are tracked by the transaction manager before it acquires the connection, as the
+ * synchronization flags of Spring are only published after that.
+ */
+public final class ReadReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> readRequestContext = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Boolean>> readOnlyTransactionContext = new ThreadLocal<>();
+
+    private ReadReplicaRoutingContext() {}
+
+    public static void setReadRequest(final boolean readRequest) {
+        readRequestContext.set(readRequest);
+    }
+
+    public static void clearReadRequest() {
+        readRequestContext.remove();
+    }
+
+    public static void beginTransaction(final boolean readOnly) {
+        Deque<Boolean> transactions = readOnlyTransactionContext.get();
+        if (transactions == null) {
+            transactions = new ArrayDeque<>();
+            readOnlyTransactionContext.set(transactions);
+        }
+        transactions.push(readOnly);
+    }
+
+    public static void endTransaction() {
+        final Deque<Boolean> transactions = readOnlyTransactionContext.get();
+        if (transactions == null) {
+            return;
+        }
+        transactions.poll();
+        if (transactions.isEmpty()) {
+            readOnlyTransactionContext.remove();
+        }
+    }
+
+    public static boolean isReplicaAllowed() {
+        if (!Boolean.TRUE.equals(readRequestContext.get())) {
+            return false;
+        }
+        final Deque<Boolean> transactions = readOnlyTransactionContext.get();
+        return transactions == null || transactions.isEmpty() || transactions.peek();
+    }
+}
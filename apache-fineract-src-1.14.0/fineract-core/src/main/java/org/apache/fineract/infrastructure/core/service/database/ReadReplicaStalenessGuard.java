@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers when each user of a tenant last sent a write request, so that their reads stay on the primary until the
+ * replica had the time to catch up with what they just changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadReplicaStalenessGuard {
+
+    private final FineractProperties fineractProperties;
+    private final Map<String, Long> lastWriteNanosByUser = new ConcurrentHashMap<>();
+
+    public void recordWrite(final String tenantIdentifier, final String username) {
+        lastWriteNanosByUser.put(key(tenantIdentifier, username), System.nanoTime());
+    }
+
+    public boolean isPinnedToPrimary(final String tenantIdentifier, final String username) {
+        final String key = key(tenantIdentifier, username);
+        final Long lastWriteNanos = lastWriteNanosByUser.get(key);
+        if (lastWriteNanos == null) {
+            return false;
+        }
+        final long stickinessNanos = fineractProperties.getMode().getReadReplica().getPrimaryStickiness().toNanos();
+        if (System.nanoTime() - lastWriteNanos < stickinessNanos) {
+            return true;
+        }
+        lastWriteNanosByUser.remove(key, lastWriteNanos);
+        return false;
+    }
+
+    private static String key(final String tenantIdentifier, final String username) {
+        return tenantIdentifier + ":" + username;
+    }
+}
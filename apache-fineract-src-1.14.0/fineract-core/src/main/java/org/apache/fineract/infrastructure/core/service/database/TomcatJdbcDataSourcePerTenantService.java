@@ -29,6 +29,7 @@ import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.configuration.service.MoneyHelperInitializationService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -51,11 +52,13 @@ import org.springframework.stereotype.Service;
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService, ApplicationListener<ContextRefreshedEvent> {
 
     private static final Map<Long, DataSource> TENANT_TO_DATA_SOURCE_MAP = new ConcurrentHashMap<>();
+    private static final Map<Long, DataSource> TENANT_TO_REPLICA_DATA_SOURCE_MAP = new ConcurrentHashMap<>();
     @Qualifier("hikariTenantDataSource")
     private final DataSource tenantDataSource;
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final FineractProperties fineractProperties;
 
     private final Set<Long> tenantMoneyInitializingSet = Sets.newConcurrentHashSet();
     @Autowired(required = false)
@@ -72,8 +75,13 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
             Long tenantConnectionKey = tenantConnection.getConnectionId();
             // if tenantConnection information available switch to the
             // appropriate datasource for that tenant.
-            actualDataSource = TENANT_TO_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey,
-                    (key) -> dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenant, tenantConnection));
+            if (isReplicaRouted(tenantConnection)) {
+                actualDataSource = TENANT_TO_REPLICA_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey,
+                        (key) -> dataSourcePerTenantServiceFactory.createNewReplicaDataSourceFor(tenant, tenantConnection));
+            } else {
+                actualDataSource = TENANT_TO_DATA_SOURCE_MAP.computeIfAbsent(tenantConnectionKey,
+                        (key) -> dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenant, tenantConnection));
+            }
         }
 
         // TODO: This is definitely not the optimal place to initialize the rounding modes
@@ -96,6 +104,11 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
         return actualDataSource;
     }
 
+    private boolean isReplicaRouted(FineractPlatformTenantConnection tenantConnection) {
+        return fineractProperties.getMode().getReadReplica().isEnabled() && ReadReplicaRoutingContext.isReplicaAllowed()
+                && dataSourcePerTenantServiceFactory.hasReadReplica(tenantConnection);
+    }
+
     @Override
     public void onApplicationEvent(ContextRefreshedEvent event) {
         final List<FineractPlatformTenant> allTenants = tenantDetailsService.findAllTenants();
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import java.io.IOException;
 import java.util.List;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
@@ -27,12 +28,31 @@ public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(String sql);
 
+    /**
+     * Same as {@link #fillGenericResultSet(String)}, binding the given values to the {@code ?} parameters of the query.
+     */
+    GenericResultsetData fillGenericResultSet(String sql, Object[] params);
+
+    /**
+     * Runs the query on a forward-only cursor and hands every row to the handler as soon as it is read, so the result
+     * is never held in memory as a whole.
+     */
+    void streamGenericResultSet(String sql, GenericResultsetRowHandler handler) throws IOException;
+
+    /**
+     * Same as {@link #streamGenericResultSet(String, GenericResultsetRowHandler)}, binding the given values to the
+     * {@code ?} parameters of the query.
+     */
+    void streamGenericResultSet(String sql, Object[] params, GenericResultsetRowHandler handler) throws IOException;
+
     List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(String tableName);
 
     List<ResultsetRowData> fillResultsetRowData(String sql, List<ResultsetColumnHeaderData> columnHeaders);
 
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
+    String generateJsonFromResultsetRow(List<ResultsetColumnHeaderData> columnHeaders, List<Object> row);
+
     String replace(String str, String pattern, String replace);
 
     String wrapSQL(String sql);
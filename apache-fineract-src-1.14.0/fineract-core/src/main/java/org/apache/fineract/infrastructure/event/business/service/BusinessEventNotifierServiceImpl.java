@@ -18,11 +18,16 @@
  */
 package org.apache.fineract.infrastructure.event.business.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -49,8 +54,10 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierService, InitializingBean, TransactionExecutionListener {
 
-    private final Map<Class, List<BusinessEventListener>> preListeners = new HashMap<>();
-    private final Map<Class, List<BusinessEventListener>> postListeners = new HashMap<>();
+    private static final String METRIC_NAME = "fineract.events.business.listener";
+
+    private final ListenerRegistry preListeners = new ListenerRegistry("pre");
+    private final ListenerRegistry postListeners = new ListenerRegistry("post");
 
     private final ThreadLocal<Boolean> eventRecordingEnabled = ThreadLocal.withInitial(() -> false);
     private final ThreadLocal<List<BusinessEvent<?>>> recordedEvents = ThreadLocal.withInitial(ArrayList::new);
@@ -60,6 +67,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     private final ThreadLocal<Stack<List<BusinessEventWithContext>>> transactionBusinessEvents = ThreadLocal.withInitial(Stack::new);
     private final TransactionHelper transactionHelper;
     private final ExternalBusinessEventConfigurationService externalBusinessEventConfigurationService;
+    private final Optional<MeterRegistry> meterRegistry;
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -73,20 +81,12 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     @Override
     public void notifyPreBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(preListeners, businessEvent.getClass());
-        for (BusinessEventListener eventListener : businessEventListeners) {
-            eventListener.onBusinessEvent(businessEvent);
-        }
+        notifyListeners(preListeners.getListeners(businessEvent.getClass()), businessEvent);
     }
 
     @Override
     public <T extends BusinessEvent<?>> void addPreBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = preListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            preListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        preListeners.addListener(eventType, listener);
     }
 
     @Override
@@ -94,10 +94,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     public void notifyPostBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
         boolean isExternalEvent = !(businessEvent instanceof NoExternalEvent);
-        List<BusinessEventListener> businessEventListeners = findSuitableListeners(postListeners, businessEvent.getClass());
-        for (BusinessEventListener eventListener : businessEventListeners) {
-            eventListener.onBusinessEvent(businessEvent);
-        }
+        notifyListeners(postListeners.getListeners(businessEvent.getClass()), businessEvent);
         if (isExternalEvent && isExternalEventPostingEnabled()) {
             // we only want to create external events for operations that were successful, hence the post listener
             if (externalBusinessEventConfigurationService.isExternalEventConfiguredForPosting(businessEvent)) {
@@ -114,25 +111,15 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         }
     }
 
-    private List<BusinessEventListener> findSuitableListeners(Map<Class, List<BusinessEventListener>> listeners, Class<?> eventClazz) {
-        List<BusinessEventListener> result = new ArrayList<>();
-        for (Map.Entry<Class, List<BusinessEventListener>> entry : listeners.entrySet()) {
-            Class<?> registeredClazz = entry.getKey();
-            if (registeredClazz.isAssignableFrom(eventClazz)) {
-                result.addAll(entry.getValue());
-            }
+    private void notifyListeners(ListenerInvoker[] invokers, BusinessEvent<?> businessEvent) {
+        for (ListenerInvoker invoker : invokers) {
+            invoker.invoke(businessEvent);
         }
-        return result;
     }
 
     @Override
     public <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = postListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            postListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        postListeners.addListener(eventType, listener);
     }
 
     private boolean isExternalEventRecordingEnabled() {
@@ -201,11 +188,18 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     @Override
     public void beforeCommit(@NonNull final TransactionExecution transaction) {
         final List<BusinessEventWithContext> businessEventWithContexts = transactionBusinessEvents.get().peek();
-        if (businessEventWithContexts.isEmpty()) {
-            return;
+        if (!businessEventWithContexts.isEmpty()) {
+            postTransactionalEvents(businessEventWithContexts);
         }
+        // The synchronizations already ran their beforeCommit, events buffered for a batch insert since then (e.g. the
+        // ones posted above) have to be written here
+        externalEventService.flushBufferedEvents();
+    }
+
+    private void postTransactionalEvents(final List<BusinessEventWithContext> businessEventWithContexts) {
         final FineractContext originalContext = ThreadLocalContextUtil.getContext();
-        businessEventWithContexts.forEach(businessEventWithContext -> {
+        boolean first = true;
+        for (BusinessEventWithContext businessEventWithContext : businessEventWithContexts) {
             final FineractContext currentContext = businessEventWithContext.getFineractContext();
             boolean swappedContext = false;
             try {
@@ -213,7 +207,9 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
                     swappedContext = true;
                     ThreadLocalContextUtil.init(currentContext);
                 }
-                externalEventService.postEvent(businessEventWithContext.getEvent());
+                // The transaction does not change anything while its events are posted, one flush serves all of them
+                externalEventService.postEvent(businessEventWithContext.getEvent(), first);
+                first = false;
             } finally {
                 // Back to original context if we swapped it. We should restore the original context rather than reset
                 // it completely
@@ -221,7 +217,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
                     ThreadLocalContextUtil.init(originalContext);
                 }
             }
-        });
+        }
     }
 
     @Override
@@ -234,6 +230,84 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         cleanup();
     }
 
+    private static String getListenerName(BusinessEventListener listener) {
+        // Lambdas get a generated class per instance, name them after the class declaring them
+        String name = listener.getClass().getName();
+        int lambdaIndex = name.indexOf("$$Lambda");
+        return lambdaIndex < 0 ? name : name.substring(0, lambdaIndex);
+    }
+
+    /**
+     * Listeners registered for one phase, with a dispatch index which maps each raised event class to the listeners
+     * registered for it or for any of its supertypes. The index is filled lazily, once per event class, and dropped
+     * whenever a listener is registered.
+     */
+    private final class ListenerRegistry {
+
+        private final String phase;
+        private final Map<Class, List<BusinessEventListener>> listeners = new LinkedHashMap<>();
+        private volatile Map<Class, ListenerInvoker[]> dispatchIndex = new ConcurrentHashMap<>();
+
+        private ListenerRegistry(String phase) {
+            this.phase = phase;
+        }
+
+        private synchronized void addListener(Class eventType, BusinessEventListener listener) {
+            listeners.computeIfAbsent(eventType, type -> new ArrayList<>()).add(listener);
+            dispatchIndex = new ConcurrentHashMap<>();
+        }
+
+        private ListenerInvoker[] getListeners(Class eventClass) {
+            ListenerInvoker[] invokers = dispatchIndex.get(eventClass);
+            return invokers != null ? invokers : resolveListeners(eventClass);
+        }
+
+        private synchronized ListenerInvoker[] resolveListeners(Class eventClass) {
+            return dispatchIndex.computeIfAbsent(eventClass, this::createInvokers);
+        }
+
+        private ListenerInvoker[] createInvokers(Class eventClass) {
+            List<ListenerInvoker> invokers = new ArrayList<>();
+            for (Map.Entry<Class, List<BusinessEventListener>> entry : listeners.entrySet()) {
+                if (entry.getKey().isAssignableFrom(eventClass)) {
+                    for (BusinessEventListener listener : entry.getValue()) {
+                        invokers.add(new ListenerInvoker(listener, createTimer(listener, eventClass)));
+                    }
+                }
+            }
+            return invokers.toArray(new ListenerInvoker[0]);
+        }
+
+        private Timer createTimer(BusinessEventListener listener, Class eventClass) {
+            if (!meterRegistry.isPresent()) {
+                return null;
+            }
+            return Timer.builder(METRIC_NAME).description("Time spent in business event listeners")
+                    .tags("phase", phase, "listener", getListenerName(listener), "event", eventClass.getSimpleName())
+                    .register(meterRegistry.get());
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class ListenerInvoker {
+
+        private final BusinessEventListener listener;
+        private final Timer timer;
+
+        private void invoke(BusinessEvent<?> businessEvent) {
+            if (timer == null) {
+                listener.onBusinessEvent(businessEvent);
+                return;
+            }
+            long startNanos = System.nanoTime();
+            try {
+                listener.onBusinessEvent(businessEvent);
+            } finally {
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
     @Getter
     @Setter
     private static final class BusinessEventWithContext {
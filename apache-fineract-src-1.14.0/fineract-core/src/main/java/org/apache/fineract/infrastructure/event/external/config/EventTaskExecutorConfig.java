@@ -20,8 +20,10 @@ package org.apache.fineract.infrastructure.event.external.config;
 
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
@@ -29,6 +31,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 public class EventTaskExecutorConfig {
 
     private final FineractProperties fineractProperties;
+    private final Environment environment;
 
     @Bean(TaskExecutorConstant.EVENT_MARKS_AS_SENT_EXECUTOR_BEAN_NAME)
     public ThreadPoolTaskExecutor sendAsynchronousEventsThreadPool() {
@@ -37,6 +40,10 @@ public class EventTaskExecutorConfig {
         threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getEvents().getExternal().getThreadPoolMaxPoolSize());
         threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getEvents().getExternal().getThreadPoolQueueCapacity());
         threadPoolTaskExecutor.setThreadNamePrefix("external-events-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // marking events as sent mostly waits on the database, the pool size still bounds the concurrency
+            threadPoolTaskExecutor.setThreadFactory(Thread.ofVirtual().name("external-events-", 0).factory());
+        }
         threadPoolTaskExecutor.initialize();
 
         return threadPoolTaskExecutor;
@@ -24,7 +24,6 @@ import static org.apache.fineract.infrastructure.core.diagnostics.performance.Me
 
 import com.google.common.collect.Lists;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -87,6 +86,10 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
     }
 
     protected boolean isDownstreamChannelEnabled() {
+        if (fineractProperties.getEvents().getExternal().getRelay().isEnabled()) {
+            log.debug("External events are delivered by the relay, skipping");
+            return false;
+        }
         return fineractProperties.getEvents().getExternal().getProducer().getJms().isEnabled()
                 || fineractProperties.getEvents().getExternal().getProducer().getKafka().isEnabled();
     }
@@ -166,9 +169,7 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
             List<byte[]> messages = new ArrayList<>();
             for (ExternalEventView event : events) {
                 MessageV1 message = messageFactory.createMessage(event);
-                ByteBuffer toByteBuffer = message.toByteBuffer();
-                byte[] convert = byteBufferConverter.convert(toByteBuffer);
-                messages.add(convert);
+                messages.add(byteBufferConverter.serialize(message));
                 log.trace("Created message to send with id: [{}], type: [{}], idempotency key: [{}]", message.getId(), message.getType(),
                         message.getIdempotencyKey());
             }
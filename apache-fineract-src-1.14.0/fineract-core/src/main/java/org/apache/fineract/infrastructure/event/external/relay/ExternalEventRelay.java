@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.relay;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.event.external.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Long-running alternative of the {@code SEND_ASYNCHRONOUS_EVENTS} job, it starts an {@link ExternalEventRelayWorker}
+ * for every tenant once the application is ready.
+ *
+ * The relay must be enabled on a single instance only, otherwise the same events are delivered by multiple instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "fineract.events.external.relay.enabled", havingValue = "true")
+public class ExternalEventRelay implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final FineractProperties fineractProperties;
+    private final TenantDetailsService tenantDetailsService;
+    private final ExternalEventRepository repository;
+    private final ExternalEventProducer eventProducer;
+    private final MessageFactory messageFactory;
+    private final ByteBufferConverter byteBufferConverter;
+    private final TransactionTemplate transactionTemplate;
+    @Qualifier(TaskExecutorConstant.EVENT_MARKS_AS_SENT_EXECUTOR_BEAN_NAME)
+    private final ThreadPoolTaskExecutor markAsSentExecutor;
+    private final Optional<MeterRegistry> meterRegistry;
+
+    private final List<ExternalEventRelayWorker> workers = new ArrayList<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+
+    @Override
+    public synchronized void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        if (!isDownstreamChannelEnabled()) {
+            log.warn("External event relay is enabled, but neither JMS nor Kafka producer is enabled");
+            return;
+        }
+        MeterRegistry registry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+        for (FineractPlatformTenant tenant : tenantDetailsService.findAllTenants()) {
+            ExternalEventRelayWorker worker = new ExternalEventRelayWorker(tenant, fineractProperties, repository, eventProducer,
+                    messageFactory, byteBufferConverter, transactionTemplate, markAsSentExecutor, registry);
+            Thread thread = new Thread(worker, "external-event-relay-" + tenant.getTenantIdentifier());
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(worker);
+            workerThreads.add(thread);
+            log.info("Started external event relay for tenant {}", tenant.getTenantIdentifier());
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        workers.forEach(ExternalEventRelayWorker::stop);
+        for (Thread thread : workerThreads) {
+            thread.interrupt();
+            thread.join(SHUTDOWN_TIMEOUT.toMillis());
+        }
+        workers.clear();
+        workerThreads.clear();
+    }
+
+    private boolean isDownstreamChannelEnabled() {
+        return fineractProperties.getEvents().getExternal().getProducer().getJms().isEnabled()
+                || fineractProperties.getEvents().getExternal().getProducer().getKafka().isEnabled();
+    }
+}
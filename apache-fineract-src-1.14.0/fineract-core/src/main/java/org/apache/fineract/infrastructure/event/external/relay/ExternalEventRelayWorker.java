@@ -0,0 +1,247 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.relay;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
+
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.avro.MessageV1;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tails the external event outbox of a single tenant and streams the events to the downstream channel.
+ *
+ * The worker is a three stage pipeline: the worker thread reads the next batch after the id cursor and encodes it, a
+ * single sender thread produces the batches strictly in read order and waits for the broker acknowledgement, and the
+ * mark-as-sent executor flips the status of the acknowledged rows. At most {@code maxInFlightBatches} batches can be
+ * between reading and marking at any time.
+ *
+ * The id cursor is only an in-memory read position; the persisted progress is the {@code SENT} status which is only
+ * written after the acknowledgement. When a send fails, the pipeline is drained and the cursor is rewound, so every
+ * event which was not acknowledged gets read again. When the outbox is drained the cursor is rewound too, this picks up
+ * rows which were committed with a lower id after the cursor already passed them.
+ */
+@Slf4j
+public class ExternalEventRelayWorker implements Runnable {
+
+    private static final String METRIC_NAME_PREFIX = "fineract.events.external.relay";
+
+    private final FineractPlatformTenant tenant;
+    private final FineractProperties fineractProperties;
+    private final ExternalEventRepository repository;
+    private final ExternalEventProducer eventProducer;
+    private final MessageFactory messageFactory;
+    private final ByteBufferConverter byteBufferConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor markAsSentExecutor;
+    private final ExecutorService senderExecutor;
+    private final Semaphore inFlightBatches;
+    private final int maxInFlightBatches;
+    private final Timer deliveryTimer;
+    private final Counter sentCounter;
+
+    private volatile boolean running = true;
+    private volatile boolean failed;
+    private long cursor;
+    private CompletableFuture<Void> pipeline = CompletableFuture.completedFuture(null);
+
+    public ExternalEventRelayWorker(FineractPlatformTenant tenant, FineractProperties fineractProperties,
+            ExternalEventRepository repository, ExternalEventProducer eventProducer, MessageFactory messageFactory,
+            ByteBufferConverter byteBufferConverter, TransactionTemplate transactionTemplate, ThreadPoolTaskExecutor markAsSentExecutor,
+            MeterRegistry meterRegistry) {
+        this.tenant = tenant;
+        this.fineractProperties = fineractProperties;
+        this.repository = repository;
+        this.eventProducer = eventProducer;
+        this.messageFactory = messageFactory;
+        this.byteBufferConverter = byteBufferConverter;
+        this.transactionTemplate = transactionTemplate;
+        this.markAsSentExecutor = markAsSentExecutor;
+        this.senderExecutor = Executors
+                .newSingleThreadExecutor(runnable -> new Thread(runnable, "external-event-relay-sender-" + tenant.getTenantIdentifier()));
+        this.maxInFlightBatches = Math.max(1, getRelayProperties().getMaxInFlightBatches());
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        this.deliveryTimer = Timer.builder(METRIC_NAME_PREFIX + ".delivery").description("Time from reading a batch to marking it as sent")
+                .tags("tenant", tenant.getTenantIdentifier()).register(meterRegistry);
+        this.sentCounter = Counter.builder(METRIC_NAME_PREFIX + ".sent")
+                .description("Number of events acknowledged by the downstream channel").tags("tenant", tenant.getTenantIdentifier())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalContextUtil.setTenant(tenant);
+        try {
+            while (running) {
+                try {
+                    relayNextBatch();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                } catch (Exception e) {
+                    log.error("Error occurred while relaying events of tenant {}", tenant.getTenantIdentifier(), e);
+                    failed = true;
+                }
+            }
+        } finally {
+            senderExecutor.shutdown();
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    private void relayNextBatch() throws InterruptedException {
+        if (failed) {
+            rewind();
+            Thread.sleep(getRelayProperties().getIdlePollIntervalInMillis());
+            return;
+        }
+        inFlightBatches.acquire();
+        boolean handedOver = false;
+        try {
+            long startNanos = System.nanoTime();
+            List<ExternalEventView> events = readNextBatch();
+            if (events.isEmpty()) {
+                inFlightBatches.release();
+                handedOver = true;
+                rewind();
+                Thread.sleep(getRelayProperties().getIdlePollIntervalInMillis());
+                return;
+            }
+            cursor = events.get(events.size() - 1).getId();
+            Map<Long, List<byte[]>> partitions = createPartitions(events);
+            List<Long> eventIds = events.stream().map(ExternalEventView::getId).toList();
+            CompletableFuture<Void> sent = pipeline.thenRunAsync(() -> eventProducer.sendEvents(partitions), senderExecutor);
+            pipeline = sent;
+            sent.thenRunAsync(() -> markEventsAsSent(eventIds), markAsSentExecutor).whenComplete((result, throwable) -> {
+                inFlightBatches.release();
+                if (throwable != null) {
+                    log.error("Error occurred while delivering {} events of tenant {}", eventIds.size(), tenant.getTenantIdentifier(),
+                            throwable);
+                    failed = true;
+                } else {
+                    sentCounter.increment(eventIds.size());
+                    deliveryTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                }
+            });
+            handedOver = true;
+        } finally {
+            if (!handedOver) {
+                inFlightBatches.release();
+            }
+        }
+    }
+
+    /**
+     * Waits until every in-flight batch is either marked as sent or failed, then restarts reading from the oldest event
+     * which is still waiting to be sent.
+     */
+    private void rewind() throws InterruptedException {
+        inFlightBatches.acquire(maxInFlightBatches);
+        try {
+            cursor = 0L;
+            failed = false;
+            pipeline = CompletableFuture.completedFuture(null);
+        } finally {
+            inFlightBatches.release(maxInFlightBatches);
+        }
+    }
+
+    private List<ExternalEventView> readNextBatch() {
+        PageRequest batchSize = PageRequest.ofSize(getRelayProperties().getBatchSize());
+        return measure(
+                () -> transactionTemplate.execute(
+                        status -> repository.findByStatusAndIdGreaterThanOrderByIdAsc(ExternalEventStatus.TO_BE_SENT, cursor, batchSize)),
+                (events, timeTaken) -> log.debug("Loaded {} events after id {} in {}ms", events.size(), cursor, timeTaken.toMillis()));
+    }
+
+    private Map<Long, List<byte[]>> createPartitions(List<ExternalEventView> events) {
+        Map<Long, List<ExternalEventView>> eventsByAggregateRoot = events.stream().collect(groupingBy(event -> {
+            Long aggregateRootId = event.getAggregateRootId();
+            return aggregateRootId == null ? -1L : aggregateRootId;
+        }, LinkedHashMap::new, toList()));
+        Map<Long, List<byte[]>> partitions = new LinkedHashMap<>();
+        eventsByAggregateRoot.forEach((aggregateRootId, aggregateEvents) -> {
+            partitions.put(aggregateRootId, createMessages(aggregateEvents));
+        });
+        return partitions;
+    }
+
+    private List<byte[]> createMessages(List<ExternalEventView> events) {
+        try {
+            List<byte[]> messages = new ArrayList<>(events.size());
+            for (ExternalEventView event : events) {
+                MessageV1 message = messageFactory.createMessage(event);
+                messages.add(byteBufferConverter.serialize(message));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new RuntimeException("Error while serializing the message", e);
+        }
+    }
+
+    private void markEventsAsSent(List<Long> eventIds) {
+        OffsetDateTime sentAt = DateUtils.getAuditOffsetDateTime();
+        try {
+            ThreadLocalContextUtil.setTenant(tenant);
+            // Partitioning dataset to avoid exception: PreparedStatement can have at most 65,535 parameters
+            for (List<Long> partition : Lists.partition(eventIds, fineractProperties.getEvents().getExternal().getPartitionSize())) {
+                transactionTemplate.executeWithoutResult(status -> repository.markEventsSent(partition, sentAt));
+            }
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private FineractProperties.FineractExternalEventsRelayProperties getRelayProperties() {
+        return fineractProperties.getEvents().getExternal().getRelay();
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Collects the external events raised within a transaction and writes them to the outbox table with a single JDBC batch
+ * insert right before the transaction commits.
+ * <p>
+ * Events are serialized by the caller at the time they are raised, so the buffered rows keep their payload, idempotency
+ * key and order; only the insert itself is deferred.
+ * <p>
+ * Events raised while the transaction is already committing can not wait for a synchronization callback: Spring only
+ * calls {@code beforeCommit} on the synchronizations registered when the commit started, and the events collected by
+ * the business event notifier are posted even later, from its transaction execution listener. Such events are written
+ * by {@link #flush()} (called once the notifier posted them) or, if the buffer was already written, right away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalEventBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final FineractProperties fineractProperties;
+
+    public boolean canBuffer() {
+        FineractProperties.FineractExternalEventsBatchInsertProperties batchInsert = fineractProperties.getEvents().getExternal()
+                .getBatchInsert();
+        return batchInsert != null && batchInsert.isEnabled() && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    public void buffer(ExternalEvent externalEvent) {
+        EventBuffer eventBuffer = (EventBuffer) TransactionSynchronizationManager.getResource(this);
+        if (eventBuffer == null) {
+            eventBuffer = new EventBuffer(this);
+            TransactionSynchronizationManager.bindResource(this, eventBuffer);
+            TransactionSynchronizationManager.registerSynchronization(eventBuffer);
+        }
+        if (eventBuffer.written) {
+            // the transaction is committing, nothing would write the event later on
+            write(List.of(externalEvent));
+        } else {
+            eventBuffer.events.add(externalEvent);
+        }
+    }
+
+    /**
+     * Writes the events buffered in the current transaction right away; events buffered afterwards in the same
+     * transaction are written immediately. Called at the end of the commit phase, after the last events are posted.
+     */
+    public void flush() {
+        EventBuffer eventBuffer = (EventBuffer) TransactionSynchronizationManager.getResource(this);
+        if (eventBuffer != null) {
+            eventBuffer.writeBuffered();
+        }
+    }
+
+    public void write(List<ExternalEvent> externalEvents) {
+        if (externalEvents.isEmpty()) {
+            return;
+        }
+        int batchSize = fineractProperties.getEvents().getExternal().getBatchInsert().getBatchSize();
+        jdbcTemplate.batchUpdate(insertSql(), externalEvents, batchSize, (ps, event) -> {
+            ps.setString(1, event.getType());
+            ps.setString(2, event.getCategory());
+            ps.setString(3, event.getSchema());
+            ps.setBytes(4, event.getData());
+            ps.setObject(5, event.getCreatedAt());
+            ps.setString(6, event.getStatus().name());
+            ps.setString(7, event.getIdempotencyKey());
+            ps.setObject(8, event.getBusinessDate());
+            ps.setObject(9, event.getAggregateRootId());
+        });
+        log.debug("Saved {} external events in batch", externalEvents.size());
+    }
+
+    private String insertSql() {
+        return "INSERT INTO m_external_event (type, category, " + sqlGenerator.escape("schema")
+                + ", data, created_at, status, idempotency_key, business_date, aggregate_root_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private static final class EventBuffer implements TransactionSynchronization {
+
+        private final ExternalEventBatchWriter writer;
+        private final List<ExternalEvent> events = new ArrayList<>();
+        private boolean written;
+
+        private EventBuffer(ExternalEventBatchWriter writer) {
+            this.writer = writer;
+        }
+
+        private void writeBuffered() {
+            written = true;
+            List<ExternalEvent> pending = new ArrayList<>(events);
+            events.clear();
+            writer.write(pending);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            writeBuffered();
+        }
+
+        @Override
+        public void suspend() {
+            // a new inner transaction (REQUIRES_NEW) gets its own buffer
+            TransactionSynchronizationManager.unbindResourceIfPossible(writer);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(writer, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            events.clear();
+            TransactionSynchronizationManager.unbindResourceIfPossible(writer);
+        }
+    }
+}
@@ -21,7 +21,6 @@ package org.apache.fineract.infrastructure.event.external.service;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -54,24 +53,42 @@ public class ExternalEventService {
     private final ByteBufferConverter byteBufferConverter;
     private final BulkMessageItemFactory bulkMessageItemFactory;
     private final DataEnricherProcessor dataEnricherProcessor;
+    private final ExternalEventBatchWriter batchWriter;
 
     private EntityManager entityManager;
 
     public <T> void postEvent(BusinessEvent<T> event) {
+        postEvent(event, true);
+    }
+
+    /**
+     * @param flushPendingChanges
+     *            whether the persistence context is flushed before the event is serialized. The serializers read the
+     *            state of the aggregates through JDBC based read services, which do not see pending JPA changes, so the
+     *            flush can only be skipped when nothing changed since the previous one (e.g. for every event but the
+     *            first of the events posted together right before commit). This holds for buffered events as well.
+     */
+    public <T> void postEvent(BusinessEvent<T> event, boolean flushPendingChanges) {
         if (event == null) {
             throw new IllegalArgumentException("event cannot be null");
         }
 
         try {
-            entityManager.flush();
+            if (flushPendingChanges) {
+                entityManager.flush();
+            }
             ExternalEvent externalEvent;
             if (event instanceof BulkBusinessEvent) {
                 externalEvent = handleBulkBusinessEvent((BulkBusinessEvent) event);
             } else {
                 externalEvent = handleRegularBusinessEvent(event);
             }
-            repository.save(externalEvent);
-            log.debug("Saved message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
+            if (batchWriter.canBuffer()) {
+                batchWriter.buffer(externalEvent);
+            } else {
+                repository.save(externalEvent);
+            }
+            log.debug("Recorded message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
                     externalEvent.getType(), externalEvent.getCategory());
         } catch (IOException e) {
             throw new RuntimeException("Error while serializing event " + event.getClass().getSimpleName(), e);
@@ -79,6 +96,16 @@ public class ExternalEventService {
 
     }
 
+    /**
+     * Writes the events buffered for the batch insert of the current transaction, used once the events collected for the
+     * commit are posted.
+     */
+    public void flushBufferedEvents() {
+        if (batchWriter.canBuffer()) {
+            batchWriter.flush();
+        }
+    }
+
     @PersistenceContext
     public void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
@@ -95,7 +122,7 @@ public class ExternalEventService {
         }
         String idempotencyKey = idempotencyKeyGenerator.generate(bulkBusinessEvent);
         BulkMessagePayloadV1 avroDto = new BulkMessagePayloadV1(messages);
-        byte[] data = byteBufferConverter.convert(avroDto.toByteBuffer());
+        byte[] data = byteBufferConverter.serialize(avroDto);
 
         return new ExternalEvent(bulkBusinessEvent.getType(), bulkBusinessEvent.getCategory(), BulkMessagePayloadV1.class.getName(), data,
                 idempotencyKey, bulkBusinessEvent.getAggregateRootId());
@@ -108,8 +135,7 @@ public class ExternalEventService {
         BusinessEventSerializer serializer = serializerFactory.create(event);
         String schema = serializer.getSupportedSchema().getName();
         ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(serializer.toAvroDTO(event));
-        ByteBuffer buffer = avroDto.toByteBuffer();
-        byte[] data = byteBufferConverter.convert(buffer);
+        byte[] data = byteBufferConverter.serialize(avroDto);
         Long aggregateRootId = event.getAggregateRootId();
 
         return new ExternalEvent(eventType, eventCategory, schema, data, idempotencyKey, aggregateRootId);
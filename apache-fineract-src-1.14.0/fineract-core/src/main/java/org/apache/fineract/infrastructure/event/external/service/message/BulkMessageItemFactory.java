@@ -41,8 +41,7 @@ public class BulkMessageItemFactory {
     public BulkMessageItemV1 createBulkMessageItem(long id, BusinessEvent<?> event) throws IOException {
         BusinessEventSerializer eventSerializer = serializerFactory.create(event);
         ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(eventSerializer.toAvroDTO(event));
-        ByteBuffer buffer = avroDto.toByteBuffer();
-        byte[] serializedContent = byteBufferConverter.convert(buffer);
+        byte[] serializedContent = byteBufferConverter.serialize(avroDto);
         String type = event.getType();
         String category = "nocategory"; // TODO: switch this to the actual category when implemented
         String schema = eventSerializer.getSupportedSchema().getName();
@@ -18,7 +18,10 @@
  */
 package org.apache.fineract.infrastructure.event.external.service.support;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import org.apache.fineract.avro.generator.ByteBufferSerializable;
+import org.apache.fineract.avro.generator.PooledAvroEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -34,4 +37,12 @@ public class ByteBufferConverter {
     public ByteBuffer convert(byte[] buffer) {
         return ByteBuffer.wrap(buffer);
     }
+
+    /**
+     * Serializes the Avro record straight into a byte array, equivalent to {@code convert(avroDto.toByteBuffer())}
+     * without the intermediate buffer.
+     */
+    public byte[] serialize(ByteBufferSerializable avroDto) throws IOException {
+        return PooledAvroEncoder.encode(avroDto);
+    }
 }
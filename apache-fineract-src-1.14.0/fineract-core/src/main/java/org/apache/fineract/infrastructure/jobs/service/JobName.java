@@ -60,6 +60,7 @@ public enum JobName {
     ACCRUAL_ACTIVITY_POSTING("Accrual Activity Posting"), //
     ADD_PERIODIC_ACCRUAL_ENTRIES_FOR_SAVINGS_WITH_INCOME_POSTED_AS_TRANSACTIONS("Add Accrual Transactions For Savings"), //
     JOURNAL_ENTRY_AGGREGATION("Journal Entry Aggregation"), //
+    MIGRATE_PROGRESSIVE_LOAN_MODELS("Migrate Progressive Loan Models"), //
     ; //
 
     private final String name;
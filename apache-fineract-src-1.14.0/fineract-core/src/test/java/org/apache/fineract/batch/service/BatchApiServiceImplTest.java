@@ -37,19 +37,26 @@ import io.github.resilience4j.retry.RetryRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.ws.rs.core.UriInfo;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.fineract.batch.command.CommandStrategy;
 import org.apache.fineract.batch.command.CommandStrategyProvider;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.commands.configuration.RetryConfigurationAssembler;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
 import org.apache.fineract.infrastructure.core.persistence.ExtendedJpaTransactionManager;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -102,7 +109,7 @@ class BatchApiServiceImplTest {
     @BeforeEach
     void setUp() {
         batchApiService = new BatchApiServiceImpl(strategyProvider, resolutionHelper, errorHandler, List.of(), batchPreprocessors,
-                retryConfigurationAssembler);
+                retryConfigurationAssembler, fineractProperties);
         batchApiService.setTransactionManager(transactionManager);
         batchApiService.setEntityManager(entityManager);
         request = new BatchRequest();
@@ -270,6 +277,51 @@ class BatchApiServiceImplTest {
                 .getTransaction(argThat(definition -> definition != null && definition.isReadOnly() == isReadOnly));
     }
 
+    @Test
+    void testHandleBatchRequestsWithoutEnclosingTransactionRunsIndependentRequestsConcurrently() {
+        // given
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setBatch(new FineractProperties.FineractBatchApiProperties());
+        apiProperties.getBatch().setParallelEnabled(true);
+        apiProperties.getBatch().setMaxConcurrency(2);
+        when(fineractProperties.getApi()).thenReturn(apiProperties);
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 1));
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+
+        BatchRequest secondRequest = new BatchRequest();
+        secondRequest.setRequestId(2L);
+        secondRequest.setMethod("POST");
+        secondRequest.setRelativeUrl("/random_api");
+        // both requests only complete if they are executed at the same time
+        CountDownLatch running = new CountDownLatch(2);
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+        when(commandStrategy.execute(any(), any())).thenAnswer(i -> {
+            BatchRequest executed = i.getArgument(0);
+            running.countDown();
+            boolean concurrent = running.await(10, TimeUnit.SECONDS);
+            assertEquals("default", ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            return new BatchResponse().setRequestId(executed.getRequestId()).setStatusCode(concurrent ? 200 : 500).setBody("Success");
+        });
+
+        // when
+        List<BatchResponse> result;
+        try {
+            result = batchApiService.handleBatchRequestsWithoutEnclosingTransaction(List.of(secondRequest, request), uriInfo);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+
+        // then
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getRequestId());
+        assertEquals(200, result.get(0).getStatusCode());
+        assertEquals(2L, result.get(1).getRequestId());
+        assertEquals(200, result.get(1).getStatusCode());
+        Mockito.verifyNoInteractions(transactionManager);
+    }
+
     private static final class RetryException extends RuntimeException {}
 
 }
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.key;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Compares the cost of a cache hit on a tenant scoped cache keyed by the former SpEL expression with the one keyed by
+ * the {@link TenantCacheKeyGenerator}. Like the Spring cache interceptor, the SpEL variant parses the expression once
+ * and creates an evaluation context per invocation.
+ */
+@BenchmarkMode(Mode.Throughput) // Measures operations per second
+@State(Scope.Thread) // The tenant is bound to the benchmark thread
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TenantCacheKeyGeneratorBenchmark {
+
+    private static final String SPEL_KEY = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant()"
+            + ".getTenantIdentifier().concat(#propertyName)";
+    private static final String PROPERTY_NAME = "maker-checker";
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final TenantCacheKeyGenerator keyGenerator = new TenantCacheKeyGenerator(false);
+    private final ConfigLookup target = new ConfigLookup();
+    private Expression spelKey;
+    private Method method;
+    private Object[] args;
+    private Cache spelCache;
+    private Cache generatedKeyCache;
+
+    @Setup(Level.Trial)
+    @SneakyThrows
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+        spelKey = new SpelExpressionParser().parseExpression(SPEL_KEY);
+        method = ConfigLookup.class.getMethod("findOneByName", String.class);
+        args = new Object[] { PROPERTY_NAME };
+        spelCache = new ConcurrentMapCache("spel");
+        generatedKeyCache = new ConcurrentMapCache("generated");
+        spelCache.put(spelKey(), Boolean.TRUE);
+        generatedKeyCache.put(keyGenerator.generate(target, method, args), Boolean.TRUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Benchmark
+    public Object spelKeyHit() {
+        return spelCache.get(spelKey());
+    }
+
+    @Benchmark
+    public Object generatedKeyHit() {
+        return generatedKeyCache.get(keyGenerator.generate(target, method, args));
+    }
+
+    private Object spelKey() {
+        return spelKey.getValue(new MethodBasedEvaluationContext(target, method, args, parameterNameDiscoverer));
+    }
+
+    public static class ConfigLookup {
+
+        public Boolean findOneByName(String propertyName) {
+            return Boolean.TRUE;
+        }
+    }
+}
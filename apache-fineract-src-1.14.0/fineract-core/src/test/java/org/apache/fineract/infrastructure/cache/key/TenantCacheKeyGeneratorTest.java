@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.key;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TenantCacheKeyGeneratorTest {
+
+    private final TenantCacheKeyGenerator tenantKeyGenerator = new TenantCacheKeyGenerator(false);
+    private final TenantCacheKeyGenerator tenantMethodKeyGenerator = new TenantCacheKeyGenerator(true);
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void keysAreScopedToTheTenant() throws NoSuchMethodException {
+        Method method = Lookup.class.getMethod("byId", Long.class);
+
+        bindTenant("default");
+        Object defaultKey = tenantKeyGenerator.generate(new Lookup(), method, 1L);
+        bindTenant("other");
+        Object otherKey = tenantKeyGenerator.generate(new Lookup(), method, 1L);
+
+        assertNotEquals(defaultKey, otherKey);
+        assertEquals(otherKey, tenantKeyGenerator.generate(new Lookup(), method, 1L));
+    }
+
+    @Test
+    void evictionKeyMatchesGeneratedKey() throws NoSuchMethodException {
+        bindTenant("default");
+
+        Object key = tenantKeyGenerator.generate(new Lookup(), Lookup.class.getMethod("byId", Long.class), 5L);
+
+        assertEquals(key, TenantCacheKey.of(5L));
+        assertEquals(key.hashCode(), TenantCacheKey.of(5L).hashCode());
+    }
+
+    @Test
+    void methodNameSeparatesMethodsSharingTheCache() throws NoSuchMethodException {
+        bindTenant("default");
+
+        Object byId = tenantMethodKeyGenerator.generate(new Lookup(), Lookup.class.getMethod("byId", Long.class), 5L);
+        Object byCodeId = tenantMethodKeyGenerator.generate(new Lookup(), Lookup.class.getMethod("byCodeId", Long.class), 5L);
+
+        assertNotEquals(byId, byCodeId);
+    }
+
+    @Test
+    void failsWithoutTenant() throws NoSuchMethodException {
+        Method method = Lookup.class.getMethod("byId", Long.class);
+
+        assertThrows(IllegalStateException.class, () -> tenantKeyGenerator.generate(new Lookup(), method, 1L));
+    }
+
+    @Test
+    void externalFormIsTurnedBackIntoAnEqualKey() throws NoSuchMethodException {
+        bindTenant("default");
+        Object key = tenantMethodKeyGenerator.generate(new Lookup(), Lookup.class.getMethod("byId", Long.class), 5L);
+        TenantCacheKey mixed = TenantCacheKey.of("a|b\\c", null, 7, true, "");
+
+        TenantCacheKey rebuilt = TenantCacheKey.fromExternalForm(((TenantCacheKey) key).toExternalForm());
+        TenantCacheKey rebuiltMixed = TenantCacheKey.fromExternalForm(mixed.toExternalForm());
+
+        assertEquals(key, rebuilt);
+        assertEquals(key.hashCode(), rebuilt.hashCode());
+        assertEquals(mixed, rebuiltMixed);
+        assertEquals(TenantCacheKey.of(), TenantCacheKey.fromExternalForm(TenantCacheKey.of().toExternalForm()));
+        assertNotEquals(TenantCacheKey.of(5L), TenantCacheKey.fromExternalForm(TenantCacheKey.of(5).toExternalForm()));
+    }
+
+    @Test
+    void keyWithUnsupportedParameterHasNoExternalForm() {
+        bindTenant("default");
+
+        assertNull(TenantCacheKey.of(new Object()).toExternalForm());
+        assertThrows(IllegalArgumentException.class, () -> TenantCacheKey.fromExternalForm("defaultcv"));
+    }
+
+    private static void bindTenant(String identifier) {
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().tenantIdentifier(identifier).build());
+    }
+
+    public static class Lookup {
+
+        public String byId(Long id) {
+            return "id";
+        }
+
+        public String byCodeId(Long codeId) {
+            return "codeId";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.MDC;
+
+/**
+ * Simulates a burst of in-flight requests that spend most of their time blocked on I/O (a JDBC round trip is stood in
+ * by a short sleep) and compares the default Tomcat sized platform thread pool with one virtual thread per request.
+ * Every request initialises the Fineract thread context and the logging MDC like the request filters do. Run with
+ * {@code -prof gc} to compare the allocation per in-flight request of both modes.
+ */
+@BenchmarkMode(Mode.Throughput) // Measures bursts per second
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadRequestBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long BLOCKING_IO_IN_MILLIS = 5;
+
+    @Param({ "200", "2000" })
+    private int inFlightRequests;
+
+    @Param({ "platform", "virtual" })
+    private String threadMode;
+
+    private ExecutorService executor;
+    private FineractContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threadMode) ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 15));
+        businessDates.put(BusinessDateType.COB_DATE, LocalDate.of(2024, 1, 14));
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        context = ThreadLocalContextUtil.getContext();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @TearDown(Level.Trial)
+    @SneakyThrows
+    public void tearDown() {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    @SneakyThrows
+    public void requestBurst() {
+        CountDownLatch completed = new CountDownLatch(inFlightRequests);
+        for (int i = 0; i < inFlightRequests; i++) {
+            executor.execute(() -> {
+                try {
+                    handleRequest();
+                } finally {
+                    completed.countDown();
+                }
+            });
+        }
+        completed.await();
+    }
+
+    @SneakyThrows
+    private void handleRequest() {
+        try {
+            ThreadLocalContextUtil.init(context);
+            MDC.put("correlationId", Thread.currentThread().getName());
+            Thread.sleep(BLOCKING_IO_IN_MILLIS);
+        } finally {
+            MDC.clear();
+            ThreadLocalContextUtil.reset();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the latency of reading page 1 and page 10,000 of a listing with offset and with keyset pagination. The
+ * table is stood in by an ordered in-memory index of the sort key: an offset page has to walk past all the skipped
+ * entries like the database does, while a keyset page seeks to the decoded cursor and reads only the page itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeysetPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ROWS = 1_100_000;
+
+    @Param({ "1", "10000" })
+    private int page;
+
+    @Param({ "offset", "keyset" })
+    private String pagination;
+
+    private NavigableMap<Long, String> index;
+    private String after;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new TreeMap<>();
+        for (long id = 1; id <= ROWS; id++) {
+            index.put(id, String.format("%09d", id));
+        }
+        // the cursor a client holds after reading the previous page
+        after = page == 1 ? "" : new KeysetCursor(null, (long) (page - 1) * PAGE_SIZE).encode();
+    }
+
+    @Benchmark
+    public List<String> fetchPage() {
+        return "keyset".equals(pagination) ? keysetPage() : offsetPage();
+    }
+
+    private List<String> offsetPage() {
+        Iterator<String> rows = index.values().iterator();
+        for (int skipped = 0; skipped < (page - 1) * PAGE_SIZE; skipped++) {
+            rows.next();
+        }
+        return read(rows);
+    }
+
+    private List<String> keysetPage() {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        NavigableMap<Long, String> rows = cursor == null ? index : index.tailMap(cursor.id(), false);
+        return read(rows.values().iterator());
+    }
+
+    private List<String> read(Iterator<String> rows) {
+        List<String> items = new ArrayList<>(PAGE_SIZE + 1);
+        // one extra row tells whether there is a next page
+        while (rows.hasNext() && items.size() <= PAGE_SIZE) {
+            items.add(rows.next());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class KeysetPaginationTest {
+
+    private static final String SQL = "select l.id as id, l.account_no as accountNo from m_loan l where l.loan_status_id = ?";
+    private static final KeysetSort BY_ID = KeysetSort.byId("l.id", "id");
+    private static final Map<String, KeysetSort> SORTS = Map.of("id", BY_ID, "accountNo",
+            KeysetSort.by("l.account_no", "accountNo", "l.id", "id"));
+    private static final RowMapper<Long> ID_MAPPER = (rs, rowNum) -> rs.getLong("id");
+
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PaginationHelper paginationHelper;
+
+    @BeforeEach
+    public void setUp() {
+        given(sqlGenerator.limit(anyInt())).willAnswer(invocation -> "LIMIT " + invocation.getArgument(0));
+        given(sqlGenerator.countQueryResult(anyString())).willAnswer(invocation -> "SELECT COUNT(*) FROM (" + invocation.getArgument(0)
+                + ") AS temp");
+        paginationHelper = new PaginationHelper(sqlGenerator, databaseTypeResolver);
+    }
+
+    @Test
+    public void testCursorRoundTrip() {
+        // given
+        KeysetCursor idCursor = new KeysetCursor(null, 42L);
+        KeysetCursor dateCursor = new KeysetCursor(Date.valueOf(LocalDate.of(2024, 2, 29)), 7L);
+        KeysetCursor textCursor = new KeysetCursor("000|12", 9L);
+        // when
+        KeysetCursor decodedId = KeysetCursor.decode(idCursor.encode());
+        KeysetCursor decodedDate = KeysetCursor.decode(dateCursor.encode());
+        KeysetCursor decodedText = KeysetCursor.decode(textCursor.encode());
+        // then
+        assertEquals(idCursor, decodedId);
+        assertEquals(new KeysetCursor(LocalDate.of(2024, 2, 29), 7L), decodedDate);
+        assertEquals(textCursor, decodedText);
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    public void testMalformedCursorIsRejected() {
+        UnrecognizedQueryParamException exception = assertThrows(UnrecognizedQueryParamException.class,
+                () -> KeysetCursor.decode("not-a-cursor"));
+        assertEquals(SearchParameters.AFTER_PARAM, exception.getQueryParamKey());
+    }
+
+    @Test
+    public void testUnsupportedSortIsRejected() {
+        SearchParameters searchParameters = SearchParameters.builder().after("").orderBy("principal").build();
+        UnrecognizedQueryParamException exception = assertThrows(UnrecognizedQueryParamException.class,
+                () -> KeysetSort.resolve(searchParameters, BY_ID, SORTS));
+        assertEquals("orderBy", exception.getQueryParamKey());
+    }
+
+    @Test
+    public void testFirstPageReturnsNextCursorWithoutCounting() {
+        // given
+        givenRows(1L, 2L, 3L);
+        SearchParameters searchParameters = SearchParameters.builder().after("").limit(2).build();
+        // when
+        Page<Long> page = paginationHelper.fetchKeysetPage(jdbcTemplate, SQL, new Object[] { 300 }, ID_MAPPER, BY_ID, searchParameters);
+        // then
+        assertEquals(List.of(1L, 2L), page.getPageItems());
+        assertEquals(new KeysetCursor(null, 2L), KeysetCursor.decode(page.getNextCursor()));
+        assertNull(page.getTotalFilteredRecords());
+        assertEquals(SQL + " order by l.id asc LIMIT 3", capturedSql());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    public void testNextPageSeeksPastCursorAndCountsExactly() {
+        // given
+        givenRows(5L);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).willReturn(5);
+        String after = new KeysetCursor("000000004", 4L).encode();
+        SearchParameters searchParameters = SearchParameters.builder().after(after).limit(2).orderBy("accountNo").sortOrder("DESC")
+                .totalCount("exact").build();
+        // when
+        Page<Long> page = paginationHelper.fetchKeysetPage(jdbcTemplate, SQL, new Object[] { 300 }, ID_MAPPER,
+                KeysetSort.resolve(searchParameters, BY_ID, SORTS), searchParameters);
+        // then
+        assertEquals(List.of(5L), page.getPageItems());
+        assertNull(page.getNextCursor());
+        assertEquals(5, page.getTotalFilteredRecords());
+        assertEquals(SQL + " and (l.account_no < ? or (l.account_no = ? and l.id < ?)) order by l.account_no desc, l.id desc LIMIT 3",
+                capturedSql());
+        verify(jdbcTemplate).queryForObject("SELECT COUNT(*) FROM (" + SQL + ") AS temp", Integer.class, 300);
+    }
+
+    @Test
+    public void testUnknownTotalCountModeIsRejected() {
+        SearchParameters searchParameters = SearchParameters.builder().after("").totalCount("sometimes").build();
+        UnrecognizedQueryParamException exception = assertThrows(UnrecognizedQueryParamException.class,
+                () -> paginationHelper.fetchKeysetPage(jdbcTemplate, SQL, new Object[] { 300 }, ID_MAPPER, BY_ID, searchParameters));
+        assertEquals(SearchParameters.TOTAL_COUNT_PARAM, exception.getQueryParamKey());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRows(Long... ids) {
+        given(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).willAnswer(invocation -> {
+            RowMapper<Long> rowMapper = invocation.getArgument(1);
+            List<Long> result = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                ResultSet rs = mock(ResultSet.class);
+                given(rs.getLong("id")).willReturn(ids[i]);
+                given(rs.getObject("accountNo")).willReturn(String.format("%09d", ids[i]));
+                result.add(rowMapper.mapRow(rs, i));
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private String capturedSql() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), any(Object[].class));
+        return sql.getValue();
+    }
+}
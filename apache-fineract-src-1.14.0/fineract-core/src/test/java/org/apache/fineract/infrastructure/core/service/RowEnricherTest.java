@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class RowEnricherTest {
+
+    private static final class Row {
+
+        private final Long id;
+        private String tag;
+
+        Row(Long id) {
+            this.id = id;
+        }
+    }
+
+    private final List<Collection<Long>> lookups = new ArrayList<>();
+
+    private final RowEnricher<Row, Long, String> enricher = RowEnricher.of(row -> row.id, ids -> {
+        lookups.add(List.copyOf(ids));
+        Map<Long, String> tags = new HashMap<>();
+        ids.stream().filter(id -> id % 2 == 0).forEach(id -> tags.put(id, "tag-" + id));
+        return tags;
+    }, (row, tag) -> row.tag = tag);
+
+    @Test
+    public void testRowsAreEnrichedWithOneLookup() {
+        // given
+        List<Row> rows = List.of(new Row(1L), new Row(2L), new Row(null), new Row(2L), new Row(4L));
+        // when
+        enricher.enrich(new Page<>(rows, rows.size()));
+        // then
+        assertEquals(List.of(List.of(1L, 2L, 4L)), lookups);
+        assertNull(rows.get(0).tag);
+        assertEquals("tag-2", rows.get(1).tag);
+        assertNull(rows.get(2).tag);
+        assertEquals("tag-2", rows.get(3).tag);
+        assertEquals("tag-4", rows.get(4).tag);
+    }
+
+    @Test
+    public void testLookupIsChunked() {
+        // given
+        List<Row> rows = IntStream.rangeClosed(1, RowEnricher.MAX_KEYS_PER_LOOKUP + 1).mapToObj(id -> new Row((long) id)).toList();
+        // when
+        enricher.enrich(rows);
+        // then
+        assertEquals(2, lookups.size());
+        assertEquals(RowEnricher.MAX_KEYS_PER_LOOKUP, lookups.get(0).size());
+        assertEquals(List.of((long) RowEnricher.MAX_KEYS_PER_LOOKUP + 1), lookups.get(1));
+        assertEquals("tag-1000", rows.get(999).tag);
+    }
+
+    @Test
+    public void testNoLookupWithoutKeys() {
+        // when
+        enricher.enrich(List.of(new Row(null)));
+        Row row = enricher.enrich((Row) null);
+        // then
+        assertNull(row);
+        assertEquals(List.of(), lookups);
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.fineract.portfolio.delinquency.service;
 import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.portfolio.delinquency.data.DelinquencyBucketData;
 import org.apache.fineract.portfolio.delinquency.data.DelinquencyRangeData;
 import org.apache.fineract.portfolio.delinquency.data.LoanDelinquencyTagHistoryData;
@@ -42,6 +43,12 @@ public interface DelinquencyReadPlatformService {
 
     DelinquencyRangeData retrieveCurrentDelinquencyTag(Long loanId);
 
+    /**
+     * Set based variant of {@link #retrieveCurrentDelinquencyTag(Long)} for list reads: returns the current delinquency
+     * range of the given loans by loan id, loans without a current delinquency tag are missing from the result.
+     */
+    Map<Long, DelinquencyRangeData> retrieveCurrentDelinquencyTags(Collection<Long> loanIds);
+
     Collection<LoanDelinquencyTagHistoryData> retrieveDelinquencyRangeHistory(Long loanId);
 
     CollectionData calculateLoanCollectionData(Long loanId);
@@ -25,7 +25,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -123,6 +125,18 @@ public class DelinquencyReadPlatformServiceImpl implements DelinquencyReadPlatfo
         return null;
     }
 
+    @Override
+    public Map<Long, DelinquencyRangeData> retrieveCurrentDelinquencyTags(Collection<Long> loanIds) {
+        final Map<Long, DelinquencyRangeData> delinquencyRanges = new HashMap<>();
+        if (loanIds.isEmpty()) {
+            return delinquencyRanges;
+        }
+        for (Object[] row : this.repositoryLoanDelinquencyTagHistory.findCurrentDelinquencyRangesByLoanIds(loanIds)) {
+            delinquencyRanges.put((Long) row[0], mapperRange.map((DelinquencyRange) row[1]));
+        }
+        return delinquencyRanges;
+    }
+
     @Override
     public Collection<LoanDelinquencyTagHistoryData> retrieveDelinquencyRangeHistory(Long loanId) {
         final Loan loan = this.loanRepository.getReferenceById(loanId);
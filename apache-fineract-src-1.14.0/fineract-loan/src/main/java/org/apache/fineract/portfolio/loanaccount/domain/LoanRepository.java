@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.loanaccount.domain;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.apache.fineract.portfolio.accountdetails.domain.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
@@ -119,6 +121,12 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     String FIND_LOAN_BY_EXTERNAL_ID = "SELECT loan FROM Loan loan WHERE loan.externalId = :externalId";
 
+    String FIND_ALL_BY_IDS_WITH_COLLECTIONS = "select loan from Loan loan where loan.id IN :loanIds";
+
+    String BATCH_FETCH_HINT = "eclipselink.batch";
+
+    String BATCH_FETCH_TYPE_HINT = "eclipselink.batch.type";
+
     @Query(FIND_GROUP_LOANS_DISBURSED_AFTER)
     List<Loan> getGroupLoansDisbursedAfter(@Param("disbursementDate") LocalDate disbursementDate, @Param("groupId") Long groupId,
             @Param("loanType") AccountType loanType);
@@ -269,6 +277,19 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
     @Query(FIND_LOAN_BY_EXTERNAL_ID)
     Optional<Loan> findByExternalId(@Param("externalId") ExternalId externalId);
 
+    /**
+     * Loads the loans together with the collections touched by the COB business steps. Every collection is loaded by a
+     * single additional query for the whole id set instead of one lazy load per loan.
+     */
+    @Query(FIND_ALL_BY_IDS_WITH_COLLECTIONS)
+    @QueryHints({ @QueryHint(name = BATCH_FETCH_TYPE_HINT, value = "IN"),
+            @QueryHint(name = BATCH_FETCH_HINT, value = "loan.repaymentScheduleInstallments"),
+            @QueryHint(name = BATCH_FETCH_HINT, value = "loan.loanTransactions"),
+            @QueryHint(name = BATCH_FETCH_HINT, value = "loan.charges"),
+            @QueryHint(name = BATCH_FETCH_HINT, value = "loan.disbursementDetails"),
+            @QueryHint(name = BATCH_FETCH_HINT, value = "loan.loanTermVariations") })
+    List<Loan> findAllWithCollectionsByIdIn(@Param("loanIds") Collection<Long> loanIds);
+
     @Query("select loan.loanRepaymentScheduleDetail.enableIncomeCapitalization from Loan loan where loan.id = :loanId")
     Boolean isEnabledCapitalizedIncome(Long loanId);
 
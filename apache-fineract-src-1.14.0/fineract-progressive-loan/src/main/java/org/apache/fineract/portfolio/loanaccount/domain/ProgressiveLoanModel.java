@@ -18,8 +18,10 @@
  */
 package org.apache.fineract.portfolio.loanaccount.domain;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -43,9 +45,14 @@ public class ProgressiveLoanModel extends AbstractPersistableCustom<Long> {
     @JoinColumn(name = "loan_id", nullable = false)
     private Loan loan;
 
-    @Column(name = "json_model", columnDefinition = "text", nullable = false)
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "json_model", columnDefinition = "text")
     private String jsonModel;
 
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "binary_model")
+    private byte[] binaryModel;
+
     @Column(name = "business_date", nullable = false)
     private LocalDate businessDate;
 
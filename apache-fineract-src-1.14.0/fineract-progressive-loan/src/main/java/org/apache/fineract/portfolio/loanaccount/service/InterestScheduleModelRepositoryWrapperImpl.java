@@ -20,11 +20,13 @@ package org.apache.fineract.portfolio.loanaccount.service;
 
 import jakarta.persistence.FlushModeType;
 import jakarta.transaction.Transactional;
+import java.math.MathContext;
 import java.time.LocalDate;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.persistence.FlushModeHandler;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -49,6 +51,8 @@ public class InterestScheduleModelRepositoryWrapperImpl implements InterestSched
     private final ProgressiveLoanInterestScheduleModelParserService progressiveLoanInterestScheduleModelParserService;
     private final AdvancedPaymentScheduleTransactionProcessor advancedPaymentScheduleTransactionProcessor;
     private final FlushModeHandler flushModeHandler;
+    private final ProgressiveLoanInterestScheduleModelCache modelCache;
+    private final FineractProperties fineractProperties;
 
     @Transactional
     @Override
@@ -56,7 +60,10 @@ public class InterestScheduleModelRepositoryWrapperImpl implements InterestSched
         if (model == null) {
             return null;
         }
+        // the JSON model is kept next to the binary one until the binary models have been verified
         String jsonModel = progressiveLoanInterestScheduleModelParserService.toJson(model);
+        byte[] binaryModel = isBinaryEncodingEnabled() ? progressiveLoanInterestScheduleModelParserService.toBinary(model) : null;
+        modelCache.evict(loan.getId());
         flushModeHandler.withFlushMode(FlushModeType.COMMIT, () -> {
             ProgressiveLoanModel progressiveLoanModel = loanModelRepository.findOneByLoanId(loan.getId()).orElseGet(() -> {
                 ProgressiveLoanModel plm = new ProgressiveLoanModel();
@@ -66,6 +73,7 @@ public class InterestScheduleModelRepositoryWrapperImpl implements InterestSched
             progressiveLoanModel.setBusinessDate(ThreadLocalContextUtil.getBusinessDate());
             progressiveLoanModel.setLastModifiedDate(DateUtils.getAuditOffsetDateTime());
             progressiveLoanModel.setJsonModel(jsonModel);
+            progressiveLoanModel.setBinaryModel(binaryModel);
             loanModelRepository.save(progressiveLoanModel);
         });
         return model;
@@ -91,10 +99,19 @@ public class InterestScheduleModelRepositoryWrapperImpl implements InterestSched
 
     @Override
     public Optional<ProgressiveLoanInterestScheduleModel> extractModel(Optional<ProgressiveLoanModel> progressiveLoanModel) {
-        return progressiveLoanModel.map(ProgressiveLoanModel::getJsonModel) //
-                .map(jsonModel -> progressiveLoanInterestScheduleModelParserService.fromJson(jsonModel,
-                        LoanConfigurationDetailsMapper.map(progressiveLoanModel.get().getLoan()), MoneyHelper.getMathContext(),
-                        progressiveLoanModel.get().getLoan().getLoanProductRelatedDetail().getInstallmentAmountInMultiplesOf()));
+        if (progressiveLoanModel.isEmpty()) {
+            return Optional.empty();
+        }
+        ProgressiveLoanModel loanModel = progressiveLoanModel.get();
+        MathContext mc = MoneyHelper.getMathContext();
+        Optional<ProgressiveLoanInterestScheduleModel> cachedModel = modelCache.get(loanModel, mc);
+        if (cachedModel.isPresent()) {
+            return cachedModel;
+        }
+        ProgressiveLoanInterestScheduleModel model = decode(loanModel, LoanConfigurationDetailsMapper.map(loanModel.getLoan()), mc,
+                loanModel.getLoan().getLoanProductRelatedDetail().getInstallmentAmountInMultiplesOf());
+        modelCache.put(loanModel, model, mc);
+        return Optional.ofNullable(model);
     }
 
     @Override
@@ -128,8 +145,22 @@ public class InterestScheduleModelRepositoryWrapperImpl implements InterestSched
     public Optional<ProgressiveLoanInterestScheduleModel> readProgressiveLoanInterestScheduleModel(final Long loanId,
             final ILoanConfigurationDetails detail, final Integer installmentAmountInMultipliesOf) {
         return loanModelRepository.findOneByLoanId(loanId) //
-                .map(ProgressiveLoanModel::getJsonModel) //
-                .map(jsonModel -> progressiveLoanInterestScheduleModelParserService.fromJson(jsonModel, detail,
-                        MoneyHelper.getMathContext(), installmentAmountInMultipliesOf)); //
+                .map(loanModel -> decode(loanModel, detail, MoneyHelper.getMathContext(), installmentAmountInMultipliesOf)); //
+    }
+
+    private ProgressiveLoanInterestScheduleModel decode(ProgressiveLoanModel loanModel, ILoanConfigurationDetails detail, MathContext mc,
+            Integer installmentAmountInMultipliesOf) {
+        // the JSON model is authoritative while the binary encoding is disabled, so switching it off falls back to JSON
+        if (loanModel.getBinaryModel() != null && (isBinaryEncodingEnabled() || loanModel.getJsonModel() == null)) {
+            return progressiveLoanInterestScheduleModelParserService.fromBinary(loanModel.getBinaryModel(), detail, mc,
+                    installmentAmountInMultipliesOf);
+        }
+        return progressiveLoanInterestScheduleModelParserService.fromJson(loanModel.getJsonModel(), detail, mc,
+                installmentAmountInMultipliesOf);
+    }
+
+    private boolean isBinaryEncodingEnabled() {
+        return fineractProperties.getLoan() != null && fineractProperties.getLoan().getProgressiveModel() != null
+                && fineractProperties.getLoan().getProgressiveModel().isBinaryEncodingEnabled();
     }
 }
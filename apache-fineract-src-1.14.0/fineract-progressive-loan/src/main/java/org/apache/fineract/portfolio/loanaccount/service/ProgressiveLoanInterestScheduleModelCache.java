@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.domain.ProgressiveLoanModel;
+import org.apache.fineract.portfolio.loanproduct.calc.data.ProgressiveLoanInterestScheduleModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, least recently used cache of decoded {@link ProgressiveLoanInterestScheduleModel}s.
+ *
+ * Entries are keyed by tenant and loan id and are only served while the version, last modification time and business
+ * date of the persisted {@link ProgressiveLoanModel} still match, so a model written by another node or by a rolled back
+ * transaction is never returned. Callers always receive a deep copy as the models are mutable.
+ */
+@Component
+public class ProgressiveLoanInterestScheduleModelCache {
+
+    private final int maxSize;
+    private final Map<Key, Entry> entries;
+
+    public ProgressiveLoanInterestScheduleModelCache(FineractProperties fineractProperties) {
+        FineractProperties.FineractProgressiveModelProperties properties = fineractProperties.getLoan() == null ? null
+                : fineractProperties.getLoan().getProgressiveModel();
+        this.maxSize = properties == null ? 0 : properties.getCacheSize();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Optional<ProgressiveLoanInterestScheduleModel> get(ProgressiveLoanModel loanModel, MathContext mc) {
+        if (maxSize <= 0) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(key(loanModel.getLoan().getId()));
+        if (entry == null || !entry.matches(loanModel)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.model().deepCopy(mc));
+    }
+
+    public void put(ProgressiveLoanModel loanModel, ProgressiveLoanInterestScheduleModel model, MathContext mc) {
+        if (maxSize <= 0 || model == null) {
+            return;
+        }
+        entries.put(key(loanModel.getLoan().getId()), new Entry(loanModel.getVersion(), loanModel.getLastModifiedDate(),
+                loanModel.getBusinessDate(), model.deepCopy(mc)));
+    }
+
+    public void evict(Long loanId) {
+        if (maxSize > 0) {
+            entries.remove(key(loanId));
+        }
+    }
+
+    private Key key(Long loanId) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return new Key(tenant == null ? null : tenant.getTenantIdentifier(), loanId);
+    }
+
+    private record Key(String tenantIdentifier, Long loanId) {
+    }
+
+    private record Entry(int version, OffsetDateTime lastModifiedDate, LocalDate businessDate, ProgressiveLoanInterestScheduleModel model) {
+
+        private boolean matches(ProgressiveLoanModel loanModel) {
+            return version == loanModel.getVersion() && Objects.equals(lastModifiedDate, loanModel.getLastModifiedDate())
+                    && Objects.equals(businessDate, loanModel.getBusinessDate());
+        }
+    }
+}
@@ -34,4 +34,20 @@ public interface ProgressiveLoanInterestScheduleModelParserService {
      */
     ProgressiveLoanInterestScheduleModel fromJson(String s, ILoanConfigurationDetails loanProductRelatedDetail, MathContext mc,
             Integer installmentAmountInMultipliesOf);
+
+    /**
+     * Encode a ProgressiveLoanInterestScheduleModel model into the versioned binary format (compressed JSON).
+     */
+    byte[] toBinary(ProgressiveLoanInterestScheduleModel model);
+
+    /**
+     * Restore a ProgressiveLoanInterestScheduleModel from the versioned binary format.
+     */
+    ProgressiveLoanInterestScheduleModel fromBinary(byte[] data, ILoanConfigurationDetails loanProductRelatedDetail, MathContext mc,
+            Integer installmentAmountInMultipliesOf);
+
+    /**
+     * Convert a JSON stringified model into the versioned binary format without restoring the model.
+     */
+    byte[] jsonToBinary(String json);
 }
@@ -22,8 +22,20 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.InstanceCreator;
 import com.google.gson.ToNumberPolicy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.serialization.gson.JsonExcludeAnnotationBasedExclusionStrategy;
@@ -38,10 +50,22 @@ import org.apache.fineract.portfolio.loanproduct.calc.data.RepaymentPeriod;
 import org.apache.fineract.portfolio.loanproduct.domain.ILoanConfigurationDetails;
 import org.springframework.lang.NonNull;
 
+/**
+ * Gson based model parser.
+ *
+ * The binary format is a 4 byte header ({@code PLM} magic followed by the format version) and the deflated UTF-8 JSON
+ * model. It is not a field level encoding: the gain over the JSON column is the smaller row and the cheaper read of a
+ * compressed blob, the model is still restored through Gson. The version byte leaves room for a field level encoding
+ * without another column migration.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class ProgressiveLoanInterestScheduleModelParserServiceGsonImpl implements ProgressiveLoanInterestScheduleModelParserService {
 
+    private static final byte[] BINARY_MAGIC = { 'P', 'L', 'M' };
+    private static final byte BINARY_VERSION_DEFLATED_JSON = 1;
+    private static final int BINARY_HEADER_LENGTH = BINARY_MAGIC.length + 1;
+
     private final Gson gsonSerializer = createSerializer();
 
     private Gson createSerializer() {
@@ -86,4 +110,70 @@ public class ProgressiveLoanInterestScheduleModelParserServiceGsonImpl implement
             return null;
         }
     }
+
+    @Override
+    public byte[] toBinary(@NonNull ProgressiveLoanInterestScheduleModel model) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(deflate(out), StandardCharsets.UTF_8)) {
+            gsonSerializer.toJson(model, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public ProgressiveLoanInterestScheduleModel fromBinary(byte[] data, @NonNull ILoanConfigurationDetails loanProductRelatedDetail,
+            @NonNull MathContext mc, Integer installmentAmountInMultipliesOf) {
+        if (data == null) {
+            return null;
+        }
+        try (Reader reader = inflate(data)) {
+            Gson gson = createDeserializer(loanProductRelatedDetail, mc, installmentAmountInMultipliesOf);
+            return gson.fromJson(reader, ProgressiveLoanInterestScheduleModel.class);
+        } catch (Exception e) {
+            log.warn("Failed to parse binary ProgressiveLoanInterestScheduleModel. Falling back to default value.", e);
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] jsonToBinary(@NonNull String json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = deflate(out)) {
+            deflater.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private DeflaterOutputStream deflate(ByteArrayOutputStream out) {
+        out.writeBytes(BINARY_MAGIC);
+        out.write(BINARY_VERSION_DEFLATED_JSON);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        return new DeflaterOutputStream(out, deflater) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    private Reader inflate(byte[] data) {
+        if (data.length < BINARY_HEADER_LENGTH || data[0] != BINARY_MAGIC[0] || data[1] != BINARY_MAGIC[1] || data[2] != BINARY_MAGIC[2]) {
+            throw new IllegalArgumentException("Not a binary ProgressiveLoanInterestScheduleModel");
+        }
+        if (data[3] != BINARY_VERSION_DEFLATED_JSON) {
+            throw new IllegalArgumentException("Unsupported binary ProgressiveLoanInterestScheduleModel version: " + data[3]);
+        }
+        return new InputStreamReader(
+                new InflaterInputStream(new ByteArrayInputStream(data, BINARY_HEADER_LENGTH, data.length - BINARY_HEADER_LENGTH)),
+                StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractLoanProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractProgressiveModelProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.ProgressiveLoanModel;
+import org.apache.fineract.portfolio.loanproduct.calc.data.ProgressiveLoanInterestScheduleModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProgressiveLoanInterestScheduleModelCacheTest {
+
+    private static final MathContext MC = new MathContext(12, RoundingMode.HALF_EVEN);
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 2, 1);
+    private static final OffsetDateTime LAST_MODIFIED = OffsetDateTime.of(2024, 2, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private ProgressiveLoanInterestScheduleModelCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+        underTest = new ProgressiveLoanInterestScheduleModelCache(properties(2));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testCachedModelShouldBeServedWhilePersistedModelIsUnchanged() {
+        // given
+        ProgressiveLoanModel loanModel = loanModel(1L, 0, BUSINESS_DATE);
+        underTest.put(loanModel, model(copyable()), MC);
+        // when
+        Optional<ProgressiveLoanInterestScheduleModel> result = underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC);
+        // then
+        assertTrue(result.isPresent());
+    }
+
+    @Test
+    public void testCachedModelShouldBeInvalidatedByNewVersion() {
+        // given
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), model(copyable()), MC);
+        // when
+        Optional<ProgressiveLoanInterestScheduleModel> result = underTest.get(loanModel(1L, 1, BUSINESS_DATE), MC);
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testCachedModelShouldBeInvalidatedByNewBusinessDate() {
+        // given
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), model(copyable()), MC);
+        // when
+        Optional<ProgressiveLoanInterestScheduleModel> result = underTest.get(loanModel(1L, 0, BUSINESS_DATE.plusDays(1)), MC);
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testCachedModelShouldBeInvalidatedByNewModificationTime() {
+        // given
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), model(copyable()), MC);
+        ProgressiveLoanModel changed = loanModel(1L, 0, BUSINESS_DATE);
+        changed.setLastModifiedDate(LAST_MODIFIED.plusSeconds(1));
+        // when
+        Optional<ProgressiveLoanInterestScheduleModel> result = underTest.get(changed, MC);
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testCachedModelShouldNotBeServedToOtherTenant() {
+        // given
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), model(copyable()), MC);
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(2L).tenantIdentifier("other").build());
+        // when
+        Optional<ProgressiveLoanInterestScheduleModel> result = underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC);
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testEvictedModelShouldNotBeServed() {
+        // given
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), model(copyable()), MC);
+        // when
+        underTest.evict(1L);
+        // then
+        assertTrue(underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC).isEmpty());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedModelShouldBeDroppedWhenCacheIsFull() {
+        // given
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), model(copyable()), MC);
+        underTest.put(loanModel(2L, 0, BUSINESS_DATE), model(copyable()), MC);
+        underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC);
+        // when
+        underTest.put(loanModel(3L, 0, BUSINESS_DATE), model(copyable()), MC);
+        // then
+        assertTrue(underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC).isPresent());
+        assertTrue(underTest.get(loanModel(2L, 0, BUSINESS_DATE), MC).isEmpty());
+        assertTrue(underTest.get(loanModel(3L, 0, BUSINESS_DATE), MC).isPresent());
+    }
+
+    @Test
+    public void testCacheShouldOnlyHandOutDeepCopies() {
+        // given
+        ProgressiveLoanInterestScheduleModel original = mock(ProgressiveLoanInterestScheduleModel.class);
+        ProgressiveLoanInterestScheduleModel stored = mock(ProgressiveLoanInterestScheduleModel.class);
+        ProgressiveLoanInterestScheduleModel firstCopy = mock(ProgressiveLoanInterestScheduleModel.class);
+        ProgressiveLoanInterestScheduleModel secondCopy = mock(ProgressiveLoanInterestScheduleModel.class);
+        given(original.deepCopy(MC)).willReturn(stored);
+        given(stored.deepCopy(MC)).willReturn(firstCopy, secondCopy);
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), original, MC);
+        // when
+        ProgressiveLoanInterestScheduleModel first = underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC).orElseThrow();
+        ProgressiveLoanInterestScheduleModel second = underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC).orElseThrow();
+        // then
+        verify(original).deepCopy(MC);
+        verify(stored, times(2)).deepCopy(MC);
+        assertSame(firstCopy, first);
+        assertSame(secondCopy, second);
+        assertNotSame(original, first);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testDisabledCacheShouldNeitherStoreNorServe() {
+        // given
+        underTest = new ProgressiveLoanInterestScheduleModelCache(properties(0));
+        ProgressiveLoanInterestScheduleModel original = mock(ProgressiveLoanInterestScheduleModel.class);
+        // when
+        underTest.put(loanModel(1L, 0, BUSINESS_DATE), original, MC);
+        // then
+        assertTrue(underTest.get(loanModel(1L, 0, BUSINESS_DATE), MC).isEmpty());
+        verify(original, never()).deepCopy(any());
+    }
+
+    private static FineractProperties properties(int cacheSize) {
+        FineractProgressiveModelProperties progressiveModel = new FineractProgressiveModelProperties();
+        progressiveModel.setCacheSize(cacheSize);
+        FineractLoanProperties loan = new FineractLoanProperties();
+        loan.setProgressiveModel(progressiveModel);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setLoan(loan);
+        return fineractProperties;
+    }
+
+    private static ProgressiveLoanModel loanModel(Long loanId, int version, LocalDate businessDate) {
+        Loan loan = mock(Loan.class);
+        given(loan.getId()).willReturn(loanId);
+        ProgressiveLoanModel loanModel = new ProgressiveLoanModel();
+        loanModel.setLoan(loan);
+        loanModel.setVersion(version);
+        loanModel.setBusinessDate(businessDate);
+        loanModel.setLastModifiedDate(LAST_MODIFIED);
+        return loanModel;
+    }
+
+    private static ProgressiveLoanInterestScheduleModel copyable() {
+        ProgressiveLoanInterestScheduleModel copy = mock(ProgressiveLoanInterestScheduleModel.class);
+        given(copy.deepCopy(MC)).willReturn(copy);
+        return copy;
+    }
+
+    private static ProgressiveLoanInterestScheduleModel model(ProgressiveLoanInterestScheduleModel stored) {
+        ProgressiveLoanInterestScheduleModel model = mock(ProgressiveLoanInterestScheduleModel.class);
+        given(model.deepCopy(MC)).willReturn(stored);
+        return model;
+    }
+}
@@ -23,6 +23,7 @@ import static java.math.BigDecimal.ZERO;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -3300,6 +3301,38 @@ class ProgressiveEMICalculatorTest {
 
     }
 
+    @Test
+    public void test_interest_schedule_model_service_binary_serialization() {
+        final List<LoanScheduleModelRepaymentPeriod> expectedRepaymentPeriods = List.of(
+                repayment(1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)),
+                repayment(2, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)),
+                repayment(3, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1)));
+
+        Mockito.when(loanProductRelatedDetail.getAnnualNominalInterestRate()).thenReturn(BigDecimal.valueOf(7.0));
+        Mockito.when(loanProductRelatedDetail.getDaysInYearType()).thenReturn(DaysInYearType.DAYS_360.getValue());
+        Mockito.when(loanProductRelatedDetail.getDaysInMonthType()).thenReturn(DaysInMonthType.DAYS_30.getValue());
+        Mockito.when(loanProductRelatedDetail.getRepaymentPeriodFrequencyType()).thenReturn(PeriodFrequencyType.MONTHS);
+        Mockito.when(loanProductRelatedDetail.getRepayEvery()).thenReturn(1);
+        Mockito.when(loanProductRelatedDetail.getCurrencyData()).thenReturn(currency);
+
+        final ProgressiveLoanInterestScheduleModel interestScheduleExpected = emiCalculator
+                .generatePeriodInterestScheduleModel(expectedRepaymentPeriods, loanProductRelatedDetail, null, mc);
+        emiCalculator.addDisbursement(interestScheduleExpected, LocalDate.of(2024, 1, 1), toMoney(100.0));
+        LocalDate txnDate = LocalDate.of(2024, 2, 1);
+        emiCalculator.payPrincipal(interestScheduleExpected, LocalDate.of(2024, 1, 1), txnDate, txnDate, toMoney(33.08));
+        emiCalculator.payInterest(interestScheduleExpected, LocalDate.of(2024, 1, 1), txnDate, txnDate, toMoney(0.58));
+
+        final byte[] binary = interestScheduleModelService.toBinary(interestScheduleExpected);
+        final String json = interestScheduleModelService.toJson(interestScheduleExpected);
+        Assertions.assertTrue(binary.length < json.length());
+        verifyAllPeriods(interestScheduleExpected, interestScheduleModelService.fromBinary(binary,
+                interestScheduleExpected.loanProductRelatedDetail(), interestScheduleExpected.mc(), null));
+        verifyAllPeriods(interestScheduleExpected, interestScheduleModelService.fromBinary(interestScheduleModelService.jsonToBinary(json),
+                interestScheduleExpected.loanProductRelatedDetail(), interestScheduleExpected.mc(), null));
+        Assertions.assertNull(interestScheduleModelService.fromBinary(json.getBytes(StandardCharsets.UTF_8),
+                interestScheduleExpected.loanProductRelatedDetail(), interestScheduleExpected.mc(), null));
+    }
+
     @Nested
     public class InterestTypeFlatAndCalculationPeriodDaily {
 
@@ -96,6 +96,7 @@ public class AccountingProcessorHelper {
     private final AccountTransfersReadPlatformService accountTransfersReadPlatformService;
     private final ChargeRepositoryWrapper chargeRepositoryWrapper;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final JournalEntryBatchPoster journalEntryBatchPoster;
 
     public LoanDTO populateLoanDtoFromDTO(
             final org.apache.fineract.portfolio.loanaccount.data.AccountingBridgeDataDTO accountingBridgeData) {
@@ -1341,6 +1342,9 @@ public class AccountingProcessorHelper {
     }
 
     public JournalEntry persistJournalEntry(JournalEntry journalEntry) {
+        if (journalEntryBatchPoster.canBuffer()) {
+            return journalEntryBatchPoster.buffer(journalEntry);
+        }
         boolean isNew = journalEntry.isNew();
         JournalEntry savedJournalEntry = this.glJournalEntryRepository.saveAndFlush(journalEntry);
         if (isNew && journalEntry.getLoanTransactionId() != null) {
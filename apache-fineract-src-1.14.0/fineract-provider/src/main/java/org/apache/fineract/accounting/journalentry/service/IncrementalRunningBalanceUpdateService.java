@@ -0,0 +1,320 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Incremental running balance engine for {@code acc_gl_journal_entry}.
+ *
+ * Only GL accounts having uncalculated journal entries are processed, each account on its own worker. For every account
+ * the tail starting at the first uncalculated entry is flagged as uncalculated up front and is then recalculated page by
+ * page using an (entry_date, id) cursor. Every page is committed together with the per (office, GL account) checkpoint
+ * in {@code acc_gl_running_balance_checkpoint}, so an interrupted run continues from the last committed page.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncrementalRunningBalanceUpdateService {
+
+    private static final String UPDATE_ENTRY_SQL = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, "
+            + "organization_running_balance=?, office_running_balance=?, last_modified_by=?, last_modified_on_utc=? WHERE id=?";
+    private static final String UPDATE_CHECKPOINT_SQL = "UPDATE acc_gl_running_balance_checkpoint SET last_entry_date=?, "
+            + "last_journal_entry_id=?, office_running_balance=? WHERE office_id=? AND account_id=?";
+    private static final String INSERT_CHECKPOINT_SQL = "INSERT INTO acc_gl_running_balance_checkpoint "
+            + "(office_id, account_id, last_entry_date, last_journal_entry_id, office_running_balance) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final PlatformSecurityContext platformSecurityContext;
+    private final FineractProperties fineractProperties;
+    @Qualifier(TaskExecutorConstant.CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME)
+    private final ThreadPoolTaskExecutor taskExecutor;
+
+    public boolean isEnabled() {
+        FineractProperties.FineractRunningBalanceUpdateProperties properties = fineractProperties.getJob().getRunningBalanceUpdate();
+        return properties != null && properties.isIncrementalEnabled();
+    }
+
+    /**
+     * Recalculates the organization and office running balances of every GL account having uncalculated journal
+     * entries.
+     *
+     * @param officeId
+     *            when not null, only GL accounts having uncalculated journal entries in the given office are processed
+     */
+    public void updateRunningBalance(Long officeId) {
+        List<Long> accountIds = findAffectedAccounts(officeId);
+        if (accountIds.isEmpty()) {
+            log.debug("No results found for updation of running balance");
+            return;
+        }
+        Long userId = platformSecurityContext.authenticatedUser().getId();
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        int threadPoolSize = Math.max(1, Math.min(getThreadPoolSize(), accountIds.size()));
+        log.info("Updating running balance of {} GL accounts using {} threads", accountIds.size(), threadPoolSize);
+        resizeTaskExecutor(threadPoolSize);
+
+        Map<Long, Future<?>> futures = new LinkedHashMap<>();
+        for (Long accountId : accountIds) {
+            futures.put(accountId, taskExecutor.submit(() -> {
+                try {
+                    ThreadLocalContextUtil.init(context);
+                    updateAccountRunningBalance(accountId, userId);
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }));
+        }
+        try {
+            awaitCompletion(futures);
+        } finally {
+            // do not leave workers of an interrupted or failed run behind
+            futures.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void resizeTaskExecutor(int threadPoolSize) {
+        // the core pool size can not exceed the maximum pool size at any point
+        if (threadPoolSize > taskExecutor.getMaxPoolSize()) {
+            taskExecutor.setMaxPoolSize(threadPoolSize);
+            taskExecutor.setCorePoolSize(threadPoolSize);
+        } else {
+            taskExecutor.setCorePoolSize(threadPoolSize);
+            taskExecutor.setMaxPoolSize(threadPoolSize);
+        }
+    }
+
+    /**
+     * Drops every checkpoint. Must be called whenever running balances are written by other means, because the
+     * checkpoints would not reflect those writes.
+     */
+    public void clearCheckpoints() {
+        jdbcTemplate.update("DELETE FROM acc_gl_running_balance_checkpoint");
+    }
+
+    private List<Long> findAffectedAccounts(Long officeId) {
+        String sql = "select distinct je.account_id from acc_gl_journal_entry je where je.is_running_balance_calculated=false";
+        if (officeId == null) {
+            return jdbcTemplate.queryForList(sql, Long.class);
+        }
+        return jdbcTemplate.queryForList(sql + " and je.office_id=?", Long.class, officeId); // NOSONAR
+    }
+
+    private void awaitCompletion(Map<Long, Future<?>> futures) {
+        List<Long> failedAccountIds = new ArrayList<>();
+        Throwable failure = null;
+        for (Map.Entry<Long, Future<?>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Running balance update was interrupted", e);
+            } catch (ExecutionException e) {
+                log.error("Running balance update failed for GL account {}", entry.getKey(), e.getCause());
+                failedAccountIds.add(entry.getKey());
+                if (failure == null) {
+                    failure = e.getCause();
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Running balance update failed for GL accounts " + failedAccountIds, failure);
+        }
+    }
+
+    private void updateAccountRunningBalance(Long accountId, Long userId) {
+        Position start = findFirstUncalculatedEntry(accountId);
+        if (start == null) {
+            return;
+        }
+        GLAccountType accountType = GLAccountType.fromInt(
+                jdbcTemplate.queryForObject("select classification_enum from acc_gl_account where id=?", Integer.class, accountId));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Every entry after the first uncalculated one has to be recalculated. Flagging them first makes an interrupted
+        // run pick up from the last committed page instead of leaving stale balances behind it.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "update acc_gl_journal_entry set is_running_balance_calculated=false where account_id=? "
+                        + "and is_running_balance_calculated=true and (entry_date>? or (entry_date=? and id>?))",
+                accountId, start.entryDate(), start.entryDate(), start.id()));
+
+        BigDecimal organizationRunningBalance = findOrganizationRunningBalanceBefore(accountId, start);
+        Map<Long, BigDecimal> officeRunningBalances = new HashMap<>();
+        int pageSize = getPageSize();
+        // the cursor is exclusive, ids are unique so nothing can sit between (id - 1) and id on the same date
+        Position cursor = new Position(start.entryDate(), start.id() - 1);
+        long processed = 0;
+        while (true) {
+            List<Entry> page = readPage(accountId, cursor, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Object[]> params = new ArrayList<>(page.size());
+            Map<Long, Object[]> checkpoints = new LinkedHashMap<>();
+            OffsetDateTime auditDateTime = DateUtils.getAuditOffsetDateTime();
+            for (Entry entry : page) {
+                BigDecimal officeRunningBalance = officeRunningBalances.get(entry.officeId());
+                if (officeRunningBalance == null) {
+                    officeRunningBalance = findOfficeRunningBalanceBefore(accountId, entry.officeId(), start);
+                }
+                organizationRunningBalance = apply(accountType, entry, organizationRunningBalance);
+                officeRunningBalance = apply(accountType, entry, officeRunningBalance);
+                officeRunningBalances.put(entry.officeId(), officeRunningBalance);
+                params.add(new Object[] { Boolean.TRUE, organizationRunningBalance, officeRunningBalance, userId, auditDateTime,
+                        entry.id() });
+                checkpoints.put(entry.officeId(),
+                        new Object[] { entry.entryDate(), entry.id(), officeRunningBalance, entry.officeId(), accountId });
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_ENTRY_SQL, params);
+                saveCheckpoints(checkpoints.values());
+            });
+            processed += page.size();
+            Entry last = page.get(page.size() - 1);
+            cursor = new Position(last.entryDate(), last.id());
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        log.debug("Updated running balance of {} journal entries for GL account {}", processed, accountId);
+    }
+
+    private void saveCheckpoints(Iterable<Object[]> checkpoints) {
+        for (Object[] checkpoint : checkpoints) {
+            if (jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, checkpoint) == 0) {
+                jdbcTemplate.update(INSERT_CHECKPOINT_SQL, checkpoint[3], checkpoint[4], checkpoint[0], checkpoint[1], checkpoint[2]);
+            }
+        }
+    }
+
+    private Position findFirstUncalculatedEntry(Long accountId) {
+        LocalDate entryDate = jdbcTemplate.queryForObject(
+                "select min(entry_date) from acc_gl_journal_entry where account_id=? and is_running_balance_calculated=false",
+                LocalDate.class, accountId);
+        if (entryDate == null) {
+            return null;
+        }
+        Long id = jdbcTemplate.queryForObject("select min(id) from acc_gl_journal_entry where account_id=? and entry_date=? "
+                + "and is_running_balance_calculated=false", Long.class, accountId, entryDate);
+        return new Position(entryDate, id);
+    }
+
+    private BigDecimal findOrganizationRunningBalanceBefore(Long accountId, Position position) {
+        final String sql = "select organization_running_balance from acc_gl_journal_entry "
+                + "where account_id=? and (entry_date<? or (entry_date=? and id<?)) order by entry_date desc, id desc "
+                + sqlGenerator.limit(1);
+        List<BigDecimal> balance = jdbcTemplate.queryForList(sql, BigDecimal.class, accountId, position.entryDate(), // NOSONAR
+                position.entryDate(), position.id());
+        return balance.isEmpty() || balance.get(0) == null ? BigDecimal.ZERO : balance.get(0);
+    }
+
+    private BigDecimal findOfficeRunningBalanceBefore(Long accountId, Long officeId, Position position) {
+        List<Map<String, Object>> checkpoint = jdbcTemplate.queryForList("select last_entry_date as entryDate, "
+                + "last_journal_entry_id as id, office_running_balance as balance from acc_gl_running_balance_checkpoint "
+                + "where office_id=? and account_id=?", officeId, accountId);
+        if (!checkpoint.isEmpty()) {
+            Map<String, Object> row = checkpoint.get(0);
+            Position checkpointPosition = new Position(toLocalDate(row.get("entryDate")), ((Number) row.get("id")).longValue());
+            if (checkpointPosition.isBefore(position)) {
+                return (BigDecimal) row.get("balance");
+            }
+        }
+        final String sql = "select office_running_balance from acc_gl_journal_entry "
+                + "where account_id=? and office_id=? and (entry_date<? or (entry_date=? and id<?)) order by entry_date desc, id desc "
+                + sqlGenerator.limit(1);
+        List<BigDecimal> balance = jdbcTemplate.queryForList(sql, BigDecimal.class, accountId, officeId, position.entryDate(), // NOSONAR
+                position.entryDate(), position.id());
+        return balance.isEmpty() || balance.get(0) == null ? BigDecimal.ZERO : balance.get(0);
+    }
+
+    private List<Entry> readPage(Long accountId, Position cursor, int pageSize) {
+        final String sql = "select je.id as id, je.office_id as officeId, je.entry_date as entryDate, je.type_enum as entryType, "
+                + "je.amount as amount from acc_gl_journal_entry je where je.account_id=? "
+                + "and (je.entry_date>? or (je.entry_date=? and je.id>?)) order by je.entry_date, je.id " + sqlGenerator.limit(pageSize);
+        return jdbcTemplate.query(sql, // NOSONAR
+                (rs, rowNum) -> new Entry(rs.getLong("id"), rs.getLong("officeId"), rs.getObject("entryDate", LocalDate.class),
+                        JournalEntryType.fromInt(rs.getInt("entryType")), rs.getBigDecimal("amount")),
+                accountId, cursor.entryDate(), cursor.entryDate(), cursor.id());
+    }
+
+    static BigDecimal apply(GLAccountType accountType, Entry entry, BigDecimal runningBalance) {
+        boolean isIncrease = switch (accountType) {
+            case ASSET, EXPENSE -> entry.entryType().isDebitType();
+            case EQUITY, INCOME, LIABILITY -> entry.entryType().isCreditType();
+        };
+        return isIncrease ? runningBalance.add(entry.amount()) : runningBalance.subtract(entry.amount());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private int getPageSize() {
+        Integer pageSize = fineractProperties.getJob().getRunningBalanceUpdate().getPageSize();
+        return pageSize == null || pageSize < 1 ? 1000 : pageSize;
+    }
+
+    private int getThreadPoolSize() {
+        Integer threadPoolSize = fineractProperties.getJob().getRunningBalanceUpdate().getThreadPoolSize();
+        return threadPoolSize == null || threadPoolSize < 1 ? 1 : threadPoolSize;
+    }
+
+    record Position(LocalDate entryDate, Long id) {
+
+        boolean isBefore(Position other) {
+            int result = entryDate.compareTo(other.entryDate);
+            return result < 0 || (result == 0 && id < other.id);
+        }
+    }
+
+    record Entry(Long id, Long officeId, LocalDate entryDate, JournalEntryType entryType, BigDecimal amount) {}
+}
@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException.GlJournalEntryInvalidReason;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.business.domain.journalentry.LoanJournalEntryCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Collects the journal entries created within a transaction and posts them together: debits and credits are validated
+ * once per accounting transaction, the pending inserts are written with a single flush and the created events are
+ * raised afterwards.
+ * <p>
+ * Units of work that share a transaction (e.g. the loans of a COB chunk) post their entries explicitly with
+ * {@link #postPending()} when they finish, so an invalid entry fails only its own unit. Entries not posted explicitly
+ * are posted right before the transaction commits.
+ * <p>
+ * Entries are persisted into the persistence context when they are created, so they can still be referenced (e.g. as
+ * reversal of another entry) before they are posted; only the flush is deferred.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JournalEntryBatchPoster {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final FineractProperties fineractProperties;
+
+    public boolean canBuffer() {
+        FineractProperties.FineractAccountingProperties accounting = fineractProperties.getAccounting();
+        return accounting != null && accounting.getJournalEntryBatchPosting() != null
+                && accounting.getJournalEntryBatchPosting().isEnabled() && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    public JournalEntry buffer(JournalEntry journalEntry) {
+        boolean isNew = journalEntry.isNew();
+        JournalEntry savedJournalEntry = journalEntryRepository.save(journalEntry);
+        if (isNew) {
+            PostingSession postingSession = (PostingSession) TransactionSynchronizationManager.getResource(this);
+            if (postingSession == null) {
+                postingSession = new PostingSession(this);
+                TransactionSynchronizationManager.bindResource(this, postingSession);
+                TransactionSynchronizationManager.registerSynchronization(postingSession);
+            }
+            postingSession.journalEntries.add(savedJournalEntry);
+        }
+        return savedJournalEntry;
+    }
+
+    /**
+     * Posts the entries buffered so far in the current transaction.
+     */
+    public void postPending() {
+        PostingSession postingSession = (PostingSession) TransactionSynchronizationManager.getResource(this);
+        if (postingSession != null) {
+            postingSession.post();
+        }
+    }
+
+    public void post(List<JournalEntry> journalEntries) {
+        if (journalEntries.isEmpty()) {
+            return;
+        }
+        validateDebitsEqualCredits(journalEntries);
+        journalEntryRepository.flush();
+        for (JournalEntry journalEntry : journalEntries) {
+            if (journalEntry.getLoanTransactionId() != null) {
+                businessEventNotifierService.notifyPostBusinessEvent(new LoanJournalEntryCreatedBusinessEvent(journalEntry));
+            }
+        }
+        log.debug("Posted {} journal entries in batch", journalEntries.size());
+    }
+
+    void validateDebitsEqualCredits(List<JournalEntry> journalEntries) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (JournalEntry journalEntry : journalEntries) {
+            BigDecimal amount = journalEntry.isDebitEntry() ? journalEntry.getAmount() : journalEntry.getAmount().negate();
+            balances.merge(journalEntry.getTransactionId() + "|" + journalEntry.getCurrencyCode(), amount, BigDecimal::add);
+        }
+        for (Map.Entry<String, BigDecimal> balance : balances.entrySet()) {
+            if (balance.getValue().compareTo(BigDecimal.ZERO) != 0) {
+                log.error("Journal entries of transaction {} are not balanced, difference: {}", balance.getKey(), balance.getValue());
+                throw new JournalEntryInvalidException(GlJournalEntryInvalidReason.DEBIT_CREDIT_SUM_MISMATCH, null, null, null);
+            }
+        }
+    }
+
+    private static final class PostingSession implements TransactionSynchronization {
+
+        private final JournalEntryBatchPoster poster;
+        private final List<JournalEntry> journalEntries = new ArrayList<>();
+
+        private PostingSession(JournalEntryBatchPoster poster) {
+            this.poster = poster;
+        }
+
+        private void post() {
+            List<JournalEntry> pending = new ArrayList<>(journalEntries);
+            journalEntries.clear();
+            poster.post(pending);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // The events raised here are collected by the business event notifier and posted after the synchronizations
+            post();
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(poster);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(poster, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            journalEntries.clear();
+            TransactionSynchronizationManager.unbindResourceIfPossible(poster);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -46,6 +47,7 @@ import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.KeysetSort;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -70,6 +72,11 @@ import org.springframework.util.CollectionUtils;
 @RequiredArgsConstructor
 public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlatformService {
 
+    private static final KeysetSort JOURNAL_ENTRY_KEYSET_SORT = KeysetSort.by("journalEntry.entry_date", "transactionDate",
+            "journalEntry.id", "id");
+    private static final Map<String, KeysetSort> JOURNAL_ENTRY_KEYSET_SORTS = Map.of("transactionDate", JOURNAL_ENTRY_KEYSET_SORT, "id",
+            KeysetSort.byId("journalEntry.id", "id"));
+
     private final JdbcTemplate jdbcTemplate;
     private final GLAccountReadPlatformService glAccountReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
@@ -241,8 +248,9 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             final LocalDate submittedOnDateTo, final String transactionId, final Integer entityType,
             final JournalEntryAssociationParametersData associationParametersData) {
         GLJournalEntryMapper rm = getGlJournalEntryMapper(associationParametersData);
+        final boolean keysetPagination = searchParameters.isKeysetPagination();
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select ").append(sqlGenerator.calcFoundRows()).append(" ");
+        sqlBuilder.append("select ").append(keysetPagination ? "" : sqlGenerator.calcFoundRows()).append(" ");
         sqlBuilder.append(rm.schema());
 
         final Object[] objectArray = new Object[15];
@@ -355,6 +363,16 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
                     " journalEntry.savings_transaction_id in (select id from m_savings_account_transaction where savings_account_id = ?)");
             objectArray[arrayPos] = searchParameters.getSavingsId();
             arrayPos = arrayPos + 1;
+
+            whereClose = " and ";
+        }
+
+        if (keysetPagination) {
+            if (!" and ".equals(whereClose)) {
+                sqlBuilder.append(" where 1 = 1");
+            }
+            return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sqlBuilder.toString(), Arrays.copyOf(objectArray, arrayPos), rm,
+                    KeysetSort.resolve(searchParameters, JOURNAL_ENTRY_KEYSET_SORT, JOURNAL_ENTRY_KEYSET_SORTS), searchParameters);
         }
 
         if (searchParameters.hasOrderBy()) {
@@ -67,8 +67,16 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
 
     private final PlatformSecurityContext platformSecurityContext;
 
+    private final IncrementalRunningBalanceUpdateService incrementalRunningBalanceUpdateService;
+
     @Override
     public void updateRunningBalance() {
+        if (incrementalRunningBalanceUpdateService.isEnabled()) {
+            incrementalRunningBalanceUpdateService.updateRunningBalance(null);
+            return;
+        }
+        // running balances written here are not tracked by the incremental engine checkpoints
+        incrementalRunningBalanceUpdateService.clearCheckpoints();
         String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
                 + "where je.is_running_balance_calculated=false ";
         try {
@@ -90,6 +98,11 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
             updateRunningBalance();
         } else {
             this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
+            if (incrementalRunningBalanceUpdateService.isEnabled()) {
+                incrementalRunningBalanceUpdateService.updateRunningBalance(officeId);
+                return commandProcessingResultBuilder.withOfficeId(officeId).build();
+            }
+            incrementalRunningBalanceUpdateService.clearCheckpoints();
             String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
                     + "where je.is_running_balance_calculated=false  and je.office_id=?";
             try {
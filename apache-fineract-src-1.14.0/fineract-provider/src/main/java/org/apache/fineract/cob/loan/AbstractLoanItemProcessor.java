@@ -29,6 +29,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchPoster;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -44,6 +45,7 @@ import org.springframework.lang.NonNull;
 public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, Loan> {
 
     private final COBBusinessStepService cobBusinessStepService;
+    private final JournalEntryBatchPoster journalEntryBatchPoster;
 
     @Setter(AccessLevel.PROTECTED)
     private ExecutionContext executionContext;
@@ -59,6 +61,8 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
         TreeMap<Long, String> businessStepMap = getBusinessStepMap(businessSteps);
 
         Loan alreadyProcessedLoan = cobBusinessStepService.run(businessStepMap, item);
+        // The loans of a chunk share the transaction, post the journal entries of this loan on its own
+        journalEntryBatchPoster.postPending();
         alreadyProcessedLoan.setLastClosedBusinessDate(businessDate);
         return alreadyProcessedLoan;
     }
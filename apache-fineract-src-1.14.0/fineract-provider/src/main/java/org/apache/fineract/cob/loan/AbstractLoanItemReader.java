@@ -18,7 +18,18 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -32,22 +43,49 @@ import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.AfterStep;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
+    private static final String METRIC_NAME_PREFIX = "fineract.cob.loan.reader";
+
     protected final LoanRepository loanRepository;
 
     @Setter(AccessLevel.PROTECTED)
     private LinkedBlockingQueue<Long> remainingData;
 
+    /**
+     * Number of loans loaded by one repository call. With a value greater than 1 the loans are loaded together with
+     * their collections by {@link LoanRepository#findAllWithCollectionsByIdIn}, and handed out one by one within the
+     * same transaction.
+     */
+    @Setter
+    private int prefetchSize = 1;
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private final ThreadLocal<PrefetchedLoans> prefetchedLoans = new ThreadLocal<>();
+
     @Override
     public Loan read() throws Exception {
-        final Long loanId = remainingData.poll();
+        PrefetchedLoans prefetched = prefetchedLoans.get();
+        if ((prefetched == null || prefetched.loanIds.isEmpty()) && prefetchSize > 1
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            prefetched = prefetch();
+        }
+        final Long loanId = prefetched != null ? prefetched.loanIds.poll() : remainingData.poll();
         if (loanId != null) {
+            Loan loan = prefetched != null ? prefetched.loans.remove(loanId) : null;
+            if (loan != null) {
+                return loan;
+            }
             try {
-                return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+                Loan result = measureFetch("single", 1, () -> loanRepository.findById(loanId));
+                return result.orElseThrow(() -> new LoanNotFoundException(loanId));
             } catch (Exception e) {
                 throw new LoanReadException(loanId, e);
             }
@@ -60,4 +98,45 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
         return ExitStatus.COMPLETED;
     }
 
+    /**
+     * Takes the next {@link #prefetchSize} loan ids and loads the loans in one go. The prefetched loans belong to the
+     * current chunk transaction, so the ids which were not read until the transaction completes are given back to the
+     * remaining ids and are loaded again by the next chunk.
+     */
+    private PrefetchedLoans prefetch() {
+        List<Long> loanIds = new ArrayList<>(prefetchSize);
+        remainingData.drainTo(loanIds, prefetchSize);
+        if (loanIds.isEmpty()) {
+            return null;
+        }
+        PrefetchedLoans prefetched = new PrefetchedLoans(new ArrayDeque<>(loanIds), new HashMap<>());
+        try {
+            List<Loan> loans = measureFetch("batch", loanIds.size(), () -> loanRepository.findAllWithCollectionsByIdIn(loanIds));
+            loans.forEach(loan -> prefetched.loans.put(loan.getId(), loan));
+        } catch (Exception e) {
+            log.warn("Failed to prefetch {} loans, falling back to loading them one by one", loanIds.size(), e);
+        }
+        prefetchedLoans.set(prefetched);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+                prefetchedLoans.remove();
+                if (!prefetched.loanIds.isEmpty()) {
+                    remainingData.addAll(prefetched.loanIds);
+                }
+            }
+        });
+        return prefetched;
+    }
+
+    private <T> T measureFetch(String mode, int loanCount, Supplier<T> fetch) {
+        Counter.builder(METRIC_NAME_PREFIX + ".loans").description("Number of loans requested by the Loan COB reader").tag("mode", mode)
+                .register(meterRegistry).increment(loanCount);
+        return Timer.builder(METRIC_NAME_PREFIX + ".fetch").description("Loan COB reader repository calls").tag("mode", mode)
+                .register(meterRegistry).record(fetch);
+    }
+
+    private record PrefetchedLoans(Deque<Long> loanIds, Map<Long, Loan> loans) {
+    }
 }
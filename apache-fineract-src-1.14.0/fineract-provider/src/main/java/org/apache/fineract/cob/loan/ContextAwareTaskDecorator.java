@@ -18,14 +18,17 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.slf4j.MDC;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.lang.NonNull;
 
 /**
- * Task decorator to ensure proper thread context propagation and cleanup
+ * Task decorator to ensure proper thread context propagation and cleanup. Besides the Fineract context the logging MDC
+ * (e.g. the correlation id) is carried over, as pooled and virtual threads do not inherit it.
  */
 @Slf4j
 public class ContextAwareTaskDecorator implements TaskDecorator {
@@ -34,12 +37,17 @@ public class ContextAwareTaskDecorator implements TaskDecorator {
     @Override
     public Runnable decorate(@NonNull final Runnable runnable) {
         final FineractContext context = ThreadLocalContextUtil.getContext();
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
         return () -> {
             try {
                 log.debug("Initializing thread context for decorated task");
                 ThreadLocalContextUtil.init(context);
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
                 runnable.run();
             } finally {
+                MDC.clear();
                 ThreadLocalContextUtil.reset();
             }
         };
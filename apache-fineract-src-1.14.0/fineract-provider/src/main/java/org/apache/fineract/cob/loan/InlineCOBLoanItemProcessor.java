@@ -18,14 +18,15 @@
  */
 package org.apache.fineract.cob.loan;
 
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchPoster;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.BeforeStep;
 
 public class InlineCOBLoanItemProcessor extends AbstractLoanItemProcessor {
 
-    public InlineCOBLoanItemProcessor(COBBusinessStepService cobBusinessStepService) {
-        super(cobBusinessStepService);
+    public InlineCOBLoanItemProcessor(COBBusinessStepService cobBusinessStepService, JournalEntryBatchPoster journalEntryBatchPoster) {
+        super(cobBusinessStepService, journalEntryBatchPoster);
     }
 
     @BeforeStep
@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+/**
+ * Estimated processing cost of a loan in Loan COB, used to balance the partitions.
+ *
+ * Every loan costs one unit, plus one unit per active transaction and half a unit per installment; progressive loans
+ * rebuild their interest model during processing, so their cost is doubled.
+ */
+public record LoanCOBCost(long loanId, long transactionCount, long installmentCount, boolean progressive) {
+
+    static final double BASE_COST = 1.0;
+    static final double TRANSACTION_COST = 1.0;
+    static final double INSTALLMENT_COST = 0.5;
+    static final double PROGRESSIVE_FACTOR = 2.0;
+
+    public double estimate() {
+        return estimate(1L, transactionCount, installmentCount, progressive);
+    }
+
+    /**
+     * Estimated cost of {@code loanCount} loans of the same kind having {@code transactionCount} transactions and
+     * {@code installmentCount} installments altogether.
+     */
+    static double estimate(long loanCount, long transactionCount, long installmentCount, boolean progressive) {
+        double cost = loanCount * BASE_COST + transactionCount * TRANSACTION_COST + installmentCount * INSTALLMENT_COST;
+        return progressive ? cost * PROGRESSIVE_FACTOR : cost;
+    }
+}
@@ -20,7 +20,10 @@ package org.apache.fineract.cob.loan;
 
 import static org.apache.fineract.cob.loan.LoanCOBConstant.JOB_NAME;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Optional;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.conditions.BatchManagerCondition;
@@ -79,12 +82,14 @@ public class LoanCOBManagerConfiguration {
     private BusinessEventNotifierService businessEventNotifierService;
     @Autowired
     private CustomJobParameterResolver customJobParameterResolver;
+    @Autowired
+    private Optional<MeterRegistry> meterRegistry;
 
     @Bean
     @StepScope
     public LoanCOBPartitioner partitioner() {
         return new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer,
-                LoanCOBConstant.NUMBER_OF_DAYS_BEHIND);
+                LoanCOBConstant.NUMBER_OF_DAYS_BEHIND, new LoanCOBPartitionMetrics(meterRegistry.orElseGet(SimpleMeterRegistry::new)));
     }
 
     @Bean
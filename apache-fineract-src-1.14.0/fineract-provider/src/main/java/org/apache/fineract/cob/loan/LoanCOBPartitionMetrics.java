@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import org.apache.fineract.cob.loan.LoanCOBPartitioner.WeightedPartition;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+
+/**
+ * Micrometer metrics of the Loan COB partitions: the partitions planned by the manager and the partitions executed by
+ * the workers. Comparing the executed partition duration maximum with its mean across the worker nodes shows the
+ * straggler skew.
+ */
+public class LoanCOBPartitionMetrics {
+
+    private static final String PARTITIONING_DURATION = "fineract.cob.loan.partitioning.duration";
+    private static final String PLANNED_LOANS = "fineract.cob.loan.partition.planned.loans";
+    private static final String PLANNED_COST = "fineract.cob.loan.partition.planned.cost";
+    private static final String PARTITION_DURATION = "fineract.cob.loan.partition.duration";
+    private static final String PARTITION_LOANS = "fineract.cob.loan.partition.loans";
+    private static final String PARTITION_SKIPPED = "fineract.cob.loan.partition.skipped";
+
+    private final MeterRegistry registry;
+
+    public LoanCOBPartitionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordPartitioning(List<WeightedPartition> partitions, boolean adaptive, long durationMillis) {
+        String tenant = tenantIdentifier();
+        String mode = adaptive ? "adaptive" : "fixed";
+        Timer.builder(PARTITIONING_DURATION).description("Time spent building the Loan COB partitions").tag("tenant", tenant)
+                .tag("mode", mode).register(registry).record(Duration.ofMillis(durationMillis));
+        DistributionSummary plannedLoans = DistributionSummary.builder(PLANNED_LOANS)
+                .description("Loans per planned Loan COB partition").tag("tenant", tenant).tag("mode", mode).register(registry);
+        DistributionSummary plannedCost = DistributionSummary.builder(PLANNED_COST)
+                .description("Estimated cost per planned Loan COB partition").tag("tenant", tenant).tag("mode", mode).register(registry);
+        for (WeightedPartition partition : partitions) {
+            plannedLoans.record(partition.partition().getCount());
+            plannedCost.record(partition.cost());
+        }
+    }
+
+    public void recordPartitionExecution(Duration duration, long loanCount, long skipCount) {
+        String tenant = tenantIdentifier();
+        Timer.builder(PARTITION_DURATION).description("Time spent processing a Loan COB partition on this node")
+                .tag("tenant", tenant).register(registry).record(duration);
+        DistributionSummary.builder(PARTITION_LOANS).description("Loans processed per Loan COB partition on this node")
+                .tag("tenant", tenant).register(registry).record(loanCount);
+        DistributionSummary.builder(PARTITION_SKIPPED).description("Loans skipped per Loan COB partition on this node")
+                .tag("tenant", tenant).register(registry).record(skipCount);
+    }
+
+    private static String tenantIdentifier() {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return tenant == null ? "unknown" : tenant.getTenantIdentifier();
+    }
+}
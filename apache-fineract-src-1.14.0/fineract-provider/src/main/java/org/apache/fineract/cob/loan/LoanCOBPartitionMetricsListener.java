@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Publishes the duration and the loan count of the Loan COB partition processed by this worker.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoanCOBPartitionMetricsListener implements StepExecutionListener {
+
+    private final LoanCOBPartitionMetrics metrics;
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        Object partitionCost = executionContext.containsKey(LoanCOBConstant.PARTITION_COST)
+                ? executionContext.getDouble(LoanCOBConstant.PARTITION_COST)
+                : "n/a";
+        LocalDateTime startTime = stepExecution.getStartTime();
+        Duration duration = startTime == null ? Duration.ZERO : Duration.between(startTime, DateUtils.getLocalDateTimeOfSystem());
+        long loanCount = stepExecution.getReadCount();
+        long skipCount = stepExecution.getSkipCount();
+        metrics.recordPartitionExecution(duration, loanCount, skipCount);
+        log.info("{} processed {} loans (estimated cost {}, {} skipped) in {} ms", stepExecution.getStepName(), loanCount, partitionCost,
+                skipCount, duration.toMillis());
+        return stepExecution.getExitStatus();
+    }
+}
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -49,6 +50,7 @@ import org.springframework.util.StopWatch;
 public class LoanCOBPartitioner implements Partitioner {
 
     public static final String PARTITION_PREFIX = "partition_";
+    private static final int MAX_PARTITION_SIZE_FACTOR = 4;
 
     private final PropertyService propertyService;
     private final COBBusinessStepService cobBusinessStepService;
@@ -57,6 +59,7 @@ public class LoanCOBPartitioner implements Partitioner {
     private final JobExplorer jobExplorer;
 
     private final Long numberOfDays;
+    private final LoanCOBPartitionMetrics metrics;
 
     @Value("#{stepExecutionContext['BusinessDate']}")
     @Setter
@@ -79,33 +82,109 @@ public class LoanCOBPartitioner implements Partitioner {
             stopJobExecution();
             return Map.of();
         }
+        boolean adaptive = propertyService.isAdaptivePartitioning(LoanCOBConstant.JOB_NAME);
+        boolean catchUp = isCatchUp != null && isCatchUp;
         StopWatch sw = new StopWatch();
         sw.start();
-        List<COBPartition> loanCOBPartitions = new ArrayList<>(
-                retrieveLoanIdService.retrieveLoanCOBPartitions(numberOfDays, businessDate, isCatchUp != null && isCatchUp, partitionSize));
+        List<WeightedPartition> loanCOBPartitions;
+        if (adaptive) {
+            CostBalancer balancer = new CostBalancer(
+                    retrieveLoanIdService.retrieveLoanCOBCostSummary(numberOfDays, businessDate, catchUp), partitionSize);
+            retrieveLoanIdService.retrieveLoanCOBCosts(numberOfDays, businessDate, catchUp, balancer);
+            loanCOBPartitions = balancer.finish();
+        } else {
+            loanCOBPartitions = retrieveLoanIdService.retrieveLoanCOBPartitions(numberOfDays, businessDate, catchUp, partitionSize)
+                    .stream().map(p -> new WeightedPartition(p, p.getCount())).collect(Collectors.toCollection(ArrayList::new));
+        }
         sw.stop();
         // if there is no loan to be closed, we still would like to create at least one partition
 
         if (loanCOBPartitions.size() == 0) {
-            loanCOBPartitions.add(new COBPartition(0L, 0L, 1L, 0L));
+            loanCOBPartitions.add(new WeightedPartition(new COBPartition(0L, 0L, 1L, 0L), 0.0));
         }
         log.info(
-                "LoanCOBPartitioner found {} loans to be processed as part of COB. {} partitions were created using partition size {}. RetrieveLoanCOBPartitions was executed in {} ms.",
-                getLoanCount(loanCOBPartitions), loanCOBPartitions.size(), partitionSize, sw.getTotalTimeMillis());
-        return loanCOBPartitions.stream()
-                .collect(Collectors.toMap(l -> PARTITION_PREFIX + l.getPageNo(), l -> createNewPartition(cobBusinessSteps, l)));
+                "LoanCOBPartitioner found {} loans to be processed as part of COB. {} {} partitions were created using partition size {}. Partitions were retrieved in {} ms.",
+                getLoanCount(loanCOBPartitions), loanCOBPartitions.size(), adaptive ? "cost balanced" : "fixed size", partitionSize,
+                sw.getTotalTimeMillis());
+        metrics.recordPartitioning(loanCOBPartitions, adaptive, sw.getTotalTimeMillis());
+        return loanCOBPartitions.stream().collect(Collectors.toMap(l -> PARTITION_PREFIX + l.partition().getPageNo(),
+                l -> createNewPartition(cobBusinessSteps, l)));
+    }
+
+    static List<WeightedPartition> balance(List<LoanCOBCost> costs, int partitionSize) {
+        LoanCOBCostSummary summary = new LoanCOBCostSummary(0L, 0.0);
+        for (LoanCOBCost cost : costs) {
+            summary = summary.add(1L, cost.transactionCount(), cost.installmentCount(), cost.progressive());
+        }
+        CostBalancer balancer = new CostBalancer(summary, partitionSize);
+        costs.forEach(balancer);
+        return balancer.finish();
+    }
+
+    /**
+     * Cuts the loans, streamed ordered by id, into contiguous id ranges of roughly equal estimated cost. The number of
+     * partitions is the one the fixed size partitioning would create, so the parallelism of the job does not change; only
+     * the heavy loans are spread more evenly. Only the current partition is kept while the loans are streamed, the
+     * target cost comes from the summary read upfront.
+     */
+    static final class CostBalancer implements Consumer<LoanCOBCost> {
+
+        private final double targetCost;
+        private final long maxLoansPerPartition;
+        private final List<WeightedPartition> partitions = new ArrayList<>();
+        private long minId;
+        private long maxId;
+        private long count;
+        private double cost;
+
+        CostBalancer(LoanCOBCostSummary summary, int partitionSize) {
+            long partitionCount = Math.max(1L, (summary.loanCount() + partitionSize - 1) / partitionSize);
+            this.targetCost = summary.totalCost() / partitionCount;
+            this.maxLoansPerPartition = (long) partitionSize * MAX_PARTITION_SIZE_FACTOR;
+        }
+
+        @Override
+        public void accept(LoanCOBCost loan) {
+            if (count == 0) {
+                minId = loan.loanId();
+            }
+            maxId = loan.loanId();
+            count++;
+            cost += loan.estimate();
+            if (cost >= targetCost || count >= maxLoansPerPartition) {
+                closePartition();
+            }
+        }
+
+        List<WeightedPartition> finish() {
+            if (count > 0) {
+                closePartition();
+            }
+            return partitions;
+        }
+
+        private void closePartition() {
+            partitions.add(new WeightedPartition(new COBPartition(minId, maxId, (long) partitions.size(), count), cost));
+            count = 0;
+            cost = 0.0;
+        }
+    }
+
+    record WeightedPartition(COBPartition partition, double cost) {
     }
 
-    private long getLoanCount(List<COBPartition> loanCOBPartitions) {
-        return loanCOBPartitions.stream().map(COBPartition::getCount).reduce(0L, Long::sum);
+    private long getLoanCount(List<WeightedPartition> loanCOBPartitions) {
+        return loanCOBPartitions.stream().map(p -> p.partition().getCount()).reduce(0L, Long::sum);
     }
 
-    private ExecutionContext createNewPartition(Set<BusinessStepNameAndOrder> cobBusinessSteps, COBPartition loanCOBPartition) {
+    private ExecutionContext createNewPartition(Set<BusinessStepNameAndOrder> cobBusinessSteps, WeightedPartition weightedPartition) {
+        COBPartition loanCOBPartition = weightedPartition.partition();
         ExecutionContext executionContext = new ExecutionContext();
         executionContext.put(LoanCOBConstant.BUSINESS_STEPS, cobBusinessSteps);
         executionContext.put(LoanCOBConstant.LOAN_COB_PARAMETER,
                 new COBParameter(loanCOBPartition.getMinId(), loanCOBPartition.getMaxId()));
         executionContext.put("partition", PARTITION_PREFIX + loanCOBPartition.getPageNo());
+        executionContext.putDouble(LoanCOBConstant.PARTITION_COST, weightedPartition.cost());
         return executionContext;
     }
 
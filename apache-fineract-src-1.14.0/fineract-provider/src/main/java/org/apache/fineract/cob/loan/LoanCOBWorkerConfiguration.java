@@ -18,6 +18,10 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchPoster;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.common.InitialisationTasklet;
@@ -70,6 +74,8 @@ public class LoanCOBWorkerConfiguration {
     @Autowired
     private COBBusinessStepService cobBusinessStepService;
     @Autowired
+    private JournalEntryBatchPoster journalEntryBatchPoster;
+    @Autowired
     private AppUserRepositoryWrapper userRepository;
     @Autowired
     private TransactionTemplate transactionTemplate;
@@ -83,6 +89,8 @@ public class LoanCOBWorkerConfiguration {
 
     @Autowired
     private CustomJobParameterResolver customJobParameterResolver;
+    @Autowired
+    private Optional<MeterRegistry> meterRegistry;
 
     @Bean(name = LoanCOBConstant.LOAN_COB_WORKER_STEP)
     public Step loanCOBWorkerStep() {
@@ -132,6 +140,7 @@ public class LoanCOBWorkerConfiguration {
                 .skip(Exception.class) //
                 .skipLimit(propertyService.getChunkSize(LoanCOBConstant.JOB_NAME) + 1) //
                 .listener(loanItemListener()) //
+                .listener(partitionMetricsListener()) //
                 .transactionManager(transactionManager);
 
         if (propertyService.getThreadPoolMaxPoolSize(LoanCOBConstant.JOB_NAME) > 1) {
@@ -163,6 +172,11 @@ public class LoanCOBWorkerConfiguration {
         return new ChunkProcessingLoanItemListener(loanLockingService, transactionTemplate);
     }
 
+    @Bean
+    public LoanCOBPartitionMetricsListener partitionMetricsListener() {
+        return new LoanCOBPartitionMetricsListener(new LoanCOBPartitionMetrics(meterRegistry.orElseGet(SimpleMeterRegistry::new)));
+    }
+
     @Bean
     public ApplyLoanLockTasklet applyLock() {
         return new ApplyLoanLockTasklet(fineractProperties, loanLockingService, retrieveLoanIdService, customJobParameterResolver,
@@ -177,13 +191,18 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService);
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        // prefetched loans must not outlive the chunk transaction they were loaded in
+        loanItemReader.setPrefetchSize(Math.min(propertyService.getReaderPrefetchSize(LoanCOBConstant.JOB_NAME),
+                propertyService.getChunkSize(LoanCOBConstant.JOB_NAME)));
+        return loanItemReader;
     }
 
     @Bean
     @StepScope
     public LoanItemProcessor cobWorkerItemProcessor() {
-        return new LoanItemProcessor(cobBusinessStepService);
+        return new LoanItemProcessor(cobBusinessStepService, journalEntryBatchPoster);
     }
 
     @Bean
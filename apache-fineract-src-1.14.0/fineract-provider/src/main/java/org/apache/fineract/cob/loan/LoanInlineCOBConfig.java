@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.cob.loan;
 
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchPoster;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.common.ResetContextTasklet;
@@ -60,6 +61,8 @@ public class LoanInlineCOBConfig {
     @Autowired
     private COBBusinessStepService cobBusinessStepService;
     @Autowired
+    private JournalEntryBatchPoster journalEntryBatchPoster;
+    @Autowired
     private TransactionTemplate transactionTemplate;
     @Autowired
     private CustomJobParameterRepository customJobParameterRepository;
@@ -106,7 +109,7 @@ public class LoanInlineCOBConfig {
     @JobScope
     @Bean
     public InlineCOBLoanItemProcessor inlineCobWorkerItemProcessor() {
-        return new InlineCOBLoanItemProcessor(cobBusinessStepService);
+        return new InlineCOBLoanItemProcessor(cobBusinessStepService, journalEntryBatchPoster);
     }
 
     @Bean
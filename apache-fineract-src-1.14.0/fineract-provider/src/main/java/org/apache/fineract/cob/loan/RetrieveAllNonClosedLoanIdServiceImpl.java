@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.cob.data.COBIdAndExternalIdAndAccountNo;
 import org.apache.fineract.cob.data.COBIdAndLastClosedBusinessDate;
@@ -34,6 +35,8 @@ import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleType;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
@@ -54,11 +57,7 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
         sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
         sql.append("  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from ");
         sql.append("      (select id from m_loan where loan_status_id in (:statusIds) and ");
-        if (isCatchUp) {
-            sql.append("last_closed_business_date = :businessDate ");
-        } else {
-            sql.append("(last_closed_business_date = :businessDate or last_closed_business_date is null) ");
-        }
+        appendLastClosedBusinessDateCondition(sql, "", isCatchUp);
         sql.append("order by id) t) t2 ");
         sql.append("group by page ");
         sql.append("order by page");
@@ -74,6 +73,72 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
         return new COBPartition(rs.getLong("min"), rs.getLong("max"), rs.getLong("page"), rs.getLong("count"));
     }
 
+    @Override
+    public LoanCOBCostSummary retrieveLoanCOBCostSummary(Long numberOfDays, LocalDate businessDate, boolean isCatchUp) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("select c.schedule_type as schedule_type, count(*) as loan_count, sum(c.transaction_count) as transaction_count, ");
+        sql.append("sum(c.installment_count) as installment_count from (");
+        appendLoanCOBCostQuery(sql, isCatchUp);
+        sql.append(") c group by c.schedule_type");
+
+        LoanCOBCostSummary[] summary = { new LoanCOBCostSummary(0L, 0.0) };
+        namedParameterJdbcTemplate.query(sql.toString(), loanCOBCostParameters(numberOfDays, businessDate),
+                (RowCallbackHandler) rs -> summary[0] = summary[0].add(rs.getLong("loan_count"), rs.getLong("transaction_count"),
+                        rs.getLong("installment_count"), isProgressive(rs)));
+        return summary[0];
+    }
+
+    @Override
+    public void retrieveLoanCOBCosts(Long numberOfDays, LocalDate businessDate, boolean isCatchUp, Consumer<LoanCOBCost> consumer) {
+        StringBuilder sql = new StringBuilder();
+        appendLoanCOBCostQuery(sql, isCatchUp);
+        sql.append("order by l.id");
+
+        namedParameterJdbcTemplate.query(sql.toString(), loanCOBCostParameters(numberOfDays, businessDate),
+                (RowCallbackHandler) rs -> consumer.accept(new LoanCOBCost(rs.getLong("id"), rs.getLong("transaction_count"),
+                        rs.getLong("installment_count"), isProgressive(rs))));
+    }
+
+    /**
+     * The transactions and installments are counted with one grouped join each, restricted to the loans to be
+     * processed, instead of running two correlated count subqueries per loan.
+     */
+    private static void appendLoanCOBCostQuery(StringBuilder sql, boolean isCatchUp) {
+        sql.append("select l.id as id, l.loan_schedule_type as schedule_type, ");
+        sql.append("coalesce(tc.transaction_count, 0) as transaction_count, coalesce(ic.installment_count, 0) as installment_count ");
+        sql.append("from m_loan l ");
+        sql.append("left join (select t.loan_id as loan_id, count(*) as transaction_count from m_loan_transaction t ");
+        sql.append("join m_loan tl on tl.id = t.loan_id where t.is_reversed = false and tl.loan_status_id in (:statusIds) and ");
+        appendLastClosedBusinessDateCondition(sql, "tl.", isCatchUp);
+        sql.append("group by t.loan_id) tc on tc.loan_id = l.id ");
+        sql.append("left join (select s.loan_id as loan_id, count(*) as installment_count from m_loan_repayment_schedule s ");
+        sql.append("join m_loan sl on sl.id = s.loan_id where sl.loan_status_id in (:statusIds) and ");
+        appendLastClosedBusinessDateCondition(sql, "sl.", isCatchUp);
+        sql.append("group by s.loan_id) ic on ic.loan_id = l.id ");
+        sql.append("where l.loan_status_id in (:statusIds) and ");
+        appendLastClosedBusinessDateCondition(sql, "l.", isCatchUp);
+    }
+
+    private static MapSqlParameterSource loanCOBCostParameters(Long numberOfDays, LocalDate businessDate) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("statusIds", List.of(100, 200, 300, 303, 304));
+        parameters.addValue("businessDate", businessDate.minusDays(numberOfDays));
+        return parameters;
+    }
+
+    private static boolean isProgressive(ResultSet rs) throws SQLException {
+        return LoanScheduleType.PROGRESSIVE.name().equals(rs.getString("schedule_type"));
+    }
+
+    private static void appendLastClosedBusinessDateCondition(StringBuilder sql, String alias, boolean isCatchUp) {
+        if (isCatchUp) {
+            sql.append(alias).append("last_closed_business_date = :businessDate ");
+        } else {
+            sql.append("(").append(alias).append("last_closed_business_date = :businessDate or ").append(alias)
+                    .append("last_closed_business_date is null) ");
+        }
+    }
+
     @Override
     public List<COBIdAndLastClosedBusinessDate> retrieveLoanIdsBehindDate(LocalDate businessDate, List<Long> loanIds) {
         return loanRepository.findAllLoansBehindByLoanIdsAndStatuses(businessDate, loanIds, NON_CLOSED_LOAN_STATUSES);
@@ -20,6 +20,7 @@ package org.apache.fineract.cob.loan;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.fineract.cob.data.COBIdAndExternalIdAndAccountNo;
 import org.apache.fineract.cob.data.COBIdAndLastClosedBusinessDate;
 import org.apache.fineract.cob.data.COBParameter;
@@ -30,6 +31,13 @@ public interface RetrieveLoanIdService {
 
     List<COBPartition> retrieveLoanCOBPartitions(Long numberOfDays, LocalDate businessDate, boolean isCatchUp, int partitionSize);
 
+    LoanCOBCostSummary retrieveLoanCOBCostSummary(Long numberOfDays, LocalDate businessDate, boolean isCatchUp);
+
+    /**
+     * Streams the estimated cost of every loan to be processed to the consumer, ordered by loan id.
+     */
+    void retrieveLoanCOBCosts(Long numberOfDays, LocalDate businessDate, boolean isCatchUp, Consumer<LoanCOBCost> consumer);
+
     List<COBIdAndLastClosedBusinessDate> retrieveLoanIdsBehindDate(LocalDate businessDate, List<Long> loanIds);
 
     List<COBIdAndLastClosedBusinessDate> retrieveLoanIdsBehindDateOrNull(LocalDate businessDate, List<Long> loanIds);
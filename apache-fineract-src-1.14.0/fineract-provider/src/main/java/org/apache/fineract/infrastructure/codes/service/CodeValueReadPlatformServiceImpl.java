@@ -66,7 +66,7 @@ public class CodeValueReadPlatformServiceImpl implements CodeValueReadPlatformSe
     }
 
     @Override
-    @Cacheable(value = "code_values", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#code+'cv')")
+    @Cacheable(value = "code_values", keyGenerator = "tenantMethodKeyGenerator")
     public List<CodeValueData> retrieveCodeValuesByCode(final String code) {
 
         this.context.authenticatedUser();
@@ -78,7 +78,7 @@ public class CodeValueReadPlatformServiceImpl implements CodeValueReadPlatformSe
     }
 
     @Override
-    @Cacheable(value = "code_values", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#codeId+'cv')")
+    @Cacheable(value = "code_values", keyGenerator = "tenantMethodKeyGenerator")
     public Collection<CodeValueData> retrieveAllCodeValues(final Long codeId) {
 
         this.context.authenticatedUser();
@@ -90,7 +90,7 @@ public class CodeValueReadPlatformServiceImpl implements CodeValueReadPlatformSe
     }
 
     @Override
-    @Cacheable(value = "code_values", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#codeValueId+'cv_by_id')")
+    @Cacheable(value = "code_values", keyGenerator = "tenantMethodKeyGenerator")
     public CodeValueData retrieveCodeValue(final Long codeValueId) {
 
         try {
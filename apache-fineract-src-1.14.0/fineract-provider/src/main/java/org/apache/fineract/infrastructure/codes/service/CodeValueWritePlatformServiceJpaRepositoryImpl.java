@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.orm.jpa.JpaSystemException;
@@ -66,7 +67,8 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
     @Transactional
     @Override
-    @CacheEvict(value = "code_values", allEntries = true)
+    @Caching(evict = { @CacheEvict(value = "code_values", allEntries = true),
+            @CacheEvict(value = "datatableColumnHeaders", allEntries = true) })
     public CommandProcessingResult createCodeValue(final JsonCommand command) {
 
         try {
@@ -111,7 +113,8 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
     @Transactional
     @Override
-    @CacheEvict(value = "code_values", allEntries = true)
+    @Caching(evict = { @CacheEvict(value = "code_values", allEntries = true),
+            @CacheEvict(value = "datatableColumnHeaders", allEntries = true) })
     public CommandProcessingResult updateCodeValue(final Long codeValueId, final JsonCommand command) {
 
         try {
@@ -143,7 +146,8 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
     @Transactional
     @Override
-    @CacheEvict(value = "code_values", allEntries = true)
+    @Caching(evict = { @CacheEvict(value = "code_values", allEntries = true),
+            @CacheEvict(value = "datatableColumnHeaders", allEntries = true) })
     public CommandProcessingResult deleteCodeValue(final Long codeId, final Long codeValueId) {
 
         try {
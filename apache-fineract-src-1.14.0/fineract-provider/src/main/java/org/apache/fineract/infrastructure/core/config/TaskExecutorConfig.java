@@ -20,9 +20,11 @@ package org.apache.fineract.infrastructure.core.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
@@ -31,11 +33,15 @@ public class TaskExecutorConfig {
     @Autowired
     private FineractProperties fineractProperties;
 
+    @Autowired
+    private Environment environment;
+
     @Bean(TaskExecutorConstant.DEFAULT_TASK_EXECUTOR_BEAN_NAME)
     public ThreadPoolTaskExecutor fineractDefaultThreadPoolTaskExecutor() {
         ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
         threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getTaskExecutor().getDefaultTaskExecutorCorePoolSize());
         threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getTaskExecutor().getDefaultTaskExecutorMaxPoolSize());
+        configureThreads(threadPoolTaskExecutor, TaskExecutorConstant.DEFAULT_TASK_EXECUTOR_BEAN_NAME);
         return threadPoolTaskExecutor;
     }
 
@@ -45,6 +51,17 @@ public class TaskExecutorConfig {
         ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
         threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getTaskExecutor().getDefaultTaskExecutorCorePoolSize());
         threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getTaskExecutor().getDefaultTaskExecutorMaxPoolSize());
+        configureThreads(threadPoolTaskExecutor, TaskExecutorConstant.CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME);
         return threadPoolTaskExecutor;
     }
+
+    /**
+     * With {@code spring.threads.virtual.enabled} the pool threads are virtual threads. The pool sizes still limit how
+     * many tasks run at the same time.
+     */
+    private void configureThreads(ThreadPoolTaskExecutor threadPoolTaskExecutor, String beanName) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadPoolTaskExecutor.setThreadFactory(Thread.ofVirtual().name(beanName + "-", 0).factory());
+        }
+    }
 }
@@ -30,8 +30,14 @@ import java.util.stream.Stream;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
 import javax.cache.spi.CachingProvider;
+import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationBus;
+import org.apache.fineract.infrastructure.cache.key.OfficeHierarchyCacheKeyGenerator;
+import org.apache.fineract.infrastructure.cache.key.TenantCacheKeyGenerator;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
@@ -40,12 +46,18 @@ import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @Configuration
 @Slf4j
@@ -56,21 +68,65 @@ public class CacheConfig {
     private FineractProperties fineractProperties;
 
     @Bean
-    public TransactionBoundCacheManager defaultCacheManager(JCacheCacheManager ehCacheManager) {
+    public TransactionBoundCacheManager defaultCacheManager(
+            @Qualifier("ehCacheManager") org.springframework.cache.CacheManager ehCacheManager) {
         SpecifiedCacheSupportingCacheManager cacheManager = new SpecifiedCacheSupportingCacheManager();
         cacheManager.setNoOpCacheManager(new NoOpCacheManager());
+        // evictions of the configuration cache have to reach the other nodes as well
         cacheManager.setDelegateCacheManager(ehCacheManager);
         cacheManager.setSupportedCaches(CONFIG_BY_NAME_CACHE_NAME);
         return new TransactionBoundCacheManager(cacheManager);
     }
 
+    /**
+     * Key of tenant scoped caches: tenant identifier and method parameters.
+     */
     @Bean
-    public JCacheCacheManager ehCacheManager() {
+    public KeyGenerator tenantKeyGenerator() {
+        return new TenantCacheKeyGenerator(false);
+    }
+
+    /**
+     * Key of tenant scoped caches shared by several methods: tenant identifier, method name and method parameters.
+     */
+    @Bean
+    public KeyGenerator tenantMethodKeyGenerator() {
+        return new TenantCacheKeyGenerator(true);
+    }
+
+    /**
+     * Key of tenant scoped caches depending on the office hierarchy of the authenticated user.
+     */
+    @Bean
+    public KeyGenerator tenantOfficeHierarchyKeyGenerator(PlatformSecurityContext context) {
+        return new OfficeHierarchyCacheKeyGenerator(context);
+    }
+
+    @Bean
+    public JCacheCacheManager localCacheManager() {
         JCacheCacheManager jCacheCacheManager = new JCacheCacheManager();
         jCacheCacheManager.setCacheManager(getInternalEhCacheManager());
         return jCacheCacheManager;
     }
 
+    @Bean
+    public org.springframework.cache.CacheManager ehCacheManager(@Qualifier("localCacheManager") JCacheCacheManager localCacheManager,
+            ObjectProvider<CacheInvalidationBus> cacheInvalidationBus) {
+        if (!fineractProperties.getCache().getInvalidation().isEnabled()) {
+            return localCacheManager;
+        }
+        return new ClusterInvalidatingCacheManager(localCacheManager, cacheInvalidationBus.getObject());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationBus.class)
+    @ConditionalOnProperty(value = "fineract.cache.invalidation.enabled", havingValue = "true")
+    public JdbcCacheInvalidationBus jdbcCacheInvalidationBus(@Qualifier("hikariTenantDataSource") DataSource tenantStoreDataSource,
+            DatabaseSpecificSQLGenerator sqlGenerator) {
+        return new JdbcCacheInvalidationBus(new JdbcTemplate(tenantStoreDataSource), sqlGenerator,
+                fineractProperties.getCache().getInvalidation());
+    }
+
     private CacheManager getInternalEhCacheManager() {
         CachingProvider provider = Caching.getCachingProvider();
         CacheManager cacheManager = provider.getCacheManager();
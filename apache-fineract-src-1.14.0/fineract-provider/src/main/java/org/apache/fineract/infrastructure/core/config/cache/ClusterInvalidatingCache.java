@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import java.util.concurrent.Callable;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationBus;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.cache.key.TenantCacheKey;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Local cache which announces its evictions to the other nodes through the {@link CacheInvalidationBus}.
+ *
+ * Evictions are applied locally right away and, when a transaction is running, applied again and published only after
+ * it commits, so neither this node nor a remote one can reload the old value before the change is visible.
+ * {@link String} keys are sent as they are and {@link TenantCacheKey}s in their string form, which the receiving node
+ * turns back into the key; any other key is published as a clear of the whole cache.
+ */
+@RequiredArgsConstructor
+public class ClusterInvalidatingCache implements Cache {
+
+    static final int MAX_KEY_LENGTH = 500;
+
+    private final Cache delegate;
+    private final CacheInvalidationBus invalidationBus;
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        afterCommit(() -> {
+            delegate.evict(key);
+            invalidationBus.publish(toMessage(key));
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        afterCommit(() -> {
+            delegate.evict(key);
+            invalidationBus.publish(toMessage(key));
+        });
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        afterCommit(() -> {
+            delegate.clear();
+            invalidationBus.publish(CacheInvalidationMessage.clear(getName()));
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = delegate.invalidate();
+        afterCommit(() -> {
+            delegate.invalidate();
+            invalidationBus.publish(CacheInvalidationMessage.clear(getName()));
+        });
+        return notEmpty;
+    }
+
+    /**
+     * Applies an invalidation received from another node without publishing it again.
+     */
+    void apply(CacheInvalidationMessage message) {
+        if (message.isClear()) {
+            delegate.clear();
+        } else if (TenantCacheKey.isExternalForm(message.key())) {
+            delegate.evict(TenantCacheKey.fromExternalForm(message.key()));
+        } else {
+            delegate.evict(message.key());
+        }
+    }
+
+    private CacheInvalidationMessage toMessage(Object key) {
+        String externalKey = null;
+        if (key instanceof TenantCacheKey tenantCacheKey) {
+            externalKey = tenantCacheKey.toExternalForm();
+        } else if (key instanceof String stringKey && !TenantCacheKey.isExternalForm(stringKey)) {
+            externalKey = stringKey;
+        }
+        if (externalKey != null && externalKey.length() <= MAX_KEY_LENGTH) {
+            return CacheInvalidationMessage.evict(getName(), externalKey);
+        }
+        return CacheInvalidationMessage.clear(getName());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
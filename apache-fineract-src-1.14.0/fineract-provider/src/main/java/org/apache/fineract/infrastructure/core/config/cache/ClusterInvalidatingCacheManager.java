@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationBus;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationMessage;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCacheManager;
+
+/**
+ * Near-cache tier on top of the local Ehcache caches: reads are served from the heap of this node, while evictions are
+ * exchanged with the other nodes through the {@link CacheInvalidationBus}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ClusterInvalidatingCacheManager implements org.springframework.cache.CacheManager, InitializingBean {
+
+    private final JCacheCacheManager delegate;
+    private final CacheInvalidationBus invalidationBus;
+    private final ConcurrentMap<String, ClusterInvalidatingCache> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        delegate.afterPropertiesSet();
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        ClusterInvalidatingCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache localCache = delegate.getCache(name);
+        if (localCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new ClusterInvalidatingCache(localCache, invalidationBus));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        ClusterInvalidatingCache cache = (ClusterInvalidatingCache) getCache(message.cacheName());
+        if (cache == null) {
+            log.debug("Ignoring invalidation for unknown cache {}", message.cacheName());
+            return;
+        }
+        cache.apply(message);
+    }
+}
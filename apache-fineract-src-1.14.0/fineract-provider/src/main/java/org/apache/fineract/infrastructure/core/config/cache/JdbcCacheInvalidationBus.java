@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationBus;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheInvalidation;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * {@link CacheInvalidationBus} backed by the {@code cache_invalidation} table of the tenant store database, so it works
+ * without any message broker.
+ *
+ * Every node appends its invalidations to the table and polls it for rows written by the other nodes after the last id
+ * it has seen. Rows older than the configured retention are purged by the pollers.
+ * <p>
+ * Ids are assigned when a row is inserted but become visible only when the inserting transaction commits, so a row
+ * with a lower id may show up after a higher one was already read. The ids skipped by a poll are kept as gaps and
+ * re-read by the following polls until they show up or the configured gap timeout passes (the id was rolled back or
+ * skipped by the sequence). Every row is delivered once.
+ * <p>
+ * Gaps are tracked only after a row has been seen, either at startup or by a poll, since the table may have been purged
+ * while the sequence kept counting. At most batch size ids below a row are tracked, so a large jump of the sequence
+ * does not fill the memory with gaps.
+ */
+@Slf4j
+public class JdbcCacheInvalidationBus implements CacheInvalidationBus, InitializingBean, DisposableBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final FineractCacheInvalidation properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService poller;
+    private ScheduledFuture<?> pollTask;
+    private final Map<Long, LocalDateTime> gaps = new TreeMap<>();
+    private long lastSeenId;
+    private boolean rowSeen;
+    private LocalDateTime lastPurge;
+
+    public JdbcCacheInvalidationBus(JdbcTemplate jdbcTemplate, DatabaseSpecificSQLGenerator sqlGenerator,
+            FineractCacheInvalidation properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlGenerator = sqlGenerator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        lastSeenId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidation", Long.class);
+        rowSeen = lastSeenId > 0;
+        lastPurge = DateUtils.getAuditLocalDateTime();
+        long pollIntervalMillis = properties.getPollInterval().toMillis();
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pollTask = poller.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Cache invalidation bus started for node {} from id {}", nodeId, lastSeenId);
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) {
+            pollTask.cancel(false);
+            poller.shutdownNow();
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        try {
+            jdbcTemplate.update("INSERT INTO cache_invalidation (node_id, cache_name, cache_key, created_date) VALUES (?, ?, ?, ?)", nodeId,
+                    message.cacheName(), message.key(), DateUtils.getAuditLocalDateTime());
+        } catch (DataAccessException e) {
+            // the local cache is already invalidated, other nodes fall back to the TTL
+            log.warn("Unable to publish invalidation of cache {}", message.cacheName(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+            purgeIfDue();
+        } catch (RuntimeException e) {
+            log.warn("Polling cache invalidations failed, retrying in {}", properties.getPollInterval(), e);
+        }
+    }
+
+    synchronized void poll() {
+        final LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        pollGaps(now);
+        final int batchSize = properties.getBatchSize();
+        // rows of this node are read as well, otherwise their ids would look like gaps
+        final String sql = "SELECT id, node_id, cache_name, cache_key FROM cache_invalidation WHERE id > ? ORDER BY id "
+                + sqlGenerator.limit(batchSize);
+        int fetched;
+        do {
+            List<Row> rows = jdbcTemplate.query(sql, ROW_MAPPER, lastSeenId);
+            for (Row row : rows) {
+                if (rowSeen) {
+                    for (long missingId = Math.max(lastSeenId + 1, row.id() - batchSize); missingId < row.id(); missingId++) {
+                        gaps.put(missingId, now);
+                    }
+                }
+                lastSeenId = row.id();
+                rowSeen = true;
+                deliver(row);
+            }
+            fetched = rows.size();
+        } while (fetched == batchSize);
+    }
+
+    private void pollGaps(LocalDateTime now) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        final List<Long> gapIds = new ArrayList<>(gaps.keySet());
+        for (int from = 0; from < gapIds.size(); from += properties.getBatchSize()) {
+            final List<Long> chunk = gapIds.subList(from, Math.min(from + properties.getBatchSize(), gapIds.size()));
+            final String sql = "SELECT id, node_id, cache_name, cache_key FROM cache_invalidation WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            for (Row row : jdbcTemplate.query(sql, ROW_MAPPER, chunk.toArray())) {
+                if (gaps.remove(row.id()) != null) {
+                    deliver(row);
+                }
+            }
+        }
+        gaps.values().removeIf(detected -> !detected.plus(properties.getGapTimeout()).isAfter(now));
+    }
+
+    synchronized int getGapCount() {
+        return gaps.size();
+    }
+
+    private void deliver(Row row) {
+        if (!nodeId.equals(row.nodeId())) {
+            listeners.forEach(listener -> listener.accept(row.message()));
+        }
+    }
+
+    private void purgeIfDue() {
+        LocalDateTime now = DateUtils.getAuditLocalDateTime();
+        if (lastPurge.plus(properties.getRetention()).isAfter(now)) {
+            return;
+        }
+        int purged = jdbcTemplate.update("DELETE FROM cache_invalidation WHERE created_date < ?", now.minus(properties.getRetention()));
+        lastPurge = now;
+        log.debug("Purged {} cache invalidations", purged);
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("node_id"),
+            new CacheInvalidationMessage(rs.getString("cache_name"), rs.getString("cache_key")));
+
+    private record Row(long id, String nodeId, CacheInvalidationMessage message) {
+    }
+}
@@ -27,14 +27,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.util.Assert;
 
 @RequiredArgsConstructor
 public class SpecifiedCacheSupportingCacheManager implements CacheManager, InitializingBean {
 
-    private JCacheCacheManager delegateCacheManager;
+    private CacheManager delegateCacheManager;
     private NoOpCacheManager noOpCacheManager;
 
     private final Set<String> supportedCacheNames = new LinkedHashSet<>(16);
@@ -44,7 +43,9 @@ public class SpecifiedCacheSupportingCacheManager implements CacheManager, Initi
         Assert.notNull(delegateCacheManager, "cacheManager cannot be null");
         Assert.notNull(noOpCacheManager, "delegate cannot be null");
         Assert.notEmpty(supportedCacheNames, "supportedCacheNames must not be empty");
-        delegateCacheManager.afterPropertiesSet();
+        if (delegateCacheManager instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
     }
 
     @Override
@@ -68,7 +69,7 @@ public class SpecifiedCacheSupportingCacheManager implements CacheManager, Initi
         }
     }
 
-    public void setDelegateCacheManager(JCacheCacheManager delegateCacheManager) {
+    public void setDelegateCacheManager(CacheManager delegateCacheManager) {
         this.delegateCacheManager = delegateCacheManager;
     }
 
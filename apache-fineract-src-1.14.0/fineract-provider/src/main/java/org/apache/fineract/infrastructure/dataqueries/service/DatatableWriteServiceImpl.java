@@ -105,6 +105,7 @@ import org.apache.fineract.infrastructure.event.business.domain.datatable.Datata
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.portfolio.search.service.SearchUtil;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -210,6 +211,7 @@ public class DatatableWriteServiceImpl implements DatatableWriteService {
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders", allEntries = true)
     public CommandProcessingResult createDatatable(final JsonCommand command) {
         String datatableName = null;
         try {
@@ -325,6 +327,8 @@ public class DatatableWriteServiceImpl implements DatatableWriteService {
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders",
+            key = "T(org.apache.fineract.infrastructure.cache.key.TenantCacheKey).of(#datatableName)")
     public void updateDatatable(final String datatableName, final JsonCommand command) {
         try {
             this.context.authenticatedUser();
@@ -531,6 +535,8 @@ public class DatatableWriteServiceImpl implements DatatableWriteService {
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders",
+            key = "T(org.apache.fineract.infrastructure.cache.key.TenantCacheKey).of(#datatableName)")
     public void deleteDatatable(final String datatableName) {
         try {
             this.context.authenticatedUser();
@@ -18,12 +18,13 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.ws.rs.core.StreamingOutput;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -32,17 +33,20 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.JdbcJavaType;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
@@ -51,10 +55,9 @@ import org.apache.fineract.infrastructure.dataqueries.data.ReportParameterData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportParameterJoinData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
-import org.apache.fineract.infrastructure.dataqueries.domain.ReportType;
 import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundException;
+import org.apache.fineract.infrastructure.dataqueries.service.ReportSqlTemplate.ReportSql;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
-import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
 import org.apache.fineract.infrastructure.security.utils.LogParameterEscapeUtil;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.openpdf.text.Document;
@@ -71,38 +74,46 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ReadReportingServiceImpl implements ReadReportingService {
 
+    private static final String REPORT_EXECUTION_METRIC_NAME = "fineract.reports.execution";
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final GenericDataService genericDataService;
-    private final SqlInjectionPreventerService sqlInjectionPreventerService;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final FineractProperties fineractProperties;
+    private final ReportSqlTemplateProvider reportSqlTemplateProvider;
+    private final Optional<MeterRegistry> meterRegistry;
 
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
         return out -> {
-            try {
-                final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
-                generateCsvFileBuffer(result, out);
+            try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
+                streamGenericResultset(name, type, queryParams, isSelfServiceUserReport, new CsvRowHandler(printer));
             } catch (final Exception e) {
                 throw ErrorHandler.getMappable(e);
             }
         };
     }
 
-    private void generateCsvFileBuffer(final GenericResultsetData result, OutputStream out) throws IOException {
-        try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
-            final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-            final List<ResultsetRowData> data = result.getData();
-            final List<String> header = new ArrayList<>();
-            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
-                header.add(columnHeader.getColumnName());
-            }
-            printer.printRecord(header);
-            for (final ResultsetRowData row : data) {
-                printer.printRecord(row.getRow());
-            }
+    @Override
+    public void streamGenericResultset(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final GenericResultsetRowHandler handler) throws IOException {
+        final long startTime = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("STARTING STREAMED REPORT: {}   Type: {}", LogParameterEscapeUtil.escapeLogParameter(name),
+                    LogParameterEscapeUtil.escapeLogParameter(type));
+        }
+
+        final ReportSql sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+
+        this.genericDataService.streamGenericResultSet(sql.sql(), sql.params(), handler);
+
+        final long elapsed = System.currentTimeMillis() - startTime;
+        recordExecution(name, type, elapsed);
+        if (log.isDebugEnabled()) {
+            log.debug("FINISHING Streamed Report/Request Name: {} - {}     Elapsed Time: {}",
+                    LogParameterEscapeUtil.escapeLogParameter(name), type.replaceAll("[\n\r\t]", "_"), elapsed);
         }
     }
 
@@ -116,11 +127,12 @@ public class ReadReportingServiceImpl implements ReadReportingService {
                     LogParameterEscapeUtil.escapeLogParameter(type));
         }
 
-        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+        final ReportSql sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
 
-        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql);
+        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql.sql(), sql.params());
 
         final long elapsed = System.currentTimeMillis() - startTime;
+        recordExecution(name, type, elapsed);
         if (log.isDebugEnabled()) {
             log.debug("FINISHING Report/Request Name: {} - {}     Elapsed Time: {}", LogParameterEscapeUtil.escapeLogParameter(name),
                     type.replaceAll("[\n\r\t]", "_"), elapsed);
@@ -128,85 +140,37 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         return result;
     }
 
-    private String getSQLtoRun(final String name, final String type, final Map<String, String> queryParams,
+    private ReportSql getSQLtoRun(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
 
-        String sql = getSql(name, type);
+        final ReportSqlTemplate template = this.reportSqlTemplateProvider.getTemplate(name, type);
 
+        final Map<String, String> values = new HashMap<>();
         for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-            sql = this.genericDataService.replace(sql, entry.getKey(), entry.getValue());
+            values.put(toPlaceholderName(entry.getKey()), entry.getValue());
         }
 
         final AppUser currentUser = this.context.authenticatedUser();
         // Allows sql query to restrict data by office hierarchy if required
-        sql = this.genericDataService.replace(sql, "${currentUserHierarchy}", currentUser.getOffice().getHierarchy());
+        values.put("currentUserHierarchy", currentUser.getOffice().getHierarchy());
         // Allows sql query to restrict data by current user Id if required
         // (typically used to return report lists containing only reports
         // permitted to be run by the user
-        sql = this.genericDataService.replace(sql, "${currentUserId}", currentUser.getId().toString());
-        sql = this.genericDataService.replace(sql, "${isSelfServiceUser}", Boolean.toString(isSelfServiceUserReport));
-        sql = this.genericDataService.replace(sql, "${currentDate}", sqlGenerator.currentBusinessDate());
-        sql = StringUtils.replaceIgnoreCase(sql, "NOW()", sqlGenerator.currentTenantDateTime());
-        sql = StringUtils.replaceIgnoreCase(sql, "curdate()", sqlGenerator.currentBusinessDate());
-        sql = StringUtils.replaceIgnoreCase(sql, "CURRENT_DATE", sqlGenerator.currentBusinessDate());
-        sql = this.genericDataService.wrapSQL(sql);
-
-        return sql;
-    }
-
-    private String getSql(final String name, final String type) {
-        if (name == null || type == null) {
-            throw new IllegalArgumentException("Report name and type cannot be null");
-        }
-
-        // Validate report type against whitelist - this prevents SQL injection in table names
-        if (!ReportType.isValidType(type)) {
-            throw new IllegalArgumentException("Invalid report type provided");
-        }
+        values.put("currentUserId", currentUser.getId().toString());
+        values.put("isSelfServiceUser", Boolean.toString(isSelfServiceUserReport));
+        values.put("currentDate", sqlGenerator.currentBusinessDate());
 
-        final ReportType reportType = ReportType.fromValue(type);
-        final String quotedTableName = getQuotedTableName(reportType);
-        final String quotedColumnSqlName = getQuotedColumnName(reportType, "_sql");
-        final String quotedColumnNameName = getQuotedColumnName(reportType, "_name");
-
-        // Use parameterized query with validated and quoted identifiers to prevent SQL injection
-        final String inputSql = "SELECT " + quotedColumnSqlName + " AS the_sql FROM " + quotedTableName + " WHERE " + quotedColumnNameName
-                + " = ?";
-
-        final String inputSqlWrapped = this.genericDataService.wrapSQL(inputSql);
-
-        // Use parameterized query - name parameter is safely handled by JDBC
-        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(inputSqlWrapped, name);
-
-        if (rs.next() && rs.getString("the_sql") != null) {
-            return rs.getString("the_sql");
-        }
-        throw new ReportNotFoundException(name);
+        return template.bind(values, DateUtils.getBusinessLocalDate(), DateUtils.getLocalDateTimeOfSystem());
     }
 
-    /**
-     * Gets the properly quoted table name for the given report type. This method ensures SQL injection prevention by
-     * using only validated enum values.
-     */
-    private String getQuotedTableName(ReportType reportType) {
-        String tableName = "stretchy_" + reportType.getValue();
-        return sqlInjectionPreventerService.quoteIdentifier(tableName);
+    // report parameters arrive as ${name}
+    private static String toPlaceholderName(final String key) {
+        return key.startsWith("${") && key.endsWith("}") ? key.substring(2, key.length() - 1) : key;
     }
 
-    /**
-     * Gets the properly quoted column name by combining the report type prefix with a suffix. This method ensures SQL
-     * injection prevention by using only validated enum values and safely constructing the full column name before
-     * quoting.
-     *
-     * @param reportType
-     *            the validated report type
-     * @param suffix
-     *            the column name suffix (e.g., "_sql", "_name")
-     * @return the properly quoted full column name
-     */
-    private String getQuotedColumnName(ReportType reportType, String suffix) {
-        String fullColumnName = reportType.getValue() + suffix;
-        return sqlInjectionPreventerService.quoteIdentifier(fullColumnName);
+    private void recordExecution(final String name, final String type, final long elapsedInMillis) {
+        meterRegistry.ifPresent(registry -> Timer.builder(REPORT_EXECUTION_METRIC_NAME).description("Execution time of stretchy reports")
+                .tags("report", name, "type", type).register(registry).record(elapsedInMillis, TimeUnit.MILLISECONDS));
     }
 
     @Override
@@ -477,25 +441,18 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         final long startTime = System.currentTimeMillis();
         log.debug("STARTING REPORT: {}   Type: {}", name, type);
 
-        final String sql = sqlToRunForSmsEmailCampaign(name, type, queryParams);
+        final ReportSql sql = sqlToRunForSmsEmailCampaign(name, type, queryParams);
 
-        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql);
+        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql.sql(), sql.params());
 
         final long elapsed = System.currentTimeMillis() - startTime;
         log.debug("FINISHING Report/Request Name: {} - {}     Elapsed Time: {}", name, type, elapsed);
         return result;
     }
 
-    private String sqlToRunForSmsEmailCampaign(final String name, final String type, final Map<String, String> queryParams) {
-        String sql = getSql(name, type);
-
-        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-            sql = this.genericDataService.replace(sql, "${" + entry.getKey() + "}", entry.getValue());
-        }
-
-        sql = this.genericDataService.wrapSQL(sql);
-
-        return sql;
+    private ReportSql sqlToRunForSmsEmailCampaign(final String name, final String type, final Map<String, String> queryParams) {
+        // the current date functions are left to the database here
+        return this.reportSqlTemplateProvider.getTemplate(name, type).bind(queryParams, null, null);
     }
 
     @Override
@@ -558,4 +515,24 @@ public class ReadReportingServiceImpl implements ReadReportingService {
          */
         return null;
     }
+
+    @RequiredArgsConstructor
+    private static final class CsvRowHandler implements GenericResultsetRowHandler {
+
+        private final CSVPrinter printer;
+
+        @Override
+        public void processColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            final List<String> header = new ArrayList<>(columnHeaders.size());
+            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                header.add(columnHeader.getColumnName());
+            }
+            printer.printRecord(header);
+        }
+
+        @Override
+        public void processRow(final List<Object> row) throws IOException {
+            printer.printRecord(row);
+        }
+    }
 }
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The SQL of a stretchy report parsed once into literal text, {@code ${name}} placeholders and current date functions,
+ * so running a report does not have to scan and rewrite the whole SQL for every parameter.
+ * <p>
+ * A placeholder enclosed in single quotes ({@code '${name}'}) is a value and is bound as a JDBC parameter, as are the
+ * {@code NOW()}, {@code curdate()} and {@code CURRENT_DATE} functions. Everything else is substituted as text, as it
+ * may be a number, a column or a fragment of SQL. This keeps the SQL text of a report stable between runs, so the
+ * database can reuse the prepared statement.
+ * <p>
+ * Values are only bound where the database converts a string parameter like it converts a string literal (MySQL). On
+ * PostgreSQL a quoted literal is untyped and takes the type of the column it is compared with, while a parameter is
+ * either typed ({@code date = varchar} fails) or left for the server to infer, which fails wherever there is no
+ * context ({@code concat(?, '%')}, {@code SELECT ? AS transaction_date}). Reports rely on both, so there the values are
+ * substituted as quoted literals.
+ */
+public final class ReportSqlTemplate {
+
+    private static final String[] DATE_TIME_FUNCTIONS = { "NOW()" };
+    private static final String[] DATE_FUNCTIONS = { "curdate()", "CURRENT_DATE" };
+
+    private final List<Segment> segments;
+    private final boolean bindValues;
+
+    private ReportSqlTemplate(List<Segment> segments, boolean bindValues) {
+        this.segments = segments;
+        this.bindValues = bindValues;
+    }
+
+    /**
+     * @param bindValues
+     *            whether quoted placeholders are bound as parameters or substituted as quoted literals
+     */
+    public static ReportSqlTemplate parse(final String sql, final boolean bindValues) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+        int i = 0;
+        while (i < sql.length()) {
+            final int placeholderEnd = sql.startsWith("${", i) ? sql.indexOf('}', i + 2) : -1;
+            if (placeholderEnd > 0) {
+                final String name = sql.substring(i + 2, placeholderEnd);
+                final boolean quoted = !text.isEmpty() && text.charAt(text.length() - 1) == '\'' && placeholderEnd + 1 < sql.length()
+                        && sql.charAt(placeholderEnd + 1) == '\'';
+                if (quoted) {
+                    text.setLength(text.length() - 1);
+                    addText(segments, text);
+                    segments.add(new Segment(SegmentType.VALUE, name));
+                    i = placeholderEnd + 2;
+                } else {
+                    addText(segments, text);
+                    segments.add(new Segment(SegmentType.PLACEHOLDER, name));
+                    i = placeholderEnd + 1;
+                }
+                continue;
+            }
+            final String dateTimeFunction = matchFunction(sql, i, DATE_TIME_FUNCTIONS);
+            final String dateFunction = dateTimeFunction == null ? matchFunction(sql, i, DATE_FUNCTIONS) : null;
+            if (dateTimeFunction != null || dateFunction != null) {
+                final String function = dateTimeFunction != null ? dateTimeFunction : dateFunction;
+                addText(segments, text);
+                segments.add(new Segment(dateTimeFunction != null ? SegmentType.CURRENT_DATE_TIME : SegmentType.CURRENT_DATE,
+                        sql.substring(i, i + function.length())));
+                i += function.length();
+                continue;
+            }
+            text.append(sql.charAt(i));
+            i++;
+        }
+        addText(segments, text);
+        return new ReportSqlTemplate(Collections.unmodifiableList(segments), bindValues);
+    }
+
+    /**
+     * Builds the SQL to run and the values of its parameters.
+     *
+     * @param values
+     *            values of the placeholders by name; placeholders without value are left in the SQL as they are
+     * @param currentDate
+     *            value of the current date functions; if null the functions are left in the SQL
+     * @param currentDateTime
+     *            value of the current date time functions; if null the functions are left in the SQL
+     */
+    public ReportSql bind(final Map<String, String> values, final LocalDate currentDate, final LocalDateTime currentDateTime) {
+        final StringBuilder sql = new StringBuilder();
+        final List<Object> params = new ArrayList<>();
+        for (Segment segment : segments) {
+            switch (segment.type()) {
+                case TEXT -> sql.append(segment.value());
+                case PLACEHOLDER -> {
+                    final String value = values.get(segment.value());
+                    sql.append(value != null ? value : "${" + segment.value() + "}");
+                }
+                case VALUE -> {
+                    final String value = Objects.requireNonNullElse(values.get(segment.value()), "${" + segment.value() + "}");
+                    if (bindValues) {
+                        sql.append('?');
+                        params.add(value);
+                    } else {
+                        sql.append('\'').append(value.replace("'", "''")).append('\'');
+                    }
+                }
+                case CURRENT_DATE -> bindOrAppend(sql, params, segment.value(), currentDate);
+                case CURRENT_DATE_TIME -> bindOrAppend(sql, params, segment.value(), currentDateTime);
+            }
+        }
+        return new ReportSql(sql.toString(), params.toArray());
+    }
+
+    private static void bindOrAppend(final StringBuilder sql, final List<Object> params, final String function, final Object value) {
+        if (value == null) {
+            sql.append(function);
+        } else {
+            sql.append('?');
+            params.add(value);
+        }
+    }
+
+    private static String matchFunction(final String sql, final int offset, final String[] functions) {
+        for (String function : functions) {
+            if (sql.regionMatches(true, offset, function, 0, function.length())) {
+                return function;
+            }
+        }
+        return null;
+    }
+
+    private static void addText(final List<Segment> segments, final StringBuilder text) {
+        if (!text.isEmpty()) {
+            segments.add(new Segment(SegmentType.TEXT, text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    private enum SegmentType {
+        TEXT, PLACEHOLDER, VALUE, CURRENT_DATE, CURRENT_DATE_TIME
+    }
+
+    private record Segment(SegmentType type, String value) {
+    }
+
+    /**
+     * SQL of a report run with the values of its {@code ?} parameters.
+     */
+    public record ReportSql(String sql, Object[] params) {
+    }
+}
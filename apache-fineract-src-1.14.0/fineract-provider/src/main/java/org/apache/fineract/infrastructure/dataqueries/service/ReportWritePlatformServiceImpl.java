@@ -48,6 +48,7 @@ import org.apache.fineract.useradministration.exception.PermissionNotFoundExcept
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
@@ -114,6 +115,7 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
 
     @Transactional
     @Override
+    @CacheEvict(value = "reportSqlTemplates", allEntries = true)
     public CommandProcessingResult updateReport(final Long reportId, final JsonCommand command) {
 
         try {
@@ -154,6 +156,7 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
 
     @Transactional
     @Override
+    @CacheEvict(value = "reportSqlTemplates", allEntries = true)
     public CommandProcessingResult deleteReport(final Long reportId) {
 
         final Report report = this.reportRepository.findById(reportId).orElseThrow(() -> new ReportNotFoundException(reportId));
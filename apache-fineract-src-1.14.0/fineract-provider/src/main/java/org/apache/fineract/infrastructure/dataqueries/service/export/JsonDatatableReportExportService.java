@@ -18,17 +18,27 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service.export;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
-import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
-import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
-import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableExportTargetParameter;
 import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
+import org.apache.fineract.infrastructure.dataqueries.service.GenericResultsetRowHandler;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
 import org.springframework.stereotype.Service;
 
@@ -36,34 +46,113 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class JsonDatatableReportExportService implements DatatableReportExportService {
 
+    private static final Gson GSON = GoogleGsonSerializerHelper.createSimpleGson();
+
     private final ReadReportingService readExtraDataAndReportingService;
-    private final ToApiJsonSerializer<ReportData> toApiJsonSerializer;
     private final GenericDataService genericDataService;
 
     @Override
     public ResponseHolder export(String reportName, MultivaluedMap<String, String> queryParams, Map<String, String> reportParams,
             boolean isSelfServiceUserReport, String parameterTypeValue) {
-
-        final GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(reportName, parameterTypeValue,
-                reportParams, isSelfServiceUserReport);
-        String json;
         final boolean genericResultSetIsPassed = ApiParameterHelper.genericResultSetPassed(queryParams);
-        final boolean genericResultSet = ApiParameterHelper.genericResultSet(queryParams);
-        if (genericResultSetIsPassed) {
-            if (genericResultSet) {
-                json = this.toApiJsonSerializer.serialize(result);
-            } else {
-                json = this.genericDataService.generateJsonFromGenericResultsetData(result);
-            }
-        } else {
-            json = this.toApiJsonSerializer.serialize(result);
-        }
-        return new ResponseHolder(Response.Status.OK).entity(json).contentType(MediaType.APPLICATION_JSON);
+        final boolean genericResultSet = !genericResultSetIsPassed || ApiParameterHelper.genericResultSet(queryParams);
 
+        final StreamingOutput result = out -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                final JsonRowHandler handler = genericResultSet ? new GenericResultsetJsonRowHandler(writer)
+                        : new PlainJsonRowHandler(writer, genericDataService);
+                this.readExtraDataAndReportingService.streamGenericResultset(reportName, parameterTypeValue, reportParams,
+                        isSelfServiceUserReport, handler);
+                handler.finish();
+            } catch (final Exception e) {
+                throw ErrorHandler.getMappable(e);
+            }
+        };
+        return new ResponseHolder(Response.Status.OK).entity(result).contentType(MediaType.APPLICATION_JSON);
     }
 
     @Override
     public boolean supports(DatatableExportTargetParameter exportType) {
         return exportType == DatatableExportTargetParameter.JSON || exportType == DatatableExportTargetParameter.PRETTY_JSON;
     }
+
+    private interface JsonRowHandler extends GenericResultsetRowHandler {
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Writes the same document as serializing a {@code GenericResultsetData}: the column headers followed by a
+     * {@code data} array of {@code {"row": [...]}} objects.
+     */
+    private static final class GenericResultsetJsonRowHandler implements JsonRowHandler {
+
+        private final JsonWriter jsonWriter;
+
+        GenericResultsetJsonRowHandler(Writer writer) {
+            this.jsonWriter = new JsonWriter(writer);
+        }
+
+        @Override
+        public void processColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            jsonWriter.beginObject();
+            jsonWriter.name("columnHeaders");
+            jsonWriter.beginArray();
+            for (ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                GSON.toJson(columnHeader, ResultsetColumnHeaderData.class, jsonWriter);
+            }
+            jsonWriter.endArray();
+            jsonWriter.name("data");
+            jsonWriter.beginArray();
+        }
+
+        @Override
+        public void processRow(List<Object> row) throws IOException {
+            jsonWriter.beginObject();
+            jsonWriter.name("row");
+            GSON.toJson(row, List.class, jsonWriter);
+            jsonWriter.endObject();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+            jsonWriter.flush();
+        }
+    }
+
+    /**
+     * Writes the flat array of column name to value objects produced by
+     * {@link GenericDataService#generateJsonFromGenericResultsetData}.
+     */
+    @RequiredArgsConstructor
+    private static final class PlainJsonRowHandler implements JsonRowHandler {
+
+        private final Writer writer;
+        private final GenericDataService genericDataService;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private boolean firstRow = true;
+
+        @Override
+        public void processColumnHeaders(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.columnHeaders = columnHeaders;
+            writer.write("[");
+        }
+
+        @Override
+        public void processRow(List<Object> row) throws IOException {
+            if (!firstRow) {
+                writer.write(",");
+            }
+            firstRow = false;
+            writer.write("\n");
+            writer.write(genericDataService.generateJsonFromResultsetRow(columnHeaders, row));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.write("\n]");
+        }
+    }
 }
@@ -21,8 +21,10 @@ package org.apache.fineract.infrastructure.dataqueries.service.export;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -49,15 +51,21 @@ public class S3DatatableReportExportServiceImpl implements DatatableReportExport
         try {
             StreamingOutput output = this.readExtraDataAndReportingService.retrieveReportCSV(reportName, parameterTypeValue, reportParams,
                     isSelfServiceUserReport);
-            try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-                output.write(byteArrayOutputStream);
+            // Spool to a temporary file so the upload knows its length without holding the whole report in memory
+            final Path exportFile = Files.createTempFile("fineract-report-export", ".csv");
+            try {
+                try (OutputStream out = Files.newOutputStream(exportFile)) {
+                    output.write(out);
+                }
                 String folder = configurationDomainService.retrieveReportExportS3FolderName();
                 String filePath = DatatableExportUtil.generateS3DatatableExportFileName(AWS_S3_MAXIMUM_KEY_LENGTH, folder, "csv",
                         reportName, reportParams);
                 s3Client.putObject(
                         builder -> builder.bucket(properties.getReport().getExport().getS3().getBucketName()).key(filePath).build(),
-                        RequestBody.fromBytes(byteArrayOutputStream.toByteArray()));
+                        RequestBody.fromFile(exportFile));
                 return new ResponseHolder(Response.Status.NO_CONTENT);
+            } finally {
+                Files.deleteIfExists(exportFile);
             }
         } catch (IOException e) {
             throw new IllegalStateException("Error while exporting to S3", e);
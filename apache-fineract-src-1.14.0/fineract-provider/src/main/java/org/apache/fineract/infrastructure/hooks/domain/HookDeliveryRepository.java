@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface HookDeliveryRepository extends JpaRepository<HookDelivery, Long> {
+
+    List<HookDelivery> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(HookDeliveryStatus status, OffsetDateTime nextAttemptAt,
+            Pageable pageable);
+
+    /**
+     * Leases the delivery to the caller until {@code leaseUntil}, unless somebody else leased or updated it since it
+     * was read.
+     *
+     * @return 1 if the lease was taken, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update HookDelivery d set d.nextAttemptAt = :leaseUntil, d.version = d.version + 1 where d.id = :id and d.version = :version")
+    int lease(@Param("id") Long id, @Param("version") Long version, @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update HookDelivery d set d.status = :status, d.attempts = :attempts, d.lastError = :lastError, "
+            + "d.nextAttemptAt = :nextAttemptAt, d.version = d.version + 1 where d.id = :id")
+    void markAttemptFailed(@Param("id") Long id, @Param("status") HookDeliveryStatus status, @Param("attempts") int attempts,
+            @Param("lastError") String lastError, @Param("nextAttemptAt") OffsetDateTime nextAttemptAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from HookDelivery d where d.id = :id")
+    void deleteDelivered(@Param("id") Long id);
+
+    /**
+     * Deletes the deliveries of the given status whose last attempt was before {@code before}; the next attempt of a
+     * delivery which is not retried any more is set by its last attempt.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from HookDelivery d where d.status = :status and d.nextAttemptAt < :before")
+    int purge(@Param("status") HookDeliveryStatus status, @Param("before") OffsetDateTime before);
+}
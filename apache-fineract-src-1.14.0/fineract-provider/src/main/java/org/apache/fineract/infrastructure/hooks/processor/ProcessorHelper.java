@@ -66,6 +66,8 @@ public final class ProcessorHelper {
      */
     private final boolean insecureHttpClient = Boolean.getBoolean("fineract.insecureHttpClient");
     private final SSLContext insecureSSLContext;
+    // Shared by every hook, so that calls to the same endpoint reuse the pooled connections
+    private final OkHttpClient client;
 
     public ProcessorHelper() throws KeyManagementException, NoSuchAlgorithmException {
         if (insecureHttpClient) {
@@ -73,6 +75,7 @@ public final class ProcessorHelper {
         } else {
             insecureSSLContext = null;
         }
+        client = createClient();
     }
 
     private OkHttpClient createClient() {
@@ -113,7 +116,6 @@ public final class ProcessorHelper {
     }
 
     public WebHookService createWebHookService(final String url) {
-        final OkHttpClient client = createClient();
         final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
         retrofitBuilder.baseUrl(url);
         retrofitBuilder.client(client);
@@ -0,0 +1,310 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.processor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import retrofit2.Response;
+
+/**
+ * Durable delivery of web hook payloads.
+ *
+ * Every payload is stored in {@code m_hook_delivery} before it is sent, then it is sent right away on a virtual thread.
+ * A delivery is leased by the instance sending it until the lease expires, the poller picks up deliveries which are due
+ * for a retry and the ones whose lease expired because the sending instance went away. Failed attempts are retried with
+ * exponential backoff until {@code maxAttempts} is reached, then the delivery is kept as
+ * {@link HookDeliveryStatus#FAILED}.
+ *
+ * The number of concurrent calls to the same endpoint is limited by {@code maxConcurrencyPerEndpoint}, so a slow
+ * endpoint cannot take every connection. A delivery which had to wait for its endpoint renews its lease before it is
+ * sent and is dropped by this instance if another one leased it in the meantime. Deliveries are at least once,
+ * endpoints have to tolerate duplicates.
+ *
+ * {@link HookDeliveryStatus#FAILED} deliveries are kept for {@code failedRetentionInMillis} after their last attempt,
+ * then they are purged by the poller like delivered ones are deleted right away.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "fineract.events.hook-delivery.enabled", havingValue = "true")
+public class WebHookDeliveryService implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final String METRIC_NAME_PREFIX = "fineract.hooks.delivery";
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final FineractProperties fineractProperties;
+    private final TenantDetailsService tenantDetailsService;
+    private final HookDeliveryRepository repository;
+    private final ProcessorHelper processorHelper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService pollExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hook-delivery-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Semaphore> endpointPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlightDeliveries = new AtomicInteger();
+    private final Map<String, OffsetDateTime> nextPurgeByTenant = new ConcurrentHashMap<>();
+
+    public WebHookDeliveryService(FineractProperties fineractProperties, TenantDetailsService tenantDetailsService,
+            HookDeliveryRepository repository, ProcessorHelper processorHelper, TransactionTemplate transactionTemplate,
+            Optional<MeterRegistry> meterRegistry) {
+        this.fineractProperties = fineractProperties;
+        this.tenantDetailsService = tenantDetailsService;
+        this.repository = repository;
+        this.processorHelper = processorHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        long pollIntervalInMillis = getDeliveryProperties().getPollIntervalInMillis();
+        pollExecutor.scheduleWithFixedDelay(this::pollAllTenants, pollIntervalInMillis, pollIntervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        pollExecutor.shutdownNow();
+        deliveryExecutor.shutdown();
+        // Deliveries which do not finish in time are sent again by any instance once their lease expired
+        deliveryExecutor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stores the payload for the tenant of the current thread and starts sending it.
+     */
+    public void enqueue(final Hook hook, final String url, final String contentType, final String payload, final String entityName,
+            final String actionName) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+        final HookDelivery delivery = transactionTemplate.execute(status -> repository.saveAndFlush(
+                new HookDelivery(hook.getId(), url, contentType, entityName, actionName, payload, now, leaseUntil(now))));
+        dispatch(tenant, delivery, delivery.getVersion());
+    }
+
+    void pollAllTenants() {
+        try {
+            for (FineractPlatformTenant tenant : tenantDetailsService.findAllTenants()) {
+                ThreadLocalContextUtil.setTenant(tenant);
+                try {
+                    pollTenant(tenant);
+                } catch (Exception e) {
+                    log.error("Error occurred while polling web hook deliveries of tenant {}", tenant.getTenantIdentifier(), e);
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }
+        } catch (Exception e) {
+            // An exception would cancel the scheduled polling
+            log.error("Error occurred while polling web hook deliveries", e);
+        }
+    }
+
+    private void pollTenant(final FineractPlatformTenant tenant) {
+        purgeFailedDeliveries(tenant);
+        // Deliveries waiting for an endpoint permit are not leased again while their lease is still running
+        final int capacity = getDeliveryProperties().getBatchSize() - inFlightDeliveries.get();
+        if (capacity <= 0) {
+            return;
+        }
+        final OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+        final List<HookDelivery> deliveries = transactionTemplate.execute(status -> repository
+                .findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(HookDeliveryStatus.PENDING, now, PageRequest.ofSize(capacity)));
+        for (HookDelivery delivery : deliveries) {
+            final Integer leased = transactionTemplate
+                    .execute(status -> repository.lease(delivery.getId(), delivery.getVersion(), leaseUntil(now)));
+            if (leased != null && leased == 1) {
+                dispatch(tenant, delivery, delivery.getVersion() + 1);
+            }
+        }
+    }
+
+    private void purgeFailedDeliveries(final FineractPlatformTenant tenant) {
+        final long retentionInMillis = getDeliveryProperties().getFailedRetentionInMillis();
+        final OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+        final OffsetDateTime nextPurge = nextPurgeByTenant.get(tenant.getTenantIdentifier());
+        if (retentionInMillis <= 0 || (nextPurge != null && now.isBefore(nextPurge))) {
+            return;
+        }
+        nextPurgeByTenant.put(tenant.getTenantIdentifier(), now.plus(PURGE_INTERVAL));
+        final Integer purged = transactionTemplate.execute(
+                status -> repository.purge(HookDeliveryStatus.FAILED, now.minus(Duration.ofMillis(retentionInMillis))));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} failed web hook deliveries of tenant {}", purged, tenant.getTenantIdentifier());
+        }
+    }
+
+    /**
+     * @param leaseVersion
+     *            the version of the delivery row written by the lease of this instance
+     */
+    private void dispatch(final FineractPlatformTenant tenant, final HookDelivery delivery, final Long leaseVersion) {
+        inFlightDeliveries.incrementAndGet();
+        try {
+            deliveryExecutor.execute(() -> {
+                try {
+                    deliver(tenant, delivery, leaseVersion);
+                } finally {
+                    inFlightDeliveries.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightDeliveries.decrementAndGet();
+            log.warn("Web hook delivery {} could not be started, it is retried once its lease expired", delivery.getId(), e);
+        }
+    }
+
+    private void deliver(final FineractPlatformTenant tenant, final HookDelivery delivery, final Long leaseVersion) {
+        final Semaphore permits = endpointPermits.computeIfAbsent(delivery.getUrl(),
+                url -> new Semaphore(Math.max(1, getDeliveryProperties().getMaxConcurrencyPerEndpoint())));
+        ThreadLocalContextUtil.setTenant(tenant);
+        try {
+            final String error;
+            final boolean waited = !permits.tryAcquire();
+            if (waited) {
+                permits.acquire();
+            }
+            try {
+                // the lease may have expired while waiting for the endpoint and the delivery picked up by another instance
+                if (waited && !renewLease(delivery, leaseVersion)) {
+                    log.debug("Web hook delivery {} of tenant {} was leased by another instance while waiting for its endpoint",
+                            delivery.getId(), tenant.getTenantIdentifier());
+                    return;
+                }
+                error = send(tenant, delivery);
+            } finally {
+                permits.release();
+            }
+            if (error == null) {
+                transactionTemplate.executeWithoutResult(status -> repository.deleteDelivered(delivery.getId()));
+                getLatencyTimer(tenant).record(Duration.between(delivery.getCreatedAt(), DateUtils.getAuditOffsetDateTime()));
+            } else {
+                markAttemptFailed(tenant, delivery, error);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error occurred while delivering web hook {} of tenant {}, it is retried once its lease expired", delivery.getId(),
+                    tenant.getTenantIdentifier(), e);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private boolean renewLease(final HookDelivery delivery, final Long leaseVersion) {
+        final Integer renewed = transactionTemplate
+                .execute(status -> repository.lease(delivery.getId(), leaseVersion, leaseUntil(DateUtils.getAuditOffsetDateTime())));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * @return null if the endpoint accepted the payload, the reason of the failure otherwise
+     */
+    private String send(final FineractPlatformTenant tenant, final HookDelivery delivery) {
+        try {
+            final WebHookService service = processorHelper.createWebHookService(delivery.getUrl());
+            final Response<Void> response = WebHookProcessor.createRequest(service, Objects.toString(delivery.getContentType(), ""),
+                    delivery.getPayload(), delivery.getEntityName(), delivery.getActionName(), tenant.getTenantIdentifier()).execute();
+            return response.isSuccessful() ? null : "HTTP " + response.code();
+        } catch (IOException | RuntimeException e) {
+            return e.toString();
+        }
+    }
+
+    private void markAttemptFailed(final FineractPlatformTenant tenant, final HookDelivery delivery, final String error) {
+        final int attempts = delivery.getAttempts() + 1;
+        final boolean exhausted = attempts >= getDeliveryProperties().getMaxAttempts();
+        final HookDeliveryStatus status = exhausted ? HookDeliveryStatus.FAILED : HookDeliveryStatus.PENDING;
+        final OffsetDateTime nextAttemptAt = DateUtils.getAuditOffsetDateTime().plus(Duration.ofMillis(getBackoffInMillis(attempts)));
+        transactionTemplate.executeWithoutResult(tx -> repository.markAttemptFailed(delivery.getId(), status, attempts,
+                StringUtils.abbreviate(error, MAX_ERROR_LENGTH), nextAttemptAt));
+        getFailureCounter(tenant).increment();
+        if (exhausted) {
+            log.warn("Giving up web hook delivery {} of tenant {} to {} after {} attempts, last error: {}", delivery.getId(),
+                    tenant.getTenantIdentifier(), delivery.getUrl(), attempts, error);
+        } else {
+            log.debug("Web hook delivery {} of tenant {} to {} failed, attempt {} is at {}: {}", delivery.getId(),
+                    tenant.getTenantIdentifier(), delivery.getUrl(), attempts + 1, nextAttemptAt, error);
+        }
+    }
+
+    long getBackoffInMillis(final int attempts) {
+        final FineractProperties.FineractHookDeliveryProperties properties = getDeliveryProperties();
+        final long backoff = properties.getInitialBackoffInMillis() << Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(backoff, properties.getMaxBackoffInMillis());
+    }
+
+    private OffsetDateTime leaseUntil(final OffsetDateTime now) {
+        return now.plus(Duration.ofMillis(getDeliveryProperties().getLeaseInMillis()));
+    }
+
+    private Timer getLatencyTimer(final FineractPlatformTenant tenant) {
+        return Timer.builder(METRIC_NAME_PREFIX + ".latency").description("Time from storing a web hook payload to its successful delivery")
+                .tags("tenant", tenant.getTenantIdentifier()).register(meterRegistry);
+    }
+
+    private Counter getFailureCounter(final FineractPlatformTenant tenant) {
+        return Counter.builder(METRIC_NAME_PREFIX + ".failures").description("Number of failed web hook delivery attempts")
+                .tags("tenant", tenant.getTenantIdentifier()).register(meterRegistry);
+    }
+
+    private FineractProperties.FineractHookDeliveryProperties getDeliveryProperties() {
+        return fineractProperties.getEvents().getHookDelivery();
+    }
+}
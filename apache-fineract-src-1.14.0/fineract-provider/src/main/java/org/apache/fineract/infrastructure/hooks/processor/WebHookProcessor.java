@@ -26,12 +26,14 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.domain.HookConfiguration;
 import org.springframework.stereotype.Service;
+import retrofit2.Call;
 import retrofit2.Callback;
 
 @Service
@@ -39,6 +41,7 @@ import retrofit2.Callback;
 public class WebHookProcessor implements HookProcessor {
 
     private final ProcessorHelper processorHelper;
+    private final Optional<WebHookDeliveryService> webHookDeliveryService;
 
     @Override
     public void process(final Hook hook, final String payload, final String entityName, final String actionName,
@@ -59,28 +62,39 @@ public class WebHookProcessor implements HookProcessor {
             }
         }
 
-        sendRequest(url, contentType, payload, entityName, actionName, context);
+        if (webHookDeliveryService.isPresent()) {
+            webHookDeliveryService.get().enqueue(hook, url, contentType, payload, entityName, actionName);
+        } else {
+            sendRequest(url, contentType, payload, entityName, actionName, context);
+        }
     }
 
     @SuppressWarnings("unchecked")
     private void sendRequest(final String url, final String contentType, final String payload, final String entityName,
             final String actionName, final FineractContext context) {
 
-        final String fineractEndpointUrl = System.getProperty("baseUrl");
         final WebHookService service = processorHelper.createWebHookService(url);
 
         @SuppressWarnings("rawtypes")
         final Callback callback = processorHelper.createCallback(url);
 
+        createRequest(service, contentType, payload, entityName, actionName, context.getTenantContext().getTenantIdentifier())
+                .enqueue(callback);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Call<Void> createRequest(final WebHookService service, final String contentType, final String payload, final String entityName,
+            final String actionName, final String tenantIdentifier) {
+
+        final String fineractEndpointUrl = System.getProperty("baseUrl");
+
         if (contentType.equalsIgnoreCase("json") || contentType.contains("json")) {
             final JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
-            service.sendJsonRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, json)
-                    .enqueue(callback);
+            return service.sendJsonRequest(entityName, actionName, tenantIdentifier, fineractEndpointUrl, json);
         } else {
             Map<String, String> map = new HashMap<>();
             map = new Gson().fromJson(payload, map.getClass());
-            service.sendFormRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, map)
-                    .enqueue(callback);
+            return service.sendFormRequest(entityName, actionName, tenantIdentifier, fineractEndpointUrl, map);
         }
     }
 }
@@ -30,8 +30,10 @@ import org.apache.fineract.infrastructure.core.filters.CallerIpTrackingFilter;
 import org.apache.fineract.infrastructure.core.filters.CorrelationHeaderFilter;
 import org.apache.fineract.infrastructure.core.filters.IdempotencyStoreFilter;
 import org.apache.fineract.infrastructure.core.filters.IdempotencyStoreHelper;
+import org.apache.fineract.infrastructure.core.filters.ReadReplicaRoutingFilter;
 import org.apache.fineract.infrastructure.core.filters.RequestResponseFilter;
 import org.apache.fineract.infrastructure.core.service.MDCWrapper;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaStalenessGuard;
 import org.apache.fineract.infrastructure.instancemode.filter.FineractInstanceModeApiFilter;
 import org.apache.fineract.infrastructure.jobs.filter.LoanCOBApiFilter;
 import org.apache.fineract.infrastructure.jobs.filter.LoanCOBFilterHelper;
@@ -105,6 +107,8 @@ public class AuthorizationServerConfig {
 
     @Autowired
     private IdempotencyStoreHelper idempotencyStoreHelper;
+    @Autowired
+    private ReadReplicaStalenessGuard readReplicaStalenessGuard;
 
     @Autowired
     private FineractRequestContextHolder fineractRequestContextHolder;
@@ -179,6 +183,9 @@ public class AuthorizationServerConfig {
         if (fineractProperties.getIpTracking().isEnabled()) {
             http.addFilterAfter(callerIpTrackingFilter(), RequestResponseFilter.class);
         }
+        if (fineractProperties.getMode().getReadReplica().isEnabled()) {
+            http.addFilterAfter(readReplicaRoutingFilter(), RequestResponseFilter.class);
+        }
         if (fineractProperties.getSecurity().getTwoFactor().isEnabled()) {
             http.addFilterAfter(twoFactorAuthenticationFilter(), CorrelationHeaderFilter.class);
         }
@@ -298,4 +305,8 @@ public class AuthorizationServerConfig {
     public CallerIpTrackingFilter callerIpTrackingFilter() {
         return new CallerIpTrackingFilter(fineractProperties);
     }
+
+    public ReadReplicaRoutingFilter readReplicaRoutingFilter() {
+        return new ReadReplicaRoutingFilter(readReplicaStalenessGuard);
+    }
 }
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * A {@link DaoAuthenticationProvider} that remembers successfully verified credentials for a short time, so repeated
+ * HTTP Basic requests of the same user do not pay for a full password hash verification on every call.
+ * <p>
+ * Entries are keyed by an HMAC (with a random key generated at startup) of the tenant, the presented username and
+ * password and the stored password hash; no plaintext credential is kept. As the stored hash is part of the key, a
+ * password change invalidates the entry immediately. The user is still loaded and checked (enabled, locked, expired)
+ * on every request and its authorities are read fresh, so disabling a user or changing its permissions takes effect
+ * without waiting for the entry to expire.
+ * <p>
+ * The CPU time spent on the password check is published as {@code fineract.security.authentication.cpu}, tagged with
+ * the outcome, to help sizing nodes. Checks on virtual threads are not recorded, as the JVM does not measure their CPU
+ * time.
+ */
+@Slf4j
+public class CredentialCachingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '\0';
+
+    private final FineractProperties fineractProperties;
+    private final Optional<MeterRegistry> meterRegistry;
+    private final ConcurrentHashMap<String, Long> verifiedCredentials = new ConcurrentHashMap<>();
+    private final SecretKeySpec hmacKey;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    public CredentialCachingAuthenticationProvider(FineractProperties fineractProperties, Optional<MeterRegistry> meterRegistry) {
+        this.fineractProperties = fineractProperties;
+        this.meterRegistry = meterRegistry;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        long cpuTimeStart = currentThreadCpuTime();
+        String outcome = "verified";
+        try {
+            FineractProperties.FineractSecurityCredentialCache credentialCache = getCredentialCacheProperties();
+            if (credentialCache == null || !credentialCache.isEnabled() || authentication.getCredentials() == null) {
+                super.additionalAuthenticationChecks(userDetails, authentication);
+                return;
+            }
+            String key = credentialKey(userDetails, authentication);
+            if (isVerified(key)) {
+                outcome = "cached";
+                return;
+            }
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            remember(key, credentialCache);
+        } catch (AuthenticationException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            recordCpuTime(outcome, cpuTimeStart);
+        }
+    }
+
+    private boolean isVerified(String key) {
+        Long expiresAt = verifiedCredentials.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() > 0) {
+            return true;
+        }
+        verifiedCredentials.remove(key, expiresAt);
+        return false;
+    }
+
+    private void remember(String key, FineractProperties.FineractSecurityCredentialCache credentialCache) {
+        long now = System.nanoTime();
+        if (verifiedCredentials.size() >= credentialCache.getMaxSize()) {
+            verifiedCredentials.values().removeIf(expiresAt -> expiresAt - now <= 0);
+            if (verifiedCredentials.size() >= credentialCache.getMaxSize()) {
+                log.debug("Verified credential cache is full, clearing {} entries", verifiedCredentials.size());
+                verifiedCredentials.clear();
+            }
+        }
+        verifiedCredentials.put(key, now + TimeUnit.SECONDS.toNanos(credentialCache.getTtlInSeconds()));
+    }
+
+    private String credentialKey(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        String value = (tenant == null ? "" : tenant.getTenantIdentifier()) + SEPARATOR + authentication.getName() + SEPARATOR
+                + authentication.getCredentials() + SEPARATOR + userDetails.getPassword();
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return HexFormat.of().formatHex(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute credential cache key", e);
+        }
+    }
+
+    private FineractProperties.FineractSecurityCredentialCache getCredentialCacheProperties() {
+        FineractProperties.FineractSecurityProperties security = fineractProperties.getSecurity();
+        if (security == null || security.getBasicauth() == null) {
+            return null;
+        }
+        return security.getBasicauth().getCredentialCache();
+    }
+
+    /**
+     * Returns -1 when the CPU time of the current thread is not available, which is always the case on virtual threads.
+     */
+    private long currentThreadCpuTime() {
+        if (Thread.currentThread().isVirtual() || !threadMXBean.isCurrentThreadCpuTimeSupported()) {
+            return -1;
+        }
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+
+    private void recordCpuTime(String outcome, long cpuTimeStart) {
+        if (cpuTimeStart < 0) {
+            return;
+        }
+        meterRegistry.ifPresent(registry -> Timer.builder("fineract.security.authentication.cpu")
+                .description("CPU time spent verifying credentials").tag("outcome", outcome).register(registry)
+                .record(currentThreadCpuTime() - cpuTimeStart, TimeUnit.NANOSECONDS));
+    }
+}
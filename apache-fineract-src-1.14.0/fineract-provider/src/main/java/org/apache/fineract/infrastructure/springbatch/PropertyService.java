@@ -33,4 +33,8 @@ public interface PropertyService {
     Integer getThreadPoolQueueCapacity(String jobName);
 
     Integer getPollInterval(String jobName);
+
+    Integer getReaderPrefetchSize(String jobName);
+
+    boolean isAdaptivePartitioning(String jobName);
 }
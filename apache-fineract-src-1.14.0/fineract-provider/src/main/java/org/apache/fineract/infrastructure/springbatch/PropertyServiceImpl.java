@@ -65,13 +65,27 @@ public class PropertyServiceImpl implements PropertyService {
         return getProperty(jobName, FineractProperties.PartitionedJobProperty::getPollInterval);
     }
 
+    @Override
+    public Integer getReaderPrefetchSize(String jobName) {
+        return getProperty(jobName, FineractProperties.PartitionedJobProperty::getReaderPrefetchSize);
+    }
+
+    @Override
+    public boolean isAdaptivePartitioning(String jobName) {
+        return getProperty(jobName, FineractProperties.PartitionedJobProperty::getAdaptivePartitioning, Boolean.FALSE);
+    }
+
     private Integer getProperty(String jobName, Function<? super FineractProperties.PartitionedJobProperty, Integer> function) {
+        return getProperty(jobName, function, 1);
+    }
+
+    private <T> T getProperty(String jobName, Function<? super FineractProperties.PartitionedJobProperty, T> function, T defaultValue) {
         List<FineractProperties.PartitionedJobProperty> jobProperties = fineractProperties.getPartitionedJob()
                 .getPartitionedJobProperties();
         return jobProperties.stream() //
                 .filter(jobProperty -> jobName.equals(jobProperty.getJobName())) //
                 .findFirst() //
                 .map(function) //
-                .orElse(1);
+                .orElse(defaultValue);
     }
 }
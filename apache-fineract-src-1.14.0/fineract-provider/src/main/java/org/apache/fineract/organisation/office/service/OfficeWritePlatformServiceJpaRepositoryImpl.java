@@ -61,8 +61,8 @@ public class OfficeWritePlatformServiceJpaRepositoryImpl implements OfficeWriteP
     @Transactional
     @Override
     @Caching(evict = {
-            @CacheEvict(value = "offices", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#root.target.context.authenticatedUser().getOffice().getHierarchy()+'of')"),
-            @CacheEvict(value = "officesForDropdown", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#root.target.context.authenticatedUser().getOffice().getHierarchy()+'ofd')") })
+            @CacheEvict(value = "offices", keyGenerator = "tenantOfficeHierarchyKeyGenerator"),
+            @CacheEvict(value = "officesForDropdown", keyGenerator = "tenantOfficeHierarchyKeyGenerator") })
     public CommandProcessingResult createOffice(final JsonCommand command) {
 
         try {
@@ -103,9 +103,9 @@ public class OfficeWritePlatformServiceJpaRepositoryImpl implements OfficeWriteP
     @Transactional
     @Override
     @Caching(evict = {
-            @CacheEvict(value = "offices", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#root.target.context.authenticatedUser().getOffice().getHierarchy()+'of')"),
-            @CacheEvict(value = "officesForDropdown", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#root.target.context.authenticatedUser().getOffice().getHierarchy()+'ofd')"),
-            @CacheEvict(value = "officesById", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#officeId)") })
+            @CacheEvict(value = "offices", keyGenerator = "tenantOfficeHierarchyKeyGenerator"),
+            @CacheEvict(value = "officesForDropdown", keyGenerator = "tenantOfficeHierarchyKeyGenerator"),
+            @CacheEvict(value = "officesById", key = "T(org.apache.fineract.infrastructure.cache.key.TenantCacheKey).of(#officeId)") })
     public CommandProcessingResult updateOffice(final Long officeId, final JsonCommand command) {
 
         try {
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -38,6 +39,7 @@ import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
+import org.apache.fineract.infrastructure.core.service.KeysetSort;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -67,6 +69,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ClientReadPlatformServiceImpl implements ClientReadPlatformService {
 
+    private static final KeysetSort CLIENT_KEYSET_SORT = KeysetSort.byId("c.id", "id");
+    private static final Map<String, KeysetSort> CLIENT_KEYSET_SORTS = Map.of("id", CLIENT_KEYSET_SORT, "accountNo",
+            KeysetSort.by("c.account_no", "accountNo", "c.id", "id"), "displayName",
+            KeysetSort.by("c.display_name", "displayName", "c.id", "id"));
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final CodeValueReadPlatformService codeValueReadPlatformService;
@@ -105,8 +112,9 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         // underHierarchySearchString = searchParameters.getHierarchy() + "%";
         // }
         List<Object> paramList = new ArrayList<>(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
+        final boolean keysetPagination = searchParameters != null && searchParameters.isKeysetPagination();
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select " + (keysetPagination ? "" : sqlGenerator.calcFoundRows()) + " ");
         sqlBuilder.append(this.clientToDataMapper.schema());
         sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
 
@@ -123,6 +131,12 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
                 sqlBuilder.append(" and (").append(extraCriteria).append(")");
             }
 
+            if (keysetPagination) {
+                return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(),
+                        this.clientToDataMapper, KeysetSort.resolve(searchParameters, CLIENT_KEYSET_SORT, CLIENT_KEYSET_SORTS),
+                        searchParameters);
+            }
+
             if (searchParameters.hasOrderBy()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
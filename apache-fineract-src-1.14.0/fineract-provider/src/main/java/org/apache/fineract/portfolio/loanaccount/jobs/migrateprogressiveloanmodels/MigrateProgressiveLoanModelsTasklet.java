@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.migrateprogressiveloanmodels;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.service.ProgressiveLoanInterestScheduleModelParserService;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Adds the binary format to progressive loan interest schedule models only stored as JSON. The JSON model is left in
+ * place, so it can still be read if the binary one turns out to be wrong. Every page is committed separately and rows
+ * changed concurrently are skipped through the version check, so the job can be stopped and rerun at any time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class MigrateProgressiveLoanModelsTasklet implements Tasklet {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final ProgressiveLoanInterestScheduleModelParserService progressiveLoanInterestScheduleModelParserService;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        final String selectSql = "select id, version, json_model from m_loan_progressive_model where binary_model is null "
+                + "and json_model is not null and id > ? order by id " + sqlGenerator.limit(PAGE_SIZE);
+        final String updateSql = "update m_loan_progressive_model set binary_model=?, version=version+1 where id=? and version=?";
+        long lastId = 0L;
+        int migrated = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(selectSql, lastId); // NOSONAR
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> params = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                params.add(new Object[] { progressiveLoanInterestScheduleModelParserService.jsonToBinary((String) row.get("json_model")),
+                        row.get("id"), row.get("version") });
+            }
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(updateSql, params));
+            for (int count : counts) {
+                migrated += Math.max(count, 0);
+            }
+        }
+        log.info("Migrated {} progressive loan models to the binary format", migrated);
+        return RepeatStatus.FINISHED;
+    }
+}
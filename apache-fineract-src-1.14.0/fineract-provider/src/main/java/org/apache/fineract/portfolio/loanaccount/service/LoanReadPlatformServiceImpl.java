@@ -52,9 +52,11 @@ import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
+import org.apache.fineract.infrastructure.core.service.KeysetSort;
 import org.apache.fineract.infrastructure.core.service.MathUtil;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
+import org.apache.fineract.infrastructure.core.service.RowEnricher;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -163,6 +165,10 @@ import org.springframework.util.CollectionUtils;
 @Transactional(readOnly = true)
 public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, LoanReadPlatformServiceCommon {
 
+    private static final KeysetSort LOAN_KEYSET_SORT = KeysetSort.byId("l.id", "id");
+    private static final Map<String, KeysetSort> LOAN_KEYSET_SORTS = Map.of("id", LOAN_KEYSET_SORT, "accountNo",
+            KeysetSort.by("l.account_no", "accountNo", "l.id", "id"));
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final LoanRepositoryWrapper loanRepositoryWrapper;
@@ -205,7 +211,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             final String hierarchy = getHierarchyString();
             final String hierarchySearchString = hierarchy + "%";
 
-            final LoanMapper rm = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+            final LoanMapper rm = new LoanMapper(sqlGenerator);
 
             final StringBuilder sqlBuilder = new StringBuilder();
             sqlBuilder.append("select ");
@@ -214,12 +220,22 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             sqlBuilder.append(" left join m_office transferToOffice on transferToOffice.id = c.transfer_to_office_id ");
             sqlBuilder.append(" where l.id=? and ( o.hierarchy like ? or transferToOffice.hierarchy like ?)");
 
-            return this.jdbcTemplate.queryForObject(sqlBuilder.toString(), rm, loanId, hierarchySearchString, hierarchySearchString);
+            final LoanAccountData loanAccountData = this.jdbcTemplate.queryForObject(sqlBuilder.toString(), rm, loanId,
+                    hierarchySearchString, hierarchySearchString);
+            return delinquencyRangeEnricher().enrich(loanAccountData);
         } catch (final EmptyResultDataAccessException e) {
             throw new LoanNotFoundException(loanId, e);
         }
     }
 
+    /**
+     * Resolves the current delinquency range of all loans of a read with one query, instead of one query per row.
+     */
+    private RowEnricher<LoanAccountData, Long, DelinquencyRangeData> delinquencyRangeEnricher() {
+        return RowEnricher.of(LoanAccountData::getId, this.delinquencyReadPlatformService::retrieveCurrentDelinquencyTags,
+                LoanAccountData::setDelinquencyRange);
+    }
+
     private String getHierarchyString() {
         AppUser currentUser = null;
         if (this.context != null) {
@@ -233,24 +249,24 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
 
         // final AppUser currentUser = this.context.authenticatedUser();
         this.context.authenticatedUser();
-        final LoanMapper rm = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+        final LoanMapper rm = new LoanMapper(sqlGenerator);
 
         final String sql = "select " + rm.loanSchema() + " where l.account_no=?";
 
-        return this.jdbcTemplate.queryForObject(sql, rm, loanAccountNumber); // NOSONAR
+        return delinquencyRangeEnricher().enrich(this.jdbcTemplate.queryForObject(sql, rm, loanAccountNumber)); // NOSONAR
 
     }
 
     @Override
     public List<LoanAccountData> retrieveGLIMChildLoansByGLIMParentAccount(String parentloanAccountNumber) {
         this.context.authenticatedUser();
-        final LoanMapper rm = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+        final LoanMapper rm = new LoanMapper(sqlGenerator);
 
         final String sql = "select " + rm.loanSchema()
                 + " left join glim_parent_child_mapping as glim on glim.glim_child_account_id=l.account_no "
                 + "where glim.glim_parent_account_id=?";
 
-        return this.jdbcTemplate.query(sql, rm, parentloanAccountNumber); // NOSONAR
+        return delinquencyRangeEnricher().enrich(this.jdbcTemplate.query(sql, rm, parentloanAccountNumber)); // NOSONAR
 
     }
 
@@ -328,10 +344,11 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         final AppUser currentUser = this.context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String hierarchySearchString = hierarchy + "%";
-        final LoanMapper loanMapper = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+        final LoanMapper loanMapper = new LoanMapper(sqlGenerator);
+        final boolean keysetPagination = searchParameters != null && searchParameters.isKeysetPagination();
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select " + (keysetPagination ? "" : sqlGenerator.calcFoundRows()) + " ");
         sqlBuilder.append(loanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -379,6 +396,13 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
                 arrayPos = arrayPos + 1;
             }
 
+            if (keysetPagination) {
+                final Object[] finalObjectArray = Arrays.copyOf(extraCriterias.toArray(), arrayPos);
+                return delinquencyRangeEnricher().enrich(this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sqlBuilder.toString(),
+                        finalObjectArray, loanMapper, KeysetSort.resolve(searchParameters, LOAN_KEYSET_SORT, LOAN_KEYSET_SORTS),
+                        searchParameters));
+            }
+
             if (searchParameters.hasOrderBy()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -400,7 +424,8 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         }
         final Object[] objectArray = extraCriterias.toArray();
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, loanMapper);
+        return delinquencyRangeEnricher()
+                .enrich(this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), finalObjectArray, loanMapper));
     }
 
     @Override
@@ -765,11 +790,9 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
     private static final class LoanMapper implements RowMapper<LoanAccountData> {
 
         private final DatabaseSpecificSQLGenerator sqlGenerator;
-        private final DelinquencyReadPlatformService delinquencyReadPlatformService;
 
-        LoanMapper(DatabaseSpecificSQLGenerator sqlGenerator, DelinquencyReadPlatformService delinquencyReadPlatformService) {
+        LoanMapper(DatabaseSpecificSQLGenerator sqlGenerator) {
             this.sqlGenerator = sqlGenerator;
-            this.delinquencyReadPlatformService = delinquencyReadPlatformService;
         }
 
         public String loanSchema() {
@@ -1220,8 +1243,8 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             final String closureLoanAccountNo = rs.getString("closureLoanAccountNo");
             final BigDecimal topupAmount = rs.getBigDecimal("topupAmount");
             final boolean disallowExpectedDisbursements = rs.getBoolean("disallowExpectedDisbursements");
-            // Current Delinquency Range Data
-            DelinquencyRangeData delinquencyRange = this.delinquencyReadPlatformService.retrieveCurrentDelinquencyTag(id);
+            // Current Delinquency Range Data is set for all rows at once, see delinquencyRangeEnricher()
+            final DelinquencyRangeData delinquencyRange = null;
 
             final boolean isFraud = rs.getBoolean("isFraud");
             final LocalDate lastClosedBusinessDate = JdbcSupport.getLocalDate(rs, "lastClosedBusinessDate");
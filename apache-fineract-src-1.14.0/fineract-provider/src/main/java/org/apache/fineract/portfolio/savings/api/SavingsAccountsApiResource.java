@@ -141,7 +141,8 @@ public class SavingsAccountsApiResource {
         sqlValidator.validate(sortOrder);
         sqlValidator.validate(externalId);
         final SearchParameters searchParameters = SearchParameters.builder().limit(limit).externalId(externalId).offset(offset)
-                .orderBy(orderBy).sortOrder(sortOrder).build();
+                .orderBy(orderBy).sortOrder(sortOrder).after(uriInfo.getQueryParameters().getFirst(SearchParameters.AFTER_PARAM))
+                .totalCount(uriInfo.getQueryParameters().getFirst(SearchParameters.TOTAL_COUNT_PARAM)).build();
 
         final Page<SavingsAccountData> products = savingsAccountReadPlatformService.retrieveAll(searchParameters);
 
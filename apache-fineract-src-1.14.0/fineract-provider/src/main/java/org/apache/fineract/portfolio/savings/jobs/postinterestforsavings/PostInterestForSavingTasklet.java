@@ -20,17 +20,20 @@ package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
 
 import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
 
-import java.util.ArrayDeque;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.Callable;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
@@ -47,162 +50,194 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+/**
+ * Posts savings interest through a reader / poster pipeline.
+ *
+ * A single reader pages through the active savings accounts with the id based keyset paging of
+ * {@link SavingsAccountReadPlatformService#retrieveAllSavingsDataForInterestPosting}, splits every page into work units
+ * of {@code batch-size} accounts and offers them to a bounded queue. {@code thread-pool-size} posters take work units
+ * independently, so a slow work unit only holds up its own poster.
+ *
+ * The posters run on the configurable task executor, the reader on the thread of the step. While the queue is full the
+ * reader checks the posters, so it fails instead of waiting forever when they have died.
+ */
 @RequiredArgsConstructor
 @Slf4j
 @Component
 public class PostInterestForSavingTasklet implements Tasklet {
 
-    private static final int QUEUE_SIZE = 1;
+    private static final int QUEUE_CAPACITY_PER_POSTER = 2;
+    private static final long OFFER_TIMEOUT_MILLIS = 1000L;
+    private static final String METRIC_NAME_PREFIX = "fineract.savings.interest.posting";
+    // compared by identity, marks the end of the work units for a poster
+    private static final List<SavingsAccountData> END_OF_WORK = new ArrayList<>(0);
 
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
     private final ConfigurationDomainService configurationDomainService;
     private final ApplicationContext applicationContext;
+    private final Optional<MeterRegistry> meterRegistry;
     @Qualifier(TaskExecutorConstant.CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME)
     private final ThreadPoolTaskExecutor taskExecutor;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        final Queue<List<SavingsAccountData>> queue = new ArrayDeque<>();
         final int threadPoolSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("thread-pool-size"));
-        taskExecutor.setCorePoolSize(threadPoolSize);
-        taskExecutor.setMaxPoolSize(threadPoolSize);
         final int batchSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("batch-size"));
         final int pageSize = batchSize * threadPoolSize;
-        Long maxSavingsIdInList = 0L;
         final boolean backdatedTxnsAllowedTill = this.configurationDomainService.retrievePivotDateConfig();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final Metrics metrics = new Metrics(meterRegistry.orElseGet(SimpleMeterRegistry::new),
+                context.getTenantContext().getTenantIdentifier());
+        final BlockingQueue<List<SavingsAccountData>> queue = new ArrayBlockingQueue<>(threadPoolSize * QUEUE_CAPACITY_PER_POSTER);
 
-        long start = System.currentTimeMillis();
-
-        log.debug("Reading Savings Account Data!");
-        List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
-                .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxSavingsIdInList);
-
-        if (savingsAccounts != null && savingsAccounts.size() > 0) {
-            savingsAccounts = Collections.synchronizedList(savingsAccounts);
-            long finish = System.currentTimeMillis();
-            log.debug("Done fetching Data within {} milliseconds", finish - start);
-            queue.add(savingsAccounts);
-
-            if (!CollectionUtils.isEmpty(queue)) {
-                do {
-                    int totalFilteredRecords = savingsAccounts.size();
-                    log.debug("Starting Interest posting - total records - {}", totalFilteredRecords);
-                    List<SavingsAccountData> queueElement = queue.element();
-                    maxSavingsIdInList = queueElement.get(queueElement.size() - 1).getId();
-                    postInterest(queue.remove(), threadPoolSize, backdatedTxnsAllowedTill, pageSize, maxSavingsIdInList, queue);
-                } while (!CollectionUtils.isEmpty(queue));
+        resizeTaskExecutor(threadPoolSize);
+        List<Future<?>> posters = new ArrayList<>(threadPoolSize);
+        try {
+            for (int i = 0; i < threadPoolSize; i++) {
+                posters.add(taskExecutor.submit(() -> {
+                    post(queue, backdatedTxnsAllowedTill, context, metrics);
+                    return null;
+                }));
+            }
+            read(queue, posters, pageSize, batchSize, backdatedTxnsAllowedTill, metrics);
+            for (Future<?> poster : posters) {
+                poster.get();
             }
+        } catch (ExecutionException e) {
+            log.error("Execution exception while interest posting entries", e);
+            throw e;
+        } finally {
+            posters.forEach(poster -> poster.cancel(true));
         }
         return RepeatStatus.FINISHED;
     }
 
-    private void postInterest(List<SavingsAccountData> savingsAccounts, int threadPoolSize, final boolean backdatedTxnsAllowedTill,
-            final int pageSize, Long maxSavingsIdInList, Queue<List<SavingsAccountData>> queue) {
-        List<Callable<Void>> posters = new ArrayList<>();
-        int fromIndex = 0;
-        int size = savingsAccounts.size();
-        int batchSize = (int) Math.ceil((double) size / threadPoolSize);
-
-        if (batchSize == 0) {
-            return;
+    private void resizeTaskExecutor(int threadPoolSize) {
+        // the core pool size can not exceed the maximum pool size at any point
+        if (threadPoolSize > taskExecutor.getMaxPoolSize()) {
+            taskExecutor.setMaxPoolSize(threadPoolSize);
+            taskExecutor.setCorePoolSize(threadPoolSize);
+        } else {
+            taskExecutor.setCorePoolSize(threadPoolSize);
+            taskExecutor.setMaxPoolSize(threadPoolSize);
         }
+    }
 
-        int toIndex = (batchSize > size - 1) ? size : batchSize;
-        while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-            toIndex++;
+    private void read(BlockingQueue<List<SavingsAccountData>> queue, List<Future<?>> posters, int pageSize, int batchSize,
+            boolean backdatedTxnsAllowedTill, Metrics metrics) throws InterruptedException, ExecutionException {
+        Long maxSavingsId = 0L;
+        while (true) {
+            Timer.Sample sample = Timer.start();
+            List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
+                    .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxSavingsId);
+            sample.stop(metrics.readTimer);
+            if (savingsAccounts == null || savingsAccounts.isEmpty()) {
+                break;
+            }
+            metrics.readCounter.increment(savingsAccounts.size());
+            maxSavingsId = savingsAccounts.get(savingsAccounts.size() - 1).getId();
+            log.debug("Fetched {} savings accounts for interest posting, last id {}", savingsAccounts.size(), maxSavingsId);
+            for (List<SavingsAccountData> workUnit : split(savingsAccounts, batchSize)) {
+                offer(queue, workUnit, posters);
+            }
         }
-        boolean lastBatch = false;
-        int loopCount = size / batchSize + 1;
-
-        FineractContext context = ThreadLocalContextUtil.getContext();
+        // on failure the posters are cancelled instead
+        for (int i = 0; i < posters.size(); i++) {
+            offer(queue, END_OF_WORK, posters);
+        }
+    }
 
-        Callable<Void> fetchData = () -> {
-            try {
-                ThreadLocalContextUtil.init(context);
-                Long maxId = maxSavingsIdInList;
-                if (!queue.isEmpty()) {
-                    maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
+    private void offer(BlockingQueue<List<SavingsAccountData>> queue, List<SavingsAccountData> workUnit, List<Future<?>> posters)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(workUnit, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            boolean allDone = true;
+            for (Future<?> poster : posters) {
+                if (poster.isDone()) {
+                    // throws if the poster failed or was cancelled, it only ends normally after its end of work marker
+                    poster.get();
+                } else {
+                    allDone = false;
                 }
+            }
+            if (allDone) {
+                throw new IllegalStateException("All interest posters ended while work units were still queued");
+            }
+        }
+    }
 
-                while (queue.size() <= QUEUE_SIZE) {
-                    log.debug("Fetching while threads are running!");
-                    List<SavingsAccountData> savingsAccountDataList = Collections.synchronizedList(this.savingAccountReadPlatformService
-                            .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-                    if (savingsAccountDataList.isEmpty()) {
-                        break;
-                    }
-                    maxId = savingsAccountDataList.get(savingsAccountDataList.size() - 1).getId();
-                    queue.add(savingsAccountDataList);
+    private void post(BlockingQueue<List<SavingsAccountData>> queue, boolean backdatedTxnsAllowedTill, FineractContext context,
+            Metrics metrics) throws InterruptedException {
+        ThreadLocalContextUtil.init(context);
+        try {
+            while (true) {
+                List<SavingsAccountData> workUnit = queue.take();
+                if (workUnit == END_OF_WORK) {
+                    return;
                 }
-                return null;
-            } finally {
-                ThreadLocalContextUtil.reset();
+                postWorkUnit(workUnit, backdatedTxnsAllowedTill, context, metrics);
             }
-        };
-        posters.add(fetchData);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
 
-        for (long i = 0; i < loopCount; i++) {
-            List<SavingsAccountData> subList = safeSubList(savingsAccounts, fromIndex, toIndex);
+    private void postWorkUnit(List<SavingsAccountData> workUnit, boolean backdatedTxnsAllowedTill, FineractContext context,
+            Metrics metrics) {
+        Timer.Sample sample = Timer.start();
+        try {
             SavingsSchedularInterestPosterTask savingsSchedularInterestPosterTask = applicationContext
                     .getBean(SavingsSchedularInterestPosterTask.class);
-            savingsSchedularInterestPosterTask.setSavingAccounts(subList);
+            savingsSchedularInterestPosterTask.setSavingAccounts(workUnit);
             savingsSchedularInterestPosterTask.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
-            savingsSchedularInterestPosterTask.setContext(ThreadLocalContextUtil.getContext());
-
-            posters.add(savingsSchedularInterestPosterTask);
+            savingsSchedularInterestPosterTask.setContext(context);
+            savingsSchedularInterestPosterTask.call();
+            metrics.postedCounter.increment(workUnit.size());
+        } catch (Exception e) {
+            log.error("Interest posting failed for savings accounts {} - {}", workUnit.get(0).getId(),
+                    workUnit.get(workUnit.size() - 1).getId(), e);
+            metrics.failedCounter.increment(workUnit.size());
+        } finally {
+            sample.stop(metrics.postTimer);
+        }
+    }
 
-            if (lastBatch) {
-                break;
-            }
-            if (toIndex + batchSize > size - 1) {
-                lastBatch = true;
-            }
-            fromIndex = fromIndex + (toIndex - fromIndex);
-            toIndex = (toIndex + batchSize > size - 1) ? size : toIndex + batchSize;
+    /**
+     * Splits a page into work units of the given size. An account never spans two work units.
+     */
+    static List<List<SavingsAccountData>> split(List<SavingsAccountData> savingsAccounts, int batchSize) {
+        List<List<SavingsAccountData>> workUnits = new ArrayList<>();
+        int size = savingsAccounts.size();
+        int fromIndex = 0;
+        while (fromIndex < size) {
+            int toIndex = Math.min(size, fromIndex + batchSize);
             while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
                 toIndex++;
             }
+            workUnits.add(new ArrayList<>(savingsAccounts.subList(fromIndex, toIndex)));
+            fromIndex = toIndex;
         }
-
-        List<Future<Void>> responses = new ArrayList<>();
-        posters.forEach(poster -> responses.add(taskExecutor.submit(poster)));
-
-        checkCompletion(responses);
-        log.debug("Queue size {}", queue.size());
-    }
-
-    private <T> List<T> safeSubList(List<T> list, int fromIndex, int toIndex) {
-        int size = list.size();
-        if (fromIndex >= size || toIndex <= 0 || fromIndex >= toIndex) {
-            return Collections.emptyList();
-        }
-
-        fromIndex = Math.max(0, fromIndex);
-        toIndex = Math.min(size, toIndex);
-
-        return list.subList(fromIndex, toIndex);
+        return workUnits;
     }
 
-    private void checkCompletion(List<Future<Void>> responses) {
-        try {
-            for (Future<Void> f : responses) {
-                f.get();
-            }
-            boolean allThreadsExecuted;
-            int noOfThreadsExecuted = 0;
-            for (Future<Void> future : responses) {
-                if (future.isDone()) {
-                    noOfThreadsExecuted++;
-                }
-            }
-            allThreadsExecuted = noOfThreadsExecuted == responses.size();
-            if (!allThreadsExecuted) {
-                log.error("All threads could not execute.");
-            }
-        } catch (InterruptedException e1) {
-            log.error("Interrupted while interest posting entries", e1);
-        } catch (ExecutionException e2) {
-            log.error("Execution exception while interest posting entries", e2);
+    private static final class Metrics {
+
+        private final Timer readTimer;
+        private final Counter readCounter;
+        private final Timer postTimer;
+        private final Counter postedCounter;
+        private final Counter failedCounter;
+
+        private Metrics(MeterRegistry registry, String tenantIdentifier) {
+            this.readTimer = Timer.builder(METRIC_NAME_PREFIX + ".read").description("Time spent reading a page of savings accounts")
+                    .tag("tenant", tenantIdentifier).register(registry);
+            this.readCounter = Counter.builder(METRIC_NAME_PREFIX + ".read.accounts").description("Savings accounts read for posting")
+                    .tag("tenant", tenantIdentifier).register(registry);
+            this.postTimer = Timer.builder(METRIC_NAME_PREFIX + ".post").description("Time spent posting interest for a work unit")
+                    .tag("tenant", tenantIdentifier).register(registry);
+            this.postedCounter = Counter.builder(METRIC_NAME_PREFIX + ".posted.accounts")
+                    .description("Savings accounts with interest posted").tag("tenant", tenantIdentifier).register(registry);
+            this.failedCounter = Counter.builder(METRIC_NAME_PREFIX + ".failed.accounts")
+                    .description("Savings accounts in failed work units").tag("tenant", tenantIdentifier).register(registry);
         }
     }
 }
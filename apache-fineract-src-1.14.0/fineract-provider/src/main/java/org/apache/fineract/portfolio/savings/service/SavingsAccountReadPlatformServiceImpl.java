@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.accounting.common.AccountingRuleType;
 import org.apache.fineract.accounting.glaccount.data.GLAccountData;
@@ -38,6 +39,7 @@ import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.KeysetSort;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -85,6 +87,10 @@ import org.springframework.jdbc.core.RowMapper;
 
 public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountReadPlatformService {
 
+    private static final KeysetSort SAVINGS_KEYSET_SORT = KeysetSort.byId("sa.id", "id");
+    private static final Map<String, KeysetSort> SAVINGS_KEYSET_SORTS = Map.of("id", SAVINGS_KEYSET_SORT, "accountNo",
+            KeysetSort.by("sa.account_no", "accountNo", "sa.id", "id"));
+
     private final PlatformSecurityContext context;
     private final JdbcTemplate jdbcTemplate;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
@@ -158,9 +164,10 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         final AppUser currentUser = this.context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String hierarchySearchString = hierarchy + "%";
+        final boolean keysetPagination = searchParameters != null && searchParameters.isKeysetPagination();
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select " + (keysetPagination ? "" : sqlGenerator.calcFoundRows()) + " ");
         sqlBuilder.append(this.savingAccountMapper.schema());
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
@@ -186,6 +193,11 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                 sqlBuilder.append(" and c.office_id = ?");
                 objectArray[arrayPos++] = searchParameters.getOfficeId();
             }
+            if (keysetPagination) {
+                return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sqlBuilder.toString(), Arrays.copyOf(objectArray, arrayPos),
+                        this.savingAccountMapper, KeysetSort.resolve(searchParameters, SAVINGS_KEYSET_SORT, SAVINGS_KEYSET_SORTS),
+                        searchParameters);
+            }
             if (searchParameters.hasOrderBy()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -0,0 +1,246 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Checks the balances written by the incremental engine against a full recalculation of every journal entry, on a
+ * PostgreSQL database holding the columns the engine works with.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IncrementalRunningBalanceUpdateServiceTest {
+
+    private static final long ASSET_ACCOUNT = 1L;
+    private static final long INCOME_ACCOUNT = 2L;
+    private static final long HEAD_OFFICE = 1L;
+    private static final long BRANCH_OFFICE = 2L;
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:16");
+
+    private static DriverManagerDataSource dataSource;
+
+    private FailingJdbcTemplate jdbcTemplate;
+    private ThreadPoolTaskExecutor taskExecutor;
+    private IncrementalRunningBalanceUpdateService underTest;
+    private long nextEntryId = 1;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES_CONTAINER.getJdbcUrl(), POSTGRES_CONTAINER.getUsername(),
+                POSTGRES_CONTAINER.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table acc_gl_account (id bigint primary key, classification_enum smallint not null)");
+        jdbcTemplate.execute("create table acc_gl_journal_entry (id bigint primary key, account_id bigint not null, "
+                + "office_id bigint not null, entry_date date not null, type_enum smallint not null, amount decimal(19,6) not null, "
+                + "is_running_balance_calculated boolean not null, organization_running_balance decimal(19,6), "
+                + "office_running_balance decimal(19,6), last_modified_by bigint, last_modified_on_utc timestamp with time zone)");
+        jdbcTemplate.execute("create table acc_gl_running_balance_checkpoint (id bigserial primary key, office_id bigint not null, "
+                + "account_id bigint not null, last_entry_date date not null, last_journal_entry_id bigint not null, "
+                + "office_running_balance decimal(19,6) not null, unique (office_id, account_id))");
+        jdbcTemplate.update("insert into acc_gl_account values (?, ?)", ASSET_ACCOUNT, GLAccountType.ASSET.getValue());
+        jdbcTemplate.update("insert into acc_gl_account values (?, ?)", INCOME_ACCOUNT, GLAccountType.INCOME.getValue());
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new FailingJdbcTemplate(dataSource);
+        jdbcTemplate.update("delete from acc_gl_journal_entry");
+        jdbcTemplate.update("delete from acc_gl_running_balance_checkpoint");
+
+        FineractProperties.FineractRunningBalanceUpdateProperties runningBalanceUpdate =
+                new FineractProperties.FineractRunningBalanceUpdateProperties();
+        runningBalanceUpdate.setIncrementalEnabled(true);
+        runningBalanceUpdate.setPageSize(2);
+        runningBalanceUpdate.setThreadPoolSize(2);
+        FineractProperties.FineractJobProperties job = new FineractProperties.FineractJobProperties();
+        job.setRunningBalanceUpdate(runningBalanceUpdate);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(job);
+
+        DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+        given(sqlGenerator.limit(anyInt())).willAnswer(invocation -> "LIMIT " + invocation.getArgument(0));
+        AppUser user = mock(AppUser.class);
+        given(user.getId()).willReturn(1L);
+        PlatformSecurityContext platformSecurityContext = mock(PlatformSecurityContext.class);
+        given(platformSecurityContext.authenticatedUser()).willReturn(user);
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.initialize();
+
+        underTest = new IncrementalRunningBalanceUpdateService(jdbcTemplate, new DataSourceTransactionManager(dataSource), sqlGenerator,
+                platformSecurityContext, fineractProperties, taskExecutor);
+
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, DAY)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void balancesMatchFullRecalculationPerOfficeAndAccount() {
+        // given
+        addEntry(ASSET_ACCOUNT, HEAD_OFFICE, DAY, JournalEntryType.DEBIT, "100");
+        addEntry(INCOME_ACCOUNT, HEAD_OFFICE, DAY, JournalEntryType.CREDIT, "100");
+        addEntry(ASSET_ACCOUNT, BRANCH_OFFICE, DAY.plusDays(1), JournalEntryType.DEBIT, "40");
+        addEntry(ASSET_ACCOUNT, HEAD_OFFICE, DAY.plusDays(1), JournalEntryType.CREDIT, "15.5");
+        addEntry(INCOME_ACCOUNT, BRANCH_OFFICE, DAY.plusDays(2), JournalEntryType.CREDIT, "40");
+        addEntry(ASSET_ACCOUNT, BRANCH_OFFICE, DAY.plusDays(3), JournalEntryType.CREDIT, "10");
+        addEntry(INCOME_ACCOUNT, HEAD_OFFICE, DAY.plusDays(3), JournalEntryType.DEBIT, "5");
+        // when
+        underTest.updateRunningBalance(null);
+        // then
+        assertMatchesFullRecalculation();
+    }
+
+    @Test
+    void backDatedEntryRecalculatesTheEntriesAfterIt() {
+        // given
+        addEntry(ASSET_ACCOUNT, HEAD_OFFICE, DAY, JournalEntryType.DEBIT, "100");
+        addEntry(ASSET_ACCOUNT, BRANCH_OFFICE, DAY.plusDays(2), JournalEntryType.DEBIT, "50");
+        addEntry(ASSET_ACCOUNT, HEAD_OFFICE, DAY.plusDays(3), JournalEntryType.CREDIT, "30");
+        underTest.updateRunningBalance(null);
+        // when
+        addEntry(ASSET_ACCOUNT, HEAD_OFFICE, DAY.plusDays(1), JournalEntryType.DEBIT, "7");
+        addEntry(ASSET_ACCOUNT, BRANCH_OFFICE, DAY, JournalEntryType.CREDIT, "3");
+        underTest.updateRunningBalance(null);
+        // then
+        assertMatchesFullRecalculation();
+    }
+
+    @Test
+    void interruptedRunResumesFromTheLastCheckpoint() {
+        // given
+        for (int day = 0; day < 6; day++) {
+            addEntry(ASSET_ACCOUNT, day % 2 == 0 ? HEAD_OFFICE : BRANCH_OFFICE, DAY.plusDays(day), JournalEntryType.DEBIT, "10");
+        }
+        jdbcTemplate.failOnPage(2);
+        // when
+        assertThrows(IllegalStateException.class, () -> underTest.updateRunningBalance(null));
+        // then
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from acc_gl_journal_entry where is_running_balance_calculated=true",
+                Integer.class));
+        List<Map<String, Object>> checkpoints = jdbcTemplate.queryForList("select office_id, last_journal_entry_id, office_running_balance "
+                + "from acc_gl_running_balance_checkpoint order by office_id");
+        assertEquals(2, checkpoints.size());
+        assertEquals(1L, ((Number) checkpoints.get(0).get("last_journal_entry_id")).longValue());
+        assertEquals(2L, ((Number) checkpoints.get(1).get("last_journal_entry_id")).longValue());
+        assertEquals(0, BigDecimal.TEN.compareTo((BigDecimal) checkpoints.get(0).get("office_running_balance")));
+
+        underTest.updateRunningBalance(null);
+
+        assertMatchesFullRecalculation();
+    }
+
+    private void addEntry(long accountId, long officeId, LocalDate entryDate, JournalEntryType type, String amount) {
+        jdbcTemplate.update("insert into acc_gl_journal_entry (id, account_id, office_id, entry_date, type_enum, amount, "
+                + "is_running_balance_calculated) values (?, ?, ?, ?, ?, ?, false)", nextEntryId++, accountId, officeId, entryDate,
+                type.getValue(), new BigDecimal(amount));
+    }
+
+    private void assertMatchesFullRecalculation() {
+        Map<Long, BigDecimal> organizationBalances = new HashMap<>();
+        Map<String, BigDecimal> officeBalances = new HashMap<>();
+        List<Map<String, Object>> entries = jdbcTemplate.queryForList("select je.*, a.classification_enum from acc_gl_journal_entry je "
+                + "join acc_gl_account a on a.id=je.account_id order by je.entry_date, je.id");
+        for (Map<String, Object> entry : entries) {
+            Long accountId = ((Number) entry.get("account_id")).longValue();
+            GLAccountType accountType = GLAccountType.fromInt(((Number) entry.get("classification_enum")).intValue());
+            IncrementalRunningBalanceUpdateService.Entry journalEntry = new IncrementalRunningBalanceUpdateService.Entry(
+                    ((Number) entry.get("id")).longValue(), ((Number) entry.get("office_id")).longValue(), null,
+                    JournalEntryType.fromInt(((Number) entry.get("type_enum")).intValue()), (BigDecimal) entry.get("amount"));
+            BigDecimal organizationBalance = IncrementalRunningBalanceUpdateService.apply(accountType, journalEntry,
+                    organizationBalances.getOrDefault(accountId, BigDecimal.ZERO));
+            String officeKey = journalEntry.officeId() + ":" + accountId;
+            BigDecimal officeBalance = IncrementalRunningBalanceUpdateService.apply(accountType, journalEntry,
+                    officeBalances.getOrDefault(officeKey, BigDecimal.ZERO));
+            organizationBalances.put(accountId, organizationBalance);
+            officeBalances.put(officeKey, officeBalance);
+
+            assertTrue((Boolean) entry.get("is_running_balance_calculated"), "entry " + journalEntry.id());
+            assertEquals(0, organizationBalance.compareTo((BigDecimal) entry.get("organization_running_balance")),
+                    "organization running balance of entry " + journalEntry.id());
+            assertEquals(0, officeBalance.compareTo((BigDecimal) entry.get("office_running_balance")),
+                    "office running balance of entry " + journalEntry.id());
+        }
+    }
+
+    /**
+     * Fails the batch update of the given page once, as if the node stopped in the middle of a run.
+     */
+    private static final class FailingJdbcTemplate extends JdbcTemplate {
+
+        private int failingPage;
+        private int pages;
+
+        private FailingJdbcTemplate(DriverManagerDataSource dataSource) {
+            super(dataSource);
+        }
+
+        void failOnPage(int page) {
+            failingPage = page;
+            pages = 0;
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (++pages == failingPage) {
+                failingPage = 0;
+                throw new IllegalStateException("Node stopped");
+            }
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+}
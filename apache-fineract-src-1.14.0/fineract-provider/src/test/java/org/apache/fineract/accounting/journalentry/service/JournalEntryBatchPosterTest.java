@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.business.domain.journalentry.LoanJournalEntryCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventBatchWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class JournalEntryBatchPosterTest {
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    private JournalEntryBatchPoster underTest;
+    private ExternalEventBatchWriter externalEventBatchWriter;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractJournalEntryBatchPostingProperties batchPosting =
+                new FineractProperties.FineractJournalEntryBatchPostingProperties();
+        batchPosting.setEnabled(true);
+        FineractProperties.FineractAccountingProperties accounting = new FineractProperties.FineractAccountingProperties();
+        accounting.setJournalEntryBatchPosting(batchPosting);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setAccounting(accounting);
+        given(journalEntryRepository.save(any(JournalEntry.class))).willAnswer(invocation -> invocation.getArgument(0));
+        underTest = new JournalEntryBatchPoster(journalEntryRepository, businessEventNotifierService, fineractProperties);
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 15))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(underTest);
+        if (externalEventBatchWriter != null) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(externalEventBatchWriter);
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testCanBufferShouldBeFalseWithoutTransaction() {
+        assertThat(underTest.canBuffer()).isFalse();
+    }
+
+    @Test
+    public void testBufferedEntriesShouldBePostedWithOneFlushBeforeCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        // when
+        assertThat(underTest.canBuffer()).isTrue();
+        underTest.buffer(journalEntry("L1", JournalEntryType.DEBIT, "100", 1L));
+        underTest.buffer(journalEntry("L1", JournalEntryType.CREDIT, "60", 1L));
+        underTest.buffer(journalEntry("L1", JournalEntryType.CREDIT, "40", 1L));
+        // then
+        verify(journalEntryRepository, never()).flush();
+        verify(businessEventNotifierService, never()).notifyPostBusinessEvent(any());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+
+        synchronizations.get(0).beforeCommit(false);
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(journalEntryRepository, times(1)).flush();
+        verify(businessEventNotifierService, times(3)).notifyPostBusinessEvent(any(LoanJournalEntryCreatedBusinessEvent.class));
+        assertThat(TransactionSynchronizationManager.getResource(underTest)).isNull();
+    }
+
+    @Test
+    public void testPendingEntriesShouldBePostedExplicitlyPerUnitOfWork() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        underTest.buffer(journalEntry("L1", JournalEntryType.DEBIT, "100", 1L));
+        underTest.buffer(journalEntry("L1", JournalEntryType.CREDIT, "100", 1L));
+        // when
+        underTest.postPending();
+        // then
+        verify(journalEntryRepository, times(1)).flush();
+        verify(businessEventNotifierService, times(2)).notifyPostBusinessEvent(any(LoanJournalEntryCreatedBusinessEvent.class));
+
+        // an invalid unit of work fails on its own, before the commit starts
+        underTest.buffer(journalEntry("L2", JournalEntryType.DEBIT, "5", 2L));
+        assertThrows(JournalEntryInvalidException.class, () -> underTest.postPending());
+
+        underTest.buffer(journalEntry("L3", JournalEntryType.DEBIT, "7", 3L));
+        underTest.buffer(journalEntry("L3", JournalEntryType.CREDIT, "7", 3L));
+        underTest.postPending();
+        TransactionSynchronizationManager.getSynchronizations().get(0).beforeCommit(false);
+
+        verify(journalEntryRepository, times(2)).flush();
+        verify(businessEventNotifierService, times(4)).notifyPostBusinessEvent(any(LoanJournalEntryCreatedBusinessEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEventsOfEntriesPostedBeforeCommitShouldBeWrittenWithExternalEventBatchInsert() {
+        // given
+        ExternalEventBatchWriter externalEventBatchWriter = externalEventBatchWriter();
+        List<String> writtenKeys = new ArrayList<>();
+        given(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .willAnswer(invocation -> {
+                    Collection<ExternalEvent> events = invocation.getArgument(1);
+                    events.forEach(event -> writtenKeys.add(event.getIdempotencyKey()));
+                    return new int[0][];
+                });
+        // within a transaction the business event notifier collects the events and posts them after the synchronizations
+        List<ExternalEvent> raisedEvents = new ArrayList<>();
+        willAnswer(invocation -> raisedEvents.add(new ExternalEvent("LoanJournalEntryCreatedBusinessEvent", "Loan", "Schema",
+                new byte[0], "journal-entry-" + raisedEvents.size(), 1L))).given(businessEventNotifierService)
+                .notifyPostBusinessEvent(any(LoanJournalEntryCreatedBusinessEvent.class));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        // when
+        assertThat(externalEventBatchWriter.canBuffer()).isTrue();
+        externalEventBatchWriter.buffer(new ExternalEvent("LoanTransactionBusinessEvent", "Loan", "Schema", new byte[0], "loan", 1L));
+        underTest.buffer(journalEntry("L1", JournalEntryType.DEBIT, "100", 1L));
+        underTest.buffer(journalEntry("L1", JournalEntryType.CREDIT, "100", 1L));
+        // simulate the commit: the synchronizations first, then the transaction listener of the business event notifier
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+        raisedEvents.forEach(externalEventBatchWriter::buffer);
+        externalEventBatchWriter.flush();
+        // then
+        assertThat(writtenKeys).containsExactly("loan", "journal-entry-0", "journal-entry-1");
+    }
+
+    @Test
+    public void testUnbalancedEntriesShouldBeRejected() {
+        // given
+        List<JournalEntry> journalEntries = List.of(journalEntry("L1", JournalEntryType.DEBIT, "100", 1L),
+                journalEntry("L1", JournalEntryType.CREDIT, "99.99", 1L), journalEntry("L2", JournalEntryType.DEBIT, "5", 2L),
+                journalEntry("L2", JournalEntryType.CREDIT, "5", 2L));
+        // when
+        assertThrows(JournalEntryInvalidException.class, () -> underTest.post(journalEntries));
+        // then
+        verify(journalEntryRepository, never()).flush();
+        verify(businessEventNotifierService, never()).notifyPostBusinessEvent(any());
+    }
+
+    private ExternalEventBatchWriter externalEventBatchWriter() {
+        FineractProperties.FineractExternalEventsBatchInsertProperties batchInsert =
+                new FineractProperties.FineractExternalEventsBatchInsertProperties();
+        batchInsert.setEnabled(true);
+        batchInsert.setBatchSize(100);
+        FineractProperties.FineractExternalEventsProperties external = new FineractProperties.FineractExternalEventsProperties();
+        external.setBatchInsert(batchInsert);
+        FineractProperties.FineractEventsProperties events = new FineractProperties.FineractEventsProperties();
+        events.setExternal(external);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(events);
+        given(sqlGenerator.escape(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+        externalEventBatchWriter = new ExternalEventBatchWriter(jdbcTemplate, sqlGenerator, fineractProperties);
+        return externalEventBatchWriter;
+    }
+
+    private JournalEntry journalEntry(String transactionId, JournalEntryType type, String amount, Long loanTransactionId) {
+        return JournalEntry.createNew(null, null, null, "USD", transactionId, false, LocalDate.of(2024, 1, 15), type,
+                new BigDecimal(amount), null, null, null, null, loanTransactionId, null, null, null);
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class ContextAwareTaskDecoratorTest {
+
+    private static final String CORRELATION_ID_KEY = "correlationId";
+
+    private final ContextAwareTaskDecorator underTest = new ContextAwareTaskDecorator();
+
+    @BeforeEach
+    void setUp() {
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 15));
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        MDC.put(CORRELATION_ID_KEY, "abc-123");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+        MDC.clear();
+    }
+
+    @Test
+    void testContextIsPropagatedToVirtualThread() throws Exception {
+        // given
+        CompletableFuture<String> tenant = new CompletableFuture<>();
+        CompletableFuture<LocalDate> businessDate = new CompletableFuture<>();
+        CompletableFuture<String> correlationId = new CompletableFuture<>();
+        Runnable decorated = underTest.decorate(() -> {
+            tenant.complete(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            businessDate.complete(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.BUSINESS_DATE));
+            correlationId.complete(MDC.get(CORRELATION_ID_KEY));
+        });
+        // when
+        Thread thread = Thread.ofVirtual().start(decorated);
+        // then
+        assertTrue(thread.join(Duration.ofSeconds(10)));
+        assertEquals("default", tenant.get(1, TimeUnit.SECONDS));
+        assertEquals(LocalDate.of(2024, 1, 15), businessDate.get(1, TimeUnit.SECONDS));
+        assertEquals("abc-123", correlationId.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testContextIsClearedAfterTask() throws Exception {
+        // given
+        CompletableFuture<String> tenantAfterTask = new CompletableFuture<>();
+        CompletableFuture<String> correlationIdAfterTask = new CompletableFuture<>();
+        Runnable decorated = underTest.decorate(() -> {});
+        // when
+        Thread thread = Thread.ofVirtual().start(() -> {
+            decorated.run();
+            tenantAfterTask.complete(ThreadLocalContextUtil.getTenant() == null ? null : "leaked");
+            correlationIdAfterTask.complete(MDC.get(CORRELATION_ID_KEY));
+        });
+        // then
+        assertTrue(thread.join(Duration.ofSeconds(10)));
+        assertNull(tenantAfterTask.get(1, TimeUnit.SECONDS));
+        assertNull(correlationIdAfterTask.get(1, TimeUnit.SECONDS));
+    }
+}
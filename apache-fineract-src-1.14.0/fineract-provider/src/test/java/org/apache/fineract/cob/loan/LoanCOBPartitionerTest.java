@@ -18,14 +18,20 @@
  */
 package org.apache.fineract.cob.loan;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.data.BusinessStepNameAndOrder;
 import org.apache.fineract.cob.data.COBParameter;
@@ -60,6 +66,8 @@ class LoanCOBPartitionerTest {
     private JobOperator jobOperator;
     @Mock
     private JobExplorer jobExplorer;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoanCOBPartitionMetrics metrics = new LoanCOBPartitionMetrics(meterRegistry);
 
     @Test
     public void testLoanCOBPartitioner() {
@@ -69,7 +77,7 @@ class LoanCOBPartitionerTest {
                 .thenReturn(BUSINESS_STEP_SET);
         when(retrieveLoanIdService.retrieveLoanCOBPartitions(1L, BUSINESS_DATE, false, 5))
                 .thenReturn(List.of(new COBPartition(1L,10L, 1L, 5L), new COBPartition(11L,20L, 2L, 4L)));
-        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L);
+        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L, metrics);
         loanCOBPartitioner.setBusinessDate(BUSINESS_DATE);
         loanCOBPartitioner.setIsCatchUp(false);
 
@@ -91,7 +99,7 @@ class LoanCOBPartitionerTest {
         JobExecution jobExecution = Mockito.mock(JobExecution.class);
         when(jobExecution.getId()).thenReturn(123L);
         when(jobExplorer.findRunningJobExecutions(JobName.LOAN_COB.name())).thenReturn(Set.of(jobExecution));
-        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L);
+        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L, metrics);
         loanCOBPartitioner.setBusinessDate(BUSINESS_DATE);
         loanCOBPartitioner.setIsCatchUp(false);
 
@@ -112,7 +120,7 @@ class LoanCOBPartitionerTest {
                 .thenReturn(BUSINESS_STEP_SET);
         when(retrieveLoanIdService.retrieveLoanCOBPartitions(1L, BUSINESS_DATE, false, 5))
                 .thenReturn(List.of());
-        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L);
+        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L, metrics);
         loanCOBPartitioner.setBusinessDate(BUSINESS_DATE);
         loanCOBPartitioner.setBusinessDate(BUSINESS_DATE);
         loanCOBPartitioner.setIsCatchUp(false);
@@ -125,6 +133,82 @@ class LoanCOBPartitionerTest {
         validatePartitions(partitions, 1, 0,  0);
     }
 
+    @Test
+    public void testLoanCOBPartitionerAdaptive() {
+        //given
+        when(propertyService.getPartitionSize(LoanCOBConstant.JOB_NAME)).thenReturn(2);
+        when(propertyService.isAdaptivePartitioning(LoanCOBConstant.JOB_NAME)).thenReturn(true);
+        when(cobBusinessStepService.getCOBBusinessSteps(LoanCOBBusinessStep.class, LoanCOBConstant.LOAN_COB_JOB_NAME))
+                .thenReturn(BUSINESS_STEP_SET);
+        // one heavy loan followed by three light ones
+        List<LoanCOBCost> costs = List.of(new LoanCOBCost(1L, 20L, 10L, true), new LoanCOBCost(2L, 0L, 1L, false),
+                new LoanCOBCost(3L, 0L, 1L, false), new LoanCOBCost(4L, 0L, 1L, false));
+        when(retrieveLoanIdService.retrieveLoanCOBCostSummary(1L, BUSINESS_DATE, false))
+                .thenReturn(new LoanCOBCostSummary(0L, 0.0).add(1L, 20L, 10L, true).add(3L, 0L, 3L, false));
+        doAnswer(invocation -> {
+            Consumer<LoanCOBCost> consumer = invocation.getArgument(3);
+            costs.forEach(consumer);
+            return null;
+        }).when(retrieveLoanIdService).retrieveLoanCOBCosts(eq(1L), eq(BUSINESS_DATE), eq(false), any());
+        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L, metrics);
+        loanCOBPartitioner.setBusinessDate(BUSINESS_DATE);
+        loanCOBPartitioner.setIsCatchUp(false);
+
+        //when
+        Map<String, ExecutionContext> partitions = loanCOBPartitioner.partition(1);
+
+        //then
+        Assertions.assertEquals(2, partitions.size());
+        validatePartitions(partitions, 0, 1, 1);
+        validatePartitions(partitions, 1, 2, 4);
+        Assertions.assertEquals(2L, meterRegistry.get("fineract.cob.loan.partition.planned.loans").summary().count());
+        Assertions.assertEquals(1L, meterRegistry.get("fineract.cob.loan.partitioning.duration").timer().count());
+    }
+
+    @Test
+    public void testBalanceKeepsPartitionCountAndCoversAllLoans() {
+        List<LoanCOBCost> costs = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            costs.add(new LoanCOBCost(id, id % 10 == 0 ? 50L : 1L, 12L, false));
+        }
+
+        List<LoanCOBPartitioner.WeightedPartition> partitions = LoanCOBPartitioner.balance(costs, 10);
+
+        Assertions.assertTrue(partitions.size() <= 10);
+        Assertions.assertEquals(1L, partitions.get(0).partition().getMinId());
+        Assertions.assertEquals(100L, partitions.get(partitions.size() - 1).partition().getMaxId());
+        Assertions.assertEquals(100L, partitions.stream().mapToLong(p -> p.partition().getCount()).sum());
+        for (int i = 1; i < partitions.size(); i++) {
+            Assertions.assertEquals(partitions.get(i - 1).partition().getMaxId() + 1, partitions.get(i).partition().getMinId());
+        }
+    }
+
+    @Test
+    public void testSummaryMatchesSumOfLoanEstimates() {
+        List<LoanCOBCost> costs = List.of(new LoanCOBCost(1L, 20L, 10L, true), new LoanCOBCost(2L, 3L, 4L, true),
+                new LoanCOBCost(3L, 0L, 1L, false), new LoanCOBCost(4L, 7L, 12L, false));
+
+        LoanCOBCostSummary summary = new LoanCOBCostSummary(0L, 0.0).add(2L, 23L, 14L, true).add(2L, 7L, 13L, false);
+
+        Assertions.assertEquals(4L, summary.loanCount());
+        Assertions.assertEquals(costs.stream().mapToDouble(LoanCOBCost::estimate).sum(), summary.totalCost(), 1e-9);
+    }
+
+    @Test
+    public void testBalancerClosesPartitionsWhenSummaryIsOutdated() {
+        // loans added after the summary was read still end up in a partition
+        LoanCOBPartitioner.CostBalancer balancer = new LoanCOBPartitioner.CostBalancer(new LoanCOBCostSummary(0L, 0.0), 2);
+        for (long id = 1; id <= 3; id++) {
+            balancer.accept(new LoanCOBCost(id, 0L, 0L, false));
+        }
+
+        List<LoanCOBPartitioner.WeightedPartition> partitions = balancer.finish();
+
+        Assertions.assertEquals(3L, partitions.stream().mapToLong(p -> p.partition().getCount()).sum());
+        Assertions.assertEquals(1L, partitions.get(0).partition().getMinId());
+        Assertions.assertEquals(3L, partitions.get(partitions.size() - 1).partition().getMaxId());
+    }
+
     private void validatePartitions(Map<String, ExecutionContext> partitions, int index, long min, long max) {
         Assertions.assertEquals(BUSINESS_STEP_SET,
                 partitions.get(LoanCOBPartitioner.PARTITION_PREFIX + index).get(LoanCOBConstant.BUSINESS_STEPS));
@@ -31,6 +31,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.TreeMap;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryBatchPoster;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.springframework.batch.core.JobExecution;
@@ -42,7 +43,9 @@ public class LoanItemProcessorStepDefinitions implements En {
 
     private COBBusinessStepService cobBusinessStepService = mock(COBBusinessStepService.class);
 
-    private LoanItemProcessor loanItemProcessor = new LoanItemProcessor(cobBusinessStepService);
+    private JournalEntryBatchPoster journalEntryBatchPoster = mock(JournalEntryBatchPoster.class);
+
+    private LoanItemProcessor loanItemProcessor = new LoanItemProcessor(cobBusinessStepService, journalEntryBatchPoster);
 
     private Loan loan = mock(Loan.class);
 
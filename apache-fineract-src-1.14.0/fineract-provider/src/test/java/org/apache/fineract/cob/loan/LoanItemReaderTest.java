@@ -23,6 +23,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,11 +45,14 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.item.ExecutionContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 class LoanItemReaderTest {
@@ -169,4 +173,49 @@ class LoanItemReaderTest {
 
         Mockito.verifyNoMoreInteractions(loanRepository);
     }
+
+    @Test
+    public void testLoanItemReaderPrefetchReturnsUnreadLoansAfterTransactionCompletion() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setPrefetchSize(3);
+        loanItemReader.setMeterRegistry(new SimpleMeterRegistry());
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        COBParameter loanCOBParameter = new COBParameter(1L, 5L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L, 4L, 5L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L, 4L, 5L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L, 4L, 5L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        Loan firstLoan = Mockito.mock(Loan.class);
+        when(firstLoan.getId()).thenReturn(1L);
+        when(loanRepository.findAllWithCollectionsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(firstLoan));
+        when(loanRepository.findById(anyLong())).thenReturn(Optional.of(loan));
+        loanItemReader.beforeStep(stepExecution);
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Assertions.assertEquals(firstLoan, loanItemReader.read());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(loan, loanItemReader.read());
+        }
+        Assertions.assertNull(loanItemReader.read());
+        ArgumentCaptor<Long> loanIdCaptor = ArgumentCaptor.forClass(Long.class);
+        verify(loanRepository, times(4)).findById(loanIdCaptor.capture());
+        Assertions.assertEquals(List.of(2L, 3L, 4L, 5L), loanIdCaptor.getAllValues().stream().sorted().toList());
+        verify(loanRepository, times(1)).findAllWithCollectionsByIdIn(List.of(1L, 2L, 3L));
+        Mockito.verifyNoMoreInteractions(loanRepository);
+    }
 }
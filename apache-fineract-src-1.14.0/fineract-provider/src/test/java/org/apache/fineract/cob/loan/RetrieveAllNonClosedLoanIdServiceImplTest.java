@@ -18,9 +18,13 @@
  */
 package org.apache.fineract.cob.loan;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 
+import java.sql.ResultSet;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.fineract.cob.data.COBPartition;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
@@ -32,6 +36,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -87,6 +92,59 @@ public class RetrieveAllNonClosedLoanIdServiceImplTest {
 
     }
 
+    @Test
+    public void testRetrieveLoanCOBCostsStreamsGroupedCounts() throws Exception {
+        RetrieveAllNonClosedLoanIdServiceImpl service = new RetrieveAllNonClosedLoanIdServiceImpl(loanRepository,
+                namedParameterJdbcTemplate);
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        Mockito.when(rs.getLong("id")).thenReturn(7L);
+        Mockito.when(rs.getLong("transaction_count")).thenReturn(3L);
+        Mockito.when(rs.getLong("installment_count")).thenReturn(12L);
+        Mockito.when(rs.getString("schedule_type")).thenReturn("PROGRESSIVE");
+        Mockito.doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(2).processRow(rs);
+            return null;
+        }).when(namedParameterJdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+        List<LoanCOBCost> costs = new ArrayList<>();
+
+        service.retrieveLoanCOBCosts(1L, LocalDate.parse("2023-06-28"), false, costs::add);
+
+        Assertions.assertEquals(List.of(new LoanCOBCost(7L, 3L, 12L, true)), costs);
+        Mockito.verify(namedParameterJdbcTemplate, times(1)).query(sqlCaptor.capture(), paramsCaptor.capture(),
+                any(RowCallbackHandler.class));
+        String sql = normalize(sqlCaptor.getValue());
+        Assertions.assertFalse(sql.contains("t.loan_id = l.id and"), sql);
+        Assertions.assertTrue(sql.contains("group by t.loan_id) tc on tc.loan_id = l.id"), sql);
+        Assertions.assertTrue(sql.contains("group by s.loan_id) ic on ic.loan_id = l.id"), sql);
+        Assertions.assertTrue(sql.endsWith("order by l.id"), sql);
+        Assertions.assertEquals(LocalDate.parse("2023-06-27"), paramsCaptor.getValue().getValue("businessDate"));
+    }
+
+    @Test
+    public void testRetrieveLoanCOBCostSummaryAggregatesPerScheduleType() throws Exception {
+        RetrieveAllNonClosedLoanIdServiceImpl service = new RetrieveAllNonClosedLoanIdServiceImpl(loanRepository,
+                namedParameterJdbcTemplate);
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        Mockito.when(rs.getLong("loan_count")).thenReturn(2L, 3L);
+        Mockito.when(rs.getLong("transaction_count")).thenReturn(10L, 4L);
+        Mockito.when(rs.getLong("installment_count")).thenReturn(6L, 8L);
+        Mockito.when(rs.getString("schedule_type")).thenReturn("PROGRESSIVE", "CUMULATIVE");
+        Mockito.doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(namedParameterJdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        LoanCOBCostSummary summary = service.retrieveLoanCOBCostSummary(1L, LocalDate.parse("2023-06-28"), true);
+
+        Assertions.assertEquals(5L, summary.loanCount());
+        Assertions.assertEquals((2.0 + 10.0 + 3.0) * 2.0 + (3.0 + 4.0 + 4.0), summary.totalCost(), 1e-9);
+        Mockito.verify(namedParameterJdbcTemplate, times(1)).query(sqlCaptor.capture(), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+        Assertions.assertTrue(normalize(sqlCaptor.getValue()).endsWith("group by c.schedule_type"));
+    }
+
     private String normalize(String str) {
         return str.replaceAll(" +", " ").replaceAll("\r?\n", "");
     }
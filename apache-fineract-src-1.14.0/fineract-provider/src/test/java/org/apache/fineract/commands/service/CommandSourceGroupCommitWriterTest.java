@@ -0,0 +1,223 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CommandSourceGroupCommitWriterTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default",
+            ZoneId.systemDefault().toString(), null);
+
+    @Mock
+    private CommandSourceService commandSourceService;
+
+    @Mock
+    private CommandSourceRepository commandSourceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+
+    private CommandSourceGroupCommitWriter underTest;
+
+    @BeforeEach
+    void setUp() {
+        var groupCommit = new FineractProperties.FineractCommandSourceGroupCommitProperties();
+        groupCommit.setEnabled(true);
+        groupCommit.setMaxBatchSize(3);
+        groupCommit.setMaxDelayInMillis(10_000);
+        var commandSource = new FineractProperties.FineractCommandSourceProperties();
+        commandSource.setGroupCommit(groupCommit);
+        fineractProperties.setCommandSource(commandSource);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+        when(commandSourceRepository.save(any(CommandSource.class))).thenAnswer(i -> i.getArgument(0));
+        underTest = new CommandSourceGroupCommitWriter(commandSourceService, commandSourceRepository, fineractProperties,
+                transactionManager);
+        ThreadLocalContextUtil.setTenant(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testConcurrentWritesShareOneTransaction() throws Exception {
+        // given
+        List<CommandSource> commandSources = List.of(new CommandSource(), new CommandSource(), new CommandSource());
+        // when
+        List<CommandSource> saved = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(commandSources.size());
+        try {
+            List<Future<CommandSource>> futures = new ArrayList<>();
+            for (CommandSource commandSource : commandSources) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalContextUtil.setTenant(TENANT);
+                    return underTest.saveResult(commandSource);
+                }));
+            }
+            for (Future<CommandSource> future : futures) {
+                saved.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // then
+        assertEquals(commandSources, saved);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(commandSourceRepository, times(3)).save(any(CommandSource.class));
+        verify(commandSourceRepository, times(1)).flush();
+    }
+
+    @Test
+    void testFailedGroupFallsBackToSingleWrite() {
+        // given
+        fineractProperties.getCommandSource().getGroupCommit().setMaxBatchSize(1);
+        CommandSource commandSource = new CommandSource();
+        CommandSource fallback = mock(CommandSource.class);
+        when(commandSourceRepository.save(commandSource)).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(commandSourceService.saveResultNewTransaction(commandSource)).thenReturn(fallback);
+        // when
+        CommandSource saved = underTest.saveResult(commandSource);
+        // then
+        assertSame(fallback, saved);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testFollowerFallsBackToSingleWriteWhenNotPickedUpInTime() throws Exception {
+        // given
+        fineractProperties.getCommandSource().getGroupCommit().setMaxDelayInMillis(1_000);
+        fineractProperties.getCommandSource().getGroupCommit().setMaxWaitInMillis(50);
+        CommandSource first = new CommandSource();
+        CommandSource second = new CommandSource();
+        CommandSource fallback = mock(CommandSource.class);
+        when(commandSourceService.saveResultNewTransaction(any(CommandSource.class))).thenReturn(fallback);
+        // when
+        List<CommandSource> saved = saveConcurrently(List.of(first, second));
+        // then
+        assertEquals(1, saved.stream().filter(s -> s == fallback).count());
+        verify(commandSourceService, times(1)).saveResultNewTransaction(any(CommandSource.class));
+        verify(commandSourceRepository, times(1)).save(any(CommandSource.class));
+    }
+
+    @Test
+    void testFollowersAreReleasedWhenGroupFailsWithError() throws Exception {
+        // given
+        fineractProperties.getCommandSource().getGroupCommit().setMaxBatchSize(2);
+        fineractProperties.getCommandSource().getGroupCommit().setMaxWaitInMillis(60_000);
+        CommandSource first = new CommandSource();
+        CommandSource second = new CommandSource();
+        CommandSource fallback = mock(CommandSource.class);
+        when(commandSourceRepository.save(any(CommandSource.class))).thenThrow(new AssertionError("unexpected"));
+        when(commandSourceService.saveResultNewTransaction(any(CommandSource.class))).thenReturn(fallback);
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Object> outcomes = new ArrayList<>();
+        try {
+            List<Future<CommandSource>> futures = new ArrayList<>();
+            for (CommandSource commandSource : List.of(first, second)) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalContextUtil.setTenant(TENANT);
+                    return underTest.saveResult(commandSource);
+                }));
+            }
+            for (Future<CommandSource> future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // then the leader reports the error, the follower is not left waiting and writes on its own
+        assertEquals(1, outcomes.stream().filter(o -> o == fallback).count());
+        assertInstanceOf(AssertionError.class, outcomes.stream().filter(o -> o != fallback).findFirst().orElseThrow());
+    }
+
+    @Test
+    void testCanGroupCommitOnlyWhenEnabled() {
+        // given
+        assertTrue(underTest.canGroupCommit());
+        // when
+        fineractProperties.getCommandSource().getGroupCommit().setEnabled(false);
+        // then
+        assertFalse(underTest.canGroupCommit());
+    }
+
+    private List<CommandSource> saveConcurrently(List<CommandSource> commandSources) throws Exception {
+        List<CommandSource> saved = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(commandSources.size());
+        try {
+            List<Future<CommandSource>> futures = new ArrayList<>();
+            for (CommandSource commandSource : commandSources) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalContextUtil.setTenant(TENANT);
+                    return underTest.saveResult(commandSource);
+                }));
+            }
+            for (Future<CommandSource> future : futures) {
+                saved.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return saved;
+    }
+}
@@ -89,6 +89,8 @@ public class SynchronousCommandProcessingServiceTest {
     private IdempotencyKeyResolver idempotencyKeyResolver;
     @Mock
     private CommandSourceService commandSourceService;
+    @Mock
+    private CommandSourceGroupCommitWriter commandSourceGroupCommitWriter;
 
     @Mock
     private RetryRegistry retryRegistry;
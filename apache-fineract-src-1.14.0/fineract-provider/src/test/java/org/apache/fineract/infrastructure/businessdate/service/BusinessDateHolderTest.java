@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.businessdate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDate;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BusinessDateHolderTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private BusinessDateRepository repository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FineractProperties.FineractBusinessDateProperties businessDateProperties;
+    private BusinessDateHolder underTest;
+
+    @BeforeEach
+    public void setUp() {
+        businessDateProperties = new FineractProperties.FineractBusinessDateProperties();
+        businessDateProperties.setCacheEnabled(true);
+        businessDateProperties.setVersionCheckIntervalInMillis(60_000);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setBusinessDate(businessDateProperties);
+        underTest = new BusinessDateHolder(repository, jdbcTemplate, fineractProperties);
+
+        given(repository.findAll()).willReturn(List.of(BusinessDate.instance(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+        given(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).willReturn("1:0");
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testBusinessDatesShouldBeLoadedOncePerTenant() {
+        // when
+        Map<BusinessDateType, LocalDate> first = underTest.getStoredBusinessDates();
+        Map<BusinessDateType, LocalDate> second = underTest.getStoredBusinessDates();
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(2L).tenantIdentifier("other").build());
+        underTest.getStoredBusinessDates();
+        // then
+        assertEquals(BUSINESS_DATE, first.get(BusinessDateType.BUSINESS_DATE));
+        assertEquals(first, second);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void testBusinessDatesShouldBeReadEveryTimeWhenCacheIsDisabled() {
+        // given
+        businessDateProperties.setCacheEnabled(false);
+        // when
+        underTest.getStoredBusinessDates();
+        underTest.getStoredBusinessDates();
+        // then
+        verify(repository, times(2)).findAll();
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    public void testEvictShouldReloadBusinessDates() {
+        // given
+        underTest.getStoredBusinessDates();
+        // when
+        underTest.evict();
+        underTest.getStoredBusinessDates();
+        // then
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void testChangeOnOtherNodeShouldBeDetectedByVersionCheck() {
+        // given
+        businessDateProperties.setVersionCheckIntervalInMillis(0);
+        underTest.getStoredBusinessDates();
+        // when
+        underTest.getStoredBusinessDates();
+        given(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).willReturn("1:1");
+        given(repository.findAll()).willReturn(List.of(BusinessDate.instance(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE.plusDays(1))));
+        Map<BusinessDateType, LocalDate> changed = underTest.getStoredBusinessDates();
+        // then
+        assertEquals(BUSINESS_DATE.plusDays(1), changed.get(BusinessDateType.BUSINESS_DATE));
+        verify(repository, times(2)).findAll();
+    }
+}
@@ -70,6 +70,9 @@ public class BusinessDateWritePlatformServiceTest {
     @Mock
     private ConfigurationDomainService configurationDomainService;
 
+    @Mock
+    private BusinessDateHolder businessDateHolder;
+
     @Captor
     private ArgumentCaptor<BusinessDate> businessDateArgumentCaptor;
 
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationBus;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.cache.key.TenantCacheKey;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleKey;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ClusterInvalidatingCacheTest {
+
+    private final List<CacheInvalidationMessage> published = new ArrayList<>();
+    private final CacheInvalidationBus bus = new CacheInvalidationBus() {
+
+        @Override
+        public void publish(CacheInvalidationMessage message) {
+            published.add(message);
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidationMessage> listener) {}
+    };
+
+    private ConcurrentMapCache localCache;
+    private ClusterInvalidatingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        localCache = new ConcurrentMapCache("code_values");
+        cache = new ClusterInvalidatingCache(localCache, bus);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictWithoutTransactionPublishesKeyImmediately() {
+        cache.put("defaultcv", "value");
+
+        cache.evict("defaultcv");
+
+        assertNull(localCache.get("defaultcv"));
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "defaultcv")), published);
+    }
+
+    @Test
+    void nonStringKeyIsPublishedAsClear() {
+        cache.evict(new SimpleKey("USD"));
+
+        assertEquals(1, published.size());
+        assertTrue(published.get(0).isClear());
+    }
+
+    @Test
+    void tenantCacheKeyIsPublishedInItsStringFormAndEvictedOnTheReceiver() {
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+        TenantCacheKey key = TenantCacheKey.of(5L);
+        TenantCacheKey otherKey = TenantCacheKey.of(6L);
+
+        cache.evict(key);
+
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", key.toExternalForm())), published);
+
+        ConcurrentMapCache remoteLocalCache = new ConcurrentMapCache("code_values");
+        ClusterInvalidatingCache remoteCache = new ClusterInvalidatingCache(remoteLocalCache, bus);
+        remoteCache.put(TenantCacheKey.of(5L), "old");
+        remoteCache.put(otherKey, "other");
+        remoteCache.apply(published.get(0));
+
+        assertNull(remoteLocalCache.get(key));
+        assertNotNull(remoteLocalCache.get(otherKey));
+    }
+
+    @Test
+    void evictInsideTransactionIsPublishedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put("defaultcv", "old");
+
+        cache.evict("defaultcv");
+        // a concurrent reader repopulates the entry before the commit
+        cache.put("defaultcv", "old");
+
+        assertTrue(published.isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertNull(localCache.get("defaultcv"));
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "defaultcv")), published);
+    }
+
+    @Test
+    void remoteInvalidationIsAppliedWithoutRepublishing() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.apply(CacheInvalidationMessage.evict("code_values", "a"));
+        assertNull(localCache.get("a"));
+        assertNotNull(localCache.get("b"));
+
+        cache.apply(CacheInvalidationMessage.clear("code_values"));
+        assertNull(localCache.get("b"));
+        assertTrue(published.isEmpty());
+    }
+}
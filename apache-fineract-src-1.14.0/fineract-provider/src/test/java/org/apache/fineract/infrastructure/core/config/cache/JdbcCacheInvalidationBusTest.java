@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.config.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.fineract.infrastructure.cache.invalidation.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheInvalidation;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class JdbcCacheInvalidationBusTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    private final InMemoryInvalidationTable table = new InMemoryInvalidationTable();
+    private final List<CacheInvalidationMessage> received = new ArrayList<>();
+    private final FineractCacheInvalidation properties = new FineractCacheInvalidation();
+    private JdbcCacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setPollInterval(Duration.ofHours(1));
+        properties.setBatchSize(2);
+        DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+        given(sqlGenerator.limit(anyInt())).willAnswer(invocation -> "LIMIT " + invocation.getArgument(0));
+        bus = new JdbcCacheInvalidationBus(table, sqlGenerator, properties);
+        bus.subscribe(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.destroy();
+    }
+
+    @Test
+    void rowsOfOtherNodesAreDeliveredOnce() {
+        bus.afterPropertiesSet();
+        table.commit(1, OTHER_NODE, "code_values", "a");
+        bus.publish(CacheInvalidationMessage.evict("code_values", "own"));
+        table.commit(3, OTHER_NODE, "code_values", "b");
+        table.commit(4, OTHER_NODE, "code_values", "c");
+
+        bus.poll();
+        bus.poll();
+
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "a"), CacheInvalidationMessage.evict("code_values", "b"),
+                CacheInvalidationMessage.evict("code_values", "c")), received);
+    }
+
+    @Test
+    void lateCommittedLowerIdIsDeliveredByTheNextPoll() {
+        bus.afterPropertiesSet();
+        table.commit(1, OTHER_NODE, "code_values", "a");
+        // id 2 is assigned to a transaction that commits after id 3
+        table.commit(3, OTHER_NODE, "code_values", "c");
+
+        bus.poll();
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "a"), CacheInvalidationMessage.evict("code_values", "c")),
+                received);
+
+        table.commit(2, OTHER_NODE, "code_values", "b");
+        bus.poll();
+        bus.poll();
+
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "a"), CacheInvalidationMessage.evict("code_values", "c"),
+                CacheInvalidationMessage.evict("code_values", "b")), received);
+    }
+
+    @Test
+    void gapIsGivenUpAfterTheTimeout() {
+        properties.setGapTimeout(Duration.ZERO);
+        bus.afterPropertiesSet();
+        table.commit(1, OTHER_NODE, "code_values", "a");
+        table.commit(3, OTHER_NODE, "code_values", "c");
+
+        bus.poll();
+        // the gap of id 2 times out
+        bus.poll();
+        table.commit(2, OTHER_NODE, "code_values", "b");
+        bus.poll();
+
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "a"), CacheInvalidationMessage.evict("code_values", "c")),
+                received);
+        assertEquals(0, bus.getGapCount());
+    }
+
+    @Test
+    void restartOnPurgedTableDoesNotTrackTheIdsBeforeTheFirstRow() {
+        table.commit(1_000_000, OTHER_NODE, "code_values", "old");
+        table.purge();
+        bus.afterPropertiesSet();
+
+        table.commit(1_000_001, OTHER_NODE, "code_values", "a");
+        table.commit(1_000_003, OTHER_NODE, "code_values", "c");
+        bus.poll();
+        assertEquals(1, bus.getGapCount());
+
+        table.commit(1_000_002, OTHER_NODE, "code_values", "b");
+        bus.poll();
+
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "a"), CacheInvalidationMessage.evict("code_values", "c"),
+                CacheInvalidationMessage.evict("code_values", "b")), received);
+        assertEquals(0, bus.getGapCount());
+    }
+
+    @Test
+    void sequenceJumpTracksAtMostBatchSizeGaps() {
+        bus.afterPropertiesSet();
+        table.commit(1, OTHER_NODE, "code_values", "a");
+        table.commit(1_000_000, OTHER_NODE, "code_values", "b");
+
+        bus.poll();
+
+        assertEquals(properties.getBatchSize(), bus.getGapCount());
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "a"), CacheInvalidationMessage.evict("code_values", "b")),
+                received);
+    }
+
+    @Test
+    void pollStartsAfterTheRowsWrittenBeforeStartup() {
+        table.commit(1, OTHER_NODE, "code_values", "a");
+        bus.afterPropertiesSet();
+
+        table.commit(2, OTHER_NODE, "code_values", "b");
+        bus.poll();
+
+        assertEquals(List.of(CacheInvalidationMessage.evict("code_values", "b")), received);
+    }
+
+    private record StoredRow(long id, String nodeId, String cacheName, String cacheKey) {
+    }
+
+    /**
+     * Answers the statements of the bus from a list of committed rows; rows are visible once committed, in any id order.
+     */
+    private static final class InMemoryInvalidationTable extends JdbcTemplate {
+
+        private final List<StoredRow> rows = new ArrayList<>();
+        private long sequence;
+
+        void commit(long id, String nodeId, String cacheName, String cacheKey) {
+            rows.add(new StoredRow(id, nodeId, cacheName, cacheKey));
+            sequence = Math.max(sequence, id);
+        }
+
+        /**
+         * Deletes every row like the retention purge does; the sequence keeps counting from the highest id.
+         */
+        void purge() {
+            rows.clear();
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return requiredType.cast(maxId());
+        }
+
+        private long maxId() {
+            return rows.stream().mapToLong(StoredRow::id).max().orElse(0);
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("INSERT")) {
+                rows.add(new StoredRow(++sequence, (String) args[0], (String) args[1], (String) args[2]));
+                return 1;
+            }
+            return 0;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            Stream<StoredRow> selected;
+            if (sql.contains("WHERE id > ?")) {
+                int limit = Integer.parseInt(sql.substring(sql.lastIndexOf("LIMIT ") + 6).trim());
+                selected = rows.stream().filter(row -> row.id() > (Long) args[0]).sorted(Comparator.comparingLong(StoredRow::id))
+                        .limit(limit);
+            } else {
+                List<Object> ids = Arrays.asList(args);
+                selected = rows.stream().filter(row -> ids.contains(row.id()));
+            }
+            List<T> result = new ArrayList<>();
+            for (StoredRow row : selected.toList()) {
+                result.add(map(rowMapper, row));
+            }
+            return result;
+        }
+
+        private static <T> T map(RowMapper<T> rowMapper, StoredRow row) {
+            try {
+                ResultSet resultSet = mock(ResultSet.class);
+                given(resultSet.getLong("id")).willReturn(row.id());
+                given(resultSet.getString("node_id")).willReturn(row.nodeId());
+                given(resultSet.getString("cache_name")).willReturn(row.cacheName());
+                given(resultSet.getString("cache_key")).willReturn(row.cacheKey());
+                return rowMapper.mapRow(resultSet, 0);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
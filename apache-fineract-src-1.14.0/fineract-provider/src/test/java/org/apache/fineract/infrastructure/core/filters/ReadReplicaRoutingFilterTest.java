@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.filters;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaStalenessGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReadReplicaRoutingFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final AtomicBoolean replicaAllowed = new AtomicBoolean();
+
+    private ReadReplicaRoutingFilter underTest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setMode(new FineractProperties.FineractModeProperties());
+        fineractProperties.getMode().getReadReplica().setEnabled(true);
+        fineractProperties.getMode().getReadReplica().setPrimaryStickiness(Duration.ofMinutes(1));
+        underTest = new ReadReplicaRoutingFilter(new ReadReplicaStalenessGuard(fineractProperties));
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Asia/Kolkata", null));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("mifos", "password"));
+        doAnswer(invocation -> {
+            replicaAllowed.set(ReadReplicaRoutingContext.isReplicaAllowed());
+            return null;
+        }).when(filterChain).doFilter(request, response);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testGetRequestIsAllowedOnReplica() throws Exception {
+        // given
+        given(request.getMethod()).willReturn("GET");
+
+        // when
+        underTest.doFilterInternal(request, response, filterChain);
+
+        // then
+        assertTrue(replicaAllowed.get());
+        assertFalse(ReadReplicaRoutingContext.isReplicaAllowed());
+    }
+
+    @Test
+    public void testPostRequestIsNotAllowedOnReplica() throws Exception {
+        // given
+        given(request.getMethod()).willReturn("POST");
+
+        // when
+        underTest.doFilterInternal(request, response, filterChain);
+
+        // then
+        assertFalse(replicaAllowed.get());
+    }
+
+    @Test
+    public void testGetRequestStaysOnPrimaryAfterWriteOfSameUser() throws Exception {
+        // given
+        given(request.getMethod()).willReturn("PUT", "GET");
+        underTest.doFilterInternal(request, response, filterChain);
+
+        // when
+        underTest.doFilterInternal(request, response, filterChain);
+
+        // then
+        assertFalse(replicaAllowed.get());
+    }
+
+    @Test
+    public void testGetRequestStaysOnPrimaryWhileWriteOfSameUserIsRunning() throws Exception {
+        // given
+        given(request.getMethod()).willReturn("POST");
+        HttpServletRequest concurrentRead = mock(HttpServletRequest.class);
+        given(concurrentRead.getMethod()).willReturn("GET");
+        AtomicBoolean concurrentReadAllowedOnReplica = new AtomicBoolean(true);
+        FilterChain readChain = mock(FilterChain.class);
+        doAnswer(invocation -> {
+            concurrentReadAllowedOnReplica.set(ReadReplicaRoutingContext.isReplicaAllowed());
+            return null;
+        }).when(readChain).doFilter(concurrentRead, response);
+        doAnswer(invocation -> {
+            underTest.doFilterInternal(concurrentRead, response, readChain);
+            return null;
+        }).when(filterChain).doFilter(request, response);
+
+        // when
+        underTest.doFilterInternal(request, response, filterChain);
+
+        // then
+        assertFalse(concurrentReadAllowedOnReplica.get());
+    }
+
+    @Test
+    public void testReadWriteTransactionOfGetRequestIsNotAllowedOnReplica() throws Exception {
+        // given
+        given(request.getMethod()).willReturn("GET");
+        doAnswer(invocation -> {
+            ReadReplicaRoutingContext.beginTransaction(false);
+            try {
+                replicaAllowed.set(ReadReplicaRoutingContext.isReplicaAllowed());
+            } finally {
+                ReadReplicaRoutingContext.endTransaction();
+            }
+            return null;
+        }).when(filterChain).doFilter(request, response);
+
+        // when
+        underTest.doFilterInternal(request, response, filterChain);
+
+        // then
+        assertFalse(replicaAllowed.get());
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.key.TenantCacheKeyGenerator;
+import org.apache.fineract.infrastructure.codes.service.CodeValueWritePlatformService;
+import org.apache.fineract.infrastructure.codes.service.CodeValueWritePlatformServiceJpaRepositoryImpl;
+import org.apache.fineract.infrastructure.codes.service.CodeWritePlatformService;
+import org.apache.fineract.infrastructure.codes.service.CodeWritePlatformServiceJpaRepositoryImpl;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+
+/**
+ * Runs the caching annotations of the datatable column headers through a Spring cache proxy; the services behind the
+ * proxies are mocks, only the cache behaviour is verified.
+ */
+@SpringJUnitConfig(DatatableColumnHeaderCacheTest.CacheTestConfiguration.class)
+class DatatableColumnHeaderCacheTest {
+
+    private static final FineractPlatformTenant DEFAULT_TENANT = FineractPlatformTenant.builder().id(1L).tenantIdentifier("default")
+            .build();
+    private static final FineractPlatformTenant OTHER_TENANT = FineractPlatformTenant.builder().id(2L).tenantIdentifier("other").build();
+
+    @Autowired
+    private GenericDataService genericDataService;
+    @Autowired
+    private DatatableWriteService datatableWriteService;
+    @Autowired
+    private CodeValueWritePlatformService codeValueWritePlatformService;
+    @Autowired
+    private CodeWritePlatformService codeWritePlatformService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private GenericDataService headerSource;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        headerSource = AopTestUtils.getTargetObject(genericDataService);
+        clearInvocations(headerSource);
+        given(headerSource.fillResultsetColumnHeaders(anyString())).willAnswer(invocation -> new ArrayList<ResultsetColumnHeaderData>());
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testHeadersAreServedFromCache() {
+        // given
+        List<ResultsetColumnHeaderData> first = genericDataService.fillResultsetColumnHeaders("dt_a");
+        // when
+        List<ResultsetColumnHeaderData> second = genericDataService.fillResultsetColumnHeaders("dt_a");
+        // then
+        assertSame(first, second);
+        verify(headerSource, times(1)).fillResultsetColumnHeaders("dt_a");
+    }
+
+    @Test
+    void testHeadersAreCachedPerTenantAndTable() {
+        // given
+        List<ResultsetColumnHeaderData> defaultHeaders = genericDataService.fillResultsetColumnHeaders("dt_a");
+        genericDataService.fillResultsetColumnHeaders("dt_b");
+        // when
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        List<ResultsetColumnHeaderData> otherHeaders = genericDataService.fillResultsetColumnHeaders("dt_a");
+        // then
+        assertNotSame(defaultHeaders, otherHeaders);
+        verify(headerSource, times(2)).fillResultsetColumnHeaders("dt_a");
+        verify(headerSource, times(1)).fillResultsetColumnHeaders("dt_b");
+    }
+
+    @Test
+    void testUpdateDatatableEvictsOnlyItsTableOfTheCurrentTenant() {
+        // given
+        Headers cached = fillHeaders();
+        // when
+        datatableWriteService.updateDatatable("dt_a", null);
+        // then
+        assertEvicted(cached, true, false, false);
+    }
+
+    @Test
+    void testDeleteDatatableEvictsOnlyItsTableOfTheCurrentTenant() {
+        // given
+        Headers cached = fillHeaders();
+        // when
+        datatableWriteService.deleteDatatable("dt_a");
+        // then
+        assertEvicted(cached, true, false, false);
+    }
+
+    @Test
+    void testCreateDatatableEvictsAllHeaders() {
+        // given
+        Headers cached = fillHeaders();
+        // when
+        datatableWriteService.createDatatable(null);
+        // then
+        assertEvicted(cached, true, true, true);
+    }
+
+    @Test
+    void testCodeValueChangesEvictAllHeaders() {
+        Headers cached = fillHeaders();
+        codeValueWritePlatformService.createCodeValue(null);
+        assertEvicted(cached, true, true, true);
+
+        cached = fillHeaders();
+        codeValueWritePlatformService.updateCodeValue(1L, null);
+        assertEvicted(cached, true, true, true);
+
+        cached = fillHeaders();
+        codeValueWritePlatformService.deleteCodeValue(1L, 2L);
+        assertEvicted(cached, true, true, true);
+    }
+
+    @Test
+    void testCodeChangesEvictAllHeaders() {
+        Headers cached = fillHeaders();
+        codeWritePlatformService.updateCode(1L, null);
+        assertEvicted(cached, true, true, true);
+
+        cached = fillHeaders();
+        codeWritePlatformService.deleteCode(1L);
+        assertEvicted(cached, true, true, true);
+    }
+
+    private Headers fillHeaders() {
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        List<ResultsetColumnHeaderData> otherA = genericDataService.fillResultsetColumnHeaders("dt_a");
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        return new Headers(genericDataService.fillResultsetColumnHeaders("dt_a"), genericDataService.fillResultsetColumnHeaders("dt_b"),
+                otherA);
+    }
+
+    private void assertEvicted(Headers cached, boolean defaultA, boolean defaultB, boolean otherA) {
+        assertCached(cached.defaultA(), "dt_a", !defaultA);
+        assertCached(cached.defaultB(), "dt_b", !defaultB);
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        assertCached(cached.otherA(), "dt_a", !otherA);
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+    }
+
+    private void assertCached(List<ResultsetColumnHeaderData> cached, String tableName, boolean expectCached) {
+        List<ResultsetColumnHeaderData> current = genericDataService.fillResultsetColumnHeaders(tableName);
+        if (expectCached) {
+            assertSame(cached, current, tableName + " of " + ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+        } else {
+            assertNotSame(cached, current, tableName + " of " + ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+        }
+    }
+
+    private record Headers(List<ResultsetColumnHeaderData> defaultA, List<ResultsetColumnHeaderData> defaultB,
+            List<ResultsetColumnHeaderData> otherA) {
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CacheTestConfiguration {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        KeyGenerator tenantKeyGenerator() {
+            return new TenantCacheKeyGenerator(false);
+        }
+
+        @Bean
+        GenericDataService genericDataService() {
+            return mock(GenericDataServiceImpl.class);
+        }
+
+        @Bean
+        DatatableWriteService datatableWriteService() {
+            return mock(DatatableWriteServiceImpl.class);
+        }
+
+        @Bean
+        CodeValueWritePlatformService codeValueWritePlatformService() {
+            return mock(CodeValueWritePlatformServiceJpaRepositoryImpl.class);
+        }
+
+        @Bean
+        CodeWritePlatformService codeWritePlatformService() {
+            return mock(CodeWritePlatformServiceJpaRepositoryImpl.class);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.RoutingDataSource;
+import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
+import org.apache.fineract.infrastructure.dataqueries.service.export.JsonDatatableReportExportService;
+import org.apache.fineract.infrastructure.dataqueries.service.export.ResponseHolder;
+import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class JsonDatatableReportExportServiceTest {
+
+    private final List<ResultsetColumnHeaderData> columnHeaders = List.of(
+            ResultsetColumnHeaderData.basic("id", "BIGINT", DatabaseType.MYSQL),
+            ResultsetColumnHeaderData.basic("name", "VARCHAR", DatabaseType.MYSQL),
+            ResultsetColumnHeaderData.basic("opened_on", "DATE", DatabaseType.MYSQL));
+    private final List<List<Object>> rows = List.of(Arrays.asList(1L, "Jane \"JD\" Doe", LocalDate.of(2024, 1, 15)),
+            Arrays.asList(2L, null, null));
+
+    private ReadReportingService readReportingService;
+    private GenericDataService genericDataService;
+    private JsonDatatableReportExportService underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        readReportingService = mock(ReadReportingService.class);
+        genericDataService = new GenericDataServiceImpl(mock(JdbcTemplate.class), mock(RoutingDataSource.class),
+                mock(DatabaseIndependentQueryService.class), mock(DatatableKeywordGenerator.class), mock(DatabaseTypeResolver.class),
+                mock(FineractProperties.class));
+        underTest = new JsonDatatableReportExportService(readReportingService, genericDataService);
+        doAnswer(invocation -> {
+            GenericResultsetRowHandler handler = invocation.getArgument(4);
+            handler.processColumnHeaders(columnHeaders);
+            for (List<Object> row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(readReportingService).streamGenericResultset(eq("clientListing"), eq("report"), anyMap(), anyBoolean(), any());
+    }
+
+    @Test
+    void testStreamedGenericResultsetMatchesSerializedResultset() throws IOException {
+        String json = export(new MultivaluedStringMap());
+
+        assertEquals(GoogleGsonSerializerHelper.createSimpleGson().toJson(materializedResultset()), json);
+    }
+
+    @Test
+    void testStreamedPlainJsonMatchesGeneratedJson() throws IOException {
+        MultivaluedMap<String, String> queryParams = new MultivaluedStringMap();
+        queryParams.add("genericResultSet", "false");
+
+        String json = export(queryParams);
+
+        assertEquals(genericDataService.generateJsonFromGenericResultsetData(materializedResultset()), json);
+    }
+
+    private String export(MultivaluedMap<String, String> queryParams) throws IOException {
+        ResponseHolder response = underTest.export("clientListing", queryParams, Map.of(), false, "report");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.entity()).write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private GenericResultsetData materializedResultset() {
+        List<ResultsetRowData> data = new ArrayList<>();
+        for (List<Object> row : rows) {
+            data.add(ResultsetRowData.create(row));
+        }
+        return new GenericResultsetData(columnHeaders, data);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.dataqueries.service.ReportSqlTemplate.ReportSql;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs report SQL written the way the built-in reports are written against PostgreSQL, where quoted values are compared
+ * with date and number columns, passed to functions and selected as columns.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class ReportSqlTemplatePostgreSQLTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 1, 31);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 31, 10, 30);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:16");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    public static void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES_CONTAINER.getJdbcUrl(), POSTGRES_CONTAINER.getUsername(),
+                POSTGRES_CONTAINER.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table m_report_test (id bigint primary key, office_id bigint, hierarchy varchar(100), "
+                + "submitted_on_date date, settlement_date date)");
+        jdbcTemplate.update("insert into m_report_test values (1, 1, '.', '2024-01-31', '2024-01-15')");
+        jdbcTemplate.update("insert into m_report_test values (2, 2, '.2.', '2024-01-30', '2024-02-15')");
+    }
+
+    @Test
+    public void quotedValuesTakeTheTypeOfTheirContext() {
+        ReportSqlTemplate template = ReportSqlTemplate.parse("select '${endDate}' as transaction_date, t.id from m_report_test t "
+                + "where t.submitted_on_date = '${endDate}' and t.settlement_date < '${endDate}' "
+                + "and (t.office_id = '${officeId}' or '-1' = '${officeId}') and t.hierarchy like concat('${currentUserHierarchy}', '%') "
+                + "and t.submitted_on_date between date('${startDate}') and CURRENT_DATE and t.settlement_date < NOW()", false);
+
+        Map<String, String> values = Map.of("startDate", "2024-01-01", "endDate", "2024-01-31", "officeId", "-1", "currentUserHierarchy",
+                ".");
+        ReportSql sql = template.bind(values, BUSINESS_DATE, NOW);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql.sql(), sql.params());
+
+        assertEquals(1, rows.size());
+        assertEquals(1L, ((Number) rows.get(0).get("id")).longValue());
+        assertEquals("2024-01-31", rows.get(0).get("transaction_date"));
+    }
+
+    @Test
+    public void sqlWithoutQuotedValuesIsBound() {
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select t.id from m_report_test t where t.office_id = ${officeId} and t.submitted_on_date <= curdate()", false);
+
+        ReportSql first = template.bind(Map.of("officeId", "2"), BUSINESS_DATE, NOW);
+        ReportSql second = template.bind(Map.of("officeId", "2"), BUSINESS_DATE.minusDays(1), NOW);
+
+        assertEquals(first.sql(), second.sql());
+        assertEquals(List.of(2L), jdbcTemplate.queryForList(first.sql(), Long.class, first.params()));
+        assertEquals(List.of(2L), jdbcTemplate.queryForList(second.sql(), Long.class, second.params()));
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.apache.fineract.infrastructure.dataqueries.service.ReportSqlTemplate.ReportSql;
+import org.junit.jupiter.api.Test;
+
+public class ReportSqlTemplateTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 15);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 15, 10, 30);
+
+    @Test
+    public void quotedPlaceholdersAreBoundAsParameters() {
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select * from m_loan l where l.disbursedon_date >= '${startDate}' and l.product_id = ${productId}", true);
+
+        ReportSql sql = template.bind(Map.of("startDate", "2024-01-01", "productId", "3"), BUSINESS_DATE, NOW);
+
+        assertEquals("select * from m_loan l where l.disbursedon_date >= ? and l.product_id = 3", sql.sql());
+        assertArrayEquals(new Object[] { "2024-01-01" }, sql.params());
+    }
+
+    @Test
+    public void sqlTextIsStableBetweenRuns() {
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select * from m_office o where o.hierarchy like concat('${hierarchy}', '%')", true);
+
+        ReportSql first = template.bind(Map.of("hierarchy", "."), BUSINESS_DATE, NOW);
+        ReportSql second = template.bind(Map.of("hierarchy", ".1."), BUSINESS_DATE, NOW);
+
+        assertEquals(first.sql(), second.sql());
+        assertArrayEquals(new Object[] { ".1." }, second.params());
+    }
+
+    @Test
+    public void currentDateFunctionsAreBound() {
+        ReportSqlTemplate template = ReportSqlTemplate.parse("select NOW(), CURDATE(), current_date from dual", true);
+
+        ReportSql sql = template.bind(Map.of(), BUSINESS_DATE, NOW);
+
+        assertEquals("select ?, ?, ? from dual", sql.sql());
+        assertArrayEquals(new Object[] { NOW, BUSINESS_DATE, BUSINESS_DATE }, sql.params());
+    }
+
+    @Test
+    public void currentDateFunctionsAreKeptWithoutValue() {
+        ReportSqlTemplate template = ReportSqlTemplate.parse("select now() from dual where id = ${id}", true);
+
+        ReportSql sql = template.bind(Map.of("id", "1"), null, null);
+
+        assertEquals("select now() from dual where id = 1", sql.sql());
+        assertEquals(0, sql.params().length);
+    }
+
+    @Test
+    public void placeholdersWithoutValueAreLeftAsTheyAre() {
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select * from m_client where office_id = ${officeId} and name = '${name}'", true);
+
+        ReportSql sql = template.bind(Map.of(), BUSINESS_DATE, NOW);
+
+        assertEquals("select * from m_client where office_id = ${officeId} and name = ?", sql.sql());
+        assertArrayEquals(new Object[] { "${name}" }, sql.params());
+    }
+
+    @Test
+    public void valuesAreSubstitutedAsLiteralsWhenNotBound() {
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select '${endDate}' as d from m_loan l where l.name = '${name}' and l.created_on_utc < now()", false);
+
+        ReportSql sql = template.bind(Map.of("endDate", "2024-01-31", "name", "O'Brien"), BUSINESS_DATE, NOW);
+
+        assertEquals("select '2024-01-31' as d from m_loan l where l.name = 'O''Brien' and l.created_on_utc < ?", sql.sql());
+        assertArrayEquals(new Object[] { NOW }, sql.params());
+    }
+}
@@ -21,14 +21,19 @@ package org.apache.fineract.infrastructure.event.business.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Optional;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -39,6 +44,7 @@ import org.apache.fineract.infrastructure.event.external.service.ExternalEventSe
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -64,6 +70,9 @@ class BusinessEventNotifierServiceImplTest {
     @Mock
     private TransactionHelper transactionHelper;
 
+    @Mock
+    private Optional<MeterRegistry> meterRegistry;
+
     @InjectMocks
     private BusinessEventNotifierServiceImpl underTest;
 
@@ -86,7 +95,7 @@ class BusinessEventNotifierServiceImplTest {
         verifyNoInteractions(externalEventService);
         // simulate finish transaction
         underTest.beforeCommit(mockTransaction);
-        verify(externalEventService).postEvent(event);
+        verify(externalEventService).postEvent(event, true);
         underTest.afterCommit(mockTransaction, null);
         verifyNoInteractions(mockTransaction);
     }
@@ -125,14 +134,38 @@ class BusinessEventNotifierServiceImplTest {
         // simulate commit nested transaction
         underTest.beforeCommit(mockTransaction);
         underTest.afterCommit(mockTransaction, null);
-        verify(externalEventService).postEvent(nestedEvent);
+        verify(externalEventService).postEvent(nestedEvent, true);
         // simulate commit outer transaction
         underTest.beforeCommit(mockTransaction);
-        verify(externalEventService).postEvent(event);
+        verify(externalEventService).postEvent(event, true);
         underTest.afterCommit(mockTransaction, null);
         verifyNoInteractions(mockTransaction);
     }
 
+    @Test
+    public void testEventsCollectedWithinTransactionShouldBePostedWithOneFlush() {
+        // given
+        setBusinessDate();
+        configureExternalEventsProperties(true);
+        MockBusinessEvent event = new MockBusinessEvent();
+        MockBusinessEvent event2 = new MockBusinessEvent();
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, mockListener());
+        TransactionExecution mockTransaction = mock(TransactionExecution.class);
+        when(externalBusinessEventConfigurationService.isExternalEventConfiguredForPosting(Mockito.any())).thenReturn(true);
+        when(transactionHelper.hasTransaction()).thenReturn(true);
+        underTest.afterBegin(mockTransaction, null);
+        underTest.notifyPostBusinessEvent(event);
+        underTest.notifyPostBusinessEvent(event2);
+        // when
+        underTest.beforeCommit(mockTransaction);
+        // then
+        InOrder inOrder = inOrder(externalEventService);
+        inOrder.verify(externalEventService).postEvent(event, true);
+        inOrder.verify(externalEventService).postEvent(event2, false);
+        inOrder.verify(externalEventService).flushBufferedEvents();
+        underTest.afterCommit(mockTransaction, null);
+    }
+
     @Test
     public void testNotifyPostBusinessEventShouldCollectEventsWithinTransactionInNestedRollbackTransaction() {
         // given
@@ -162,7 +195,7 @@ class BusinessEventNotifierServiceImplTest {
         verifyNoInteractions(externalEventService);
         // simulate commit outer transaction
         underTest.beforeCommit(mockTransaction);
-        verify(externalEventService).postEvent(event);
+        verify(externalEventService).postEvent(event, true);
         underTest.afterCommit(mockTransaction, null);
         verifyNoInteractions(mockTransaction);
     }
@@ -324,6 +357,46 @@ class BusinessEventNotifierServiceImplTest {
         verifyNoInteractions(externalEventService);
     }
 
+    @Test
+    public void testNotifyPreBusinessEventShouldNotifyListenersOfSupertypesAndListenersRegisteredLater() {
+        // given
+        MockBusinessEvent event = new MockBusinessEvent();
+        MockBusinessEvent laterEvent = new MockBusinessEvent();
+        BusinessEventListener<MockBusinessEvent> preListener = mockListener();
+        BusinessEventListener<BusinessEvent> supertypeListener = mock(BusinessEventListener.class);
+        BusinessEventListener<MockBusinessEvent> laterListener = mockListener();
+        underTest.addPreBusinessEventListener(MockBusinessEvent.class, preListener);
+        underTest.addPreBusinessEventListener(BusinessEvent.class, supertypeListener);
+        underTest.notifyPreBusinessEvent(event);
+        // when
+        underTest.addPreBusinessEventListener(MockBusinessEvent.class, laterListener);
+        underTest.notifyPreBusinessEvent(laterEvent);
+        // then
+        verify(preListener).onBusinessEvent(event);
+        verify(preListener).onBusinessEvent(laterEvent);
+        verify(supertypeListener).onBusinessEvent(event);
+        verify(supertypeListener).onBusinessEvent(laterEvent);
+        verify(laterListener, never()).onBusinessEvent(event);
+        verify(laterListener).onBusinessEvent(laterEvent);
+    }
+
+    @Test
+    public void testNotifyPreBusinessEventShouldRecordListenerTimings() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BusinessEventNotifierServiceImpl timedService = new BusinessEventNotifierServiceImpl(externalEventService, fineractProperties,
+                transactionHelper, externalBusinessEventConfigurationService, Optional.of(registry));
+        BusinessEventListener<MockBusinessEvent> preListener = mockListener();
+        timedService.addPreBusinessEventListener(MockBusinessEvent.class, preListener);
+        // when
+        timedService.notifyPreBusinessEvent(new MockBusinessEvent());
+        timedService.notifyPreBusinessEvent(new MockBusinessEvent());
+        // then
+        Timer timer = registry.find("fineract.events.business.listener").tags("phase", "pre", "event", "MockBusinessEvent").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
     private void configureExternalEventsProperties(boolean isExternalEventsEnabled) {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
@@ -133,6 +133,7 @@ class SendAsynchronousEventsTaskletTest {
         externalProperties.setThreadPoolCorePoolSize(1);
         externalProperties.setThreadPoolMaxPoolSize(1);
         externalProperties.setThreadPoolQueueCapacity(10);
+        externalProperties.setRelay(new FineractProperties.FineractExternalEventsRelayProperties());
         eventsProperties.setExternal(externalProperties);
         when(fineractProperties.getEvents()).thenReturn(eventsProperties);
         when(configurationDomainService.retrieveExternalEventBatchSize()).thenReturn(10L);
@@ -150,7 +151,7 @@ class SendAsynchronousEventsTaskletTest {
 
         when(repository.findByStatusOrderByBusinessDateAscIdAsc(Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(byteBufferConverter.serialize(Mockito.any(MessageV1.class))).thenReturn(new byte[0]);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
@@ -171,7 +172,7 @@ class SendAsynchronousEventsTaskletTest {
                 "anidempotencyKey", "aSchema", ByteBuffer.wrap("dummy".getBytes(StandardCharsets.UTF_8)));
         when(repository.findByStatusOrderByBusinessDateAscIdAsc(Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(byteBufferConverter.serialize(Mockito.any(MessageV1.class))).thenReturn(new byte[0]);
         doThrow(new AcknowledgementTimeoutException("Event Send Exception", new RuntimeException())).when(eventProducer)
                 .sendEvents(Mockito.any());
         // when
@@ -190,7 +191,7 @@ class SendAsynchronousEventsTaskletTest {
                 "anidempotencyKey", "aSchema", ByteBuffer.wrap("dummy".getBytes(StandardCharsets.UTF_8)));
         when(repository.findByStatusOrderByBusinessDateAscIdAsc(Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(byteBufferConverter.serialize(Mockito.any(MessageV1.class))).thenReturn(new byte[0]);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
@@ -212,7 +213,7 @@ class SendAsynchronousEventsTaskletTest {
         when(repository.findByStatusOrderByBusinessDateAscIdAsc(Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
         byte[] byteMsg = new byte[0];
-        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(byteMsg);
+        when(byteBufferConverter.serialize(Mockito.any(MessageV1.class))).thenReturn(byteMsg);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
@@ -236,6 +237,18 @@ class SendAsynchronousEventsTaskletTest {
         assertThat(externalEventPageSizeArgumentCaptor.getValue().getPageSize()).isEqualTo(10);
     }
 
+    @Test
+    public void givenRelayEnabledWhenTaskExecutionThenNoEventsAreSent() throws Exception {
+        // given
+        fineractProperties.getEvents().getExternal().getRelay().setEnabled(true);
+        // when
+        resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository, times(0)).findByStatusOrderByBusinessDateAscIdAsc(Mockito.any(), Mockito.any());
+        verify(eventProducer, times(0)).sendEvents(Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
     private ExternalEventView createExternalEventView(String type, String category, String schema, byte[] data, String idempotencyKey,
             Long aggregateRootId) {
         ExternalEventView result = Mockito.mock(ExternalEventView.class);
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.relay;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.avro.MessageV1;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExternalEventRelayWorkerTest {
+
+    @Mock
+    private ExternalEventRepository repository;
+    @Mock
+    private ExternalEventProducer eventProducer;
+    @Mock
+    private MessageFactory messageFactory;
+    @Mock
+    private ByteBufferConverter byteBufferConverter;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<ExternalEventView> outbox = List.of(createExternalEventView(1L, 10L), createExternalEventView(2L, 20L),
+            createExternalEventView(3L, 10L));
+    private final byte[] message = new byte[0];
+    private final Set<Long> sentIds = ConcurrentHashMap.newKeySet();
+    private ThreadPoolTaskExecutor markAsSentExecutor;
+    private ExternalEventRelayWorker underTest;
+    private Thread workerThread;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        FineractProperties.FineractExternalEventsRelayProperties relayProperties = new FineractProperties.FineractExternalEventsRelayProperties();
+        relayProperties.setEnabled(true);
+        relayProperties.setBatchSize(2);
+        relayProperties.setMaxInFlightBatches(2);
+        relayProperties.setIdlePollIntervalInMillis(10L);
+        externalProperties.setRelay(relayProperties);
+        externalProperties.setPartitionSize(5000);
+        eventsProperties.setExternal(externalProperties);
+        fineractProperties.setEvents(eventsProperties);
+
+        markAsSentExecutor = new ThreadPoolTaskExecutor();
+        markAsSentExecutor.setMaxPoolSize(2);
+        markAsSentExecutor.initialize();
+
+        MessageV1 dummyMessage = new MessageV1(1L, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", ByteBuffer.wrap("dummy".getBytes(StandardCharsets.UTF_8)));
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.serialize(Mockito.any(MessageV1.class))).thenReturn(message);
+        when(repository.findByStatusAndIdGreaterThanOrderByIdAsc(Mockito.eq(ExternalEventStatus.TO_BE_SENT), Mockito.anyLong(),
+                Mockito.any(Pageable.class))).thenAnswer(invocation -> {
+                    long cursor = invocation.getArgument(1);
+                    Pageable pageable = invocation.getArgument(2);
+                    return outbox.stream().filter(event -> event.getId() > cursor && !sentIds.contains(event.getId()))
+                            .limit(pageable.getPageSize()).toList();
+                });
+        doAnswer(invocation -> {
+            sentIds.addAll(invocation.getArgument(0));
+            return null;
+        }).when(repository).markEventsSent(Mockito.any(), Mockito.any());
+
+        underTest = new ExternalEventRelayWorker(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null),
+                fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
+                new TransactionTemplate(transactionManager), markAsSentExecutor, new SimpleMeterRegistry());
+        workerThread = new Thread(underTest);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        underTest.stop();
+        workerThread.join(TimeUnit.SECONDS.toMillis(10));
+        markAsSentExecutor.shutdown();
+    }
+
+    @Test
+    public void givenQueuedEventsWhenRelayRunsThenBatchesAreSentInOrderAndMarkedAsSent() {
+        // when
+        workerThread.start();
+        // then
+        Awaitility.await().atMost(10L, TimeUnit.SECONDS).until(() -> sentIds.containsAll(List.of(1L, 2L, 3L)));
+        InOrder inOrder = inOrder(eventProducer);
+        inOrder.verify(eventProducer).sendEvents(Map.of(10L, List.of(message), 20L, List.of(message)));
+        inOrder.verify(eventProducer).sendEvents(Map.of(10L, List.of(message)));
+        verify(repository).markEventsSent(Mockito.eq(List.of(1L, 2L)), Mockito.any());
+        verify(repository).markEventsSent(Mockito.eq(List.of(3L)), Mockito.any());
+    }
+
+    @Test
+    public void givenSendFailsWhenRelayRunsThenEventsAreNotMarkedAndReadAgain() {
+        // given
+        doThrow(new AcknowledgementTimeoutException("Event Send Exception", new RuntimeException())).when(eventProducer)
+                .sendEvents(Mockito.any());
+        // when
+        workerThread.start();
+        // then
+        Awaitility.await().atMost(10L, TimeUnit.SECONDS).untilAsserted(() -> {
+            verify(repository, Mockito.atLeast(2)).findByStatusAndIdGreaterThanOrderByIdAsc(Mockito.eq(ExternalEventStatus.TO_BE_SENT),
+                    Mockito.eq(0L), Mockito.any(Pageable.class));
+        });
+        verify(repository, never()).markEventsSent(Mockito.any(), Mockito.any());
+    }
+
+    private static ExternalEventView createExternalEventView(Long id, Long aggregateRootId) {
+        ExternalEventView result = Mockito.mock(ExternalEventView.class);
+        Mockito.when(result.getId()).thenReturn(id);
+        Mockito.when(result.getType()).thenReturn("aType");
+        Mockito.when(result.getCategory()).thenReturn("aCategory");
+        Mockito.when(result.getSchema()).thenReturn("aSchema");
+        Mockito.when(result.getData()).thenReturn(new byte[0]);
+        Mockito.when(result.getIdempotencyKey()).thenReturn("aIdempotencyKey");
+        Mockito.when(result.getAggregateRootId()).thenReturn(aggregateRootId);
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExternalEventBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    private ExternalEventBatchWriter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractExternalEventsBatchInsertProperties batchInsert =
+                new FineractProperties.FineractExternalEventsBatchInsertProperties();
+        batchInsert.setEnabled(true);
+        batchInsert.setBatchSize(100);
+        FineractProperties.FineractExternalEventsProperties external = new FineractProperties.FineractExternalEventsProperties();
+        external.setBatchInsert(batchInsert);
+        FineractProperties.FineractEventsProperties events = new FineractProperties.FineractEventsProperties();
+        events.setExternal(external);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setEvents(events);
+        given(sqlGenerator.escape(anyString())).willAnswer(invocation -> "\"" + invocation.getArgument(0) + "\"");
+        underTest = new ExternalEventBatchWriter(jdbcTemplate, sqlGenerator, fineractProperties);
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null));
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(underTest);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testCanBufferShouldBeFalseWithoutTransaction() {
+        assertThat(underTest.canBuffer()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBufferedEventsShouldBeWrittenInOneBatchBeforeCommitInOrder() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        ExternalEvent first = new ExternalEvent("TypeA", "Category", "SchemaA", new byte[] { 1 }, "key-1", 1L);
+        ExternalEvent second = new ExternalEvent("TypeB", "Category", "SchemaB", new byte[] { 2 }, "key-2", 2L);
+        // when
+        assertThat(underTest.canBuffer()).isTrue();
+        underTest.buffer(first);
+        underTest.buffer(second);
+        // then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), any(Integer.class),
+                any(ParameterizedPreparedStatementSetter.class));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+
+        List<List<ExternalEvent>> written = new ArrayList<>();
+        given(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), eq(100), any(ParameterizedPreparedStatementSetter.class)))
+                .willAnswer(invocation -> {
+                    written.add(new ArrayList<>(invocation.getArgument(1)));
+                    return new int[0][];
+                });
+        synchronizations.get(0).beforeCommit(false);
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).extracting(ExternalEvent::getIdempotencyKey).containsExactly("key-1", "key-2");
+        assertThat(TransactionSynchronizationManager.getResource(underTest)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEventsBufferedDuringCommitShouldBeWrittenByFlushAndAfterwardsRightAway() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        List<List<ExternalEvent>> written = new ArrayList<>();
+        given(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), eq(100), any(ParameterizedPreparedStatementSetter.class)))
+                .willAnswer(invocation -> {
+                    written.add(new ArrayList<>(invocation.getArgument(1)));
+                    return new int[0][];
+                });
+        // when the first event is buffered after the synchronizations ran their beforeCommit
+        underTest.buffer(new ExternalEvent("TypeA", "Category", "SchemaA", new byte[] { 1 }, "key-1", 1L));
+        underTest.buffer(new ExternalEvent("TypeB", "Category", "SchemaB", new byte[] { 2 }, "key-2", 2L));
+        assertThat(written).isEmpty();
+        underTest.flush();
+        underTest.buffer(new ExternalEvent("TypeC", "Category", "SchemaC", new byte[] { 3 }, "key-3", 3L));
+        // then
+        assertThat(written).hasSize(2);
+        assertThat(written.get(0)).extracting(ExternalEvent::getIdempotencyKey).containsExactly("key-1", "key-2");
+        assertThat(written.get(1)).extracting(ExternalEvent::getIdempotencyKey).containsExactly("key-3");
+    }
+
+    @Test
+    public void testSuspendedTransactionShouldKeepItsOwnBuffer() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        underTest.buffer(new ExternalEvent("TypeA", "Category", "SchemaA", new byte[] { 1 }, "key-1", 1L));
+        TransactionSynchronization outerBuffer = TransactionSynchronizationManager.getSynchronizations().get(0);
+        // when
+        outerBuffer.suspend();
+        // then
+        assertThat(TransactionSynchronizationManager.getResource(underTest)).isNull();
+        outerBuffer.resume();
+        assertThat(TransactionSynchronizationManager.getResource(underTest)).isSameAs(outerBuffer);
+    }
+}
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import jakarta.persistence.EntityManager;
@@ -91,6 +92,8 @@ class ExternalEventServiceTest {
     private LoanTransactionAdjustmentDataV1Enricher loanTransactionAdjustmentDataV1Enricher;
     @Mock
     private LoanTransactionDataV1Enricher loanTransactionDataV1Enricher;
+    @Mock
+    private ExternalEventBatchWriter batchWriter;
 
     private ExternalEventService underTest;
 
@@ -103,7 +106,7 @@ class ExternalEventServiceTest {
         DataEnricherProcessor dataEnricherProcessor = new DataEnricherProcessor(
                 Optional.of(List.of(loanAccountDataV1Enricher, loanTransactionAdjustmentDataV1Enricher, loanTransactionDataV1Enricher)));
         underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
-                bulkMessageItemFactory, dataEnricherProcessor);
+                bulkMessageItemFactory, dataEnricherProcessor, batchWriter);
         underTest.setEntityManager(entityManager);
         FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null);
         ThreadLocalContextUtil.setTenant(tenant);
@@ -134,13 +137,13 @@ class ExternalEventServiceTest {
         given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
         ByteBufferSerializable byteBuffer = mock(LoanAccountDataV1.class);
         given(eventSerializer.toAvroDTO(event)).willReturn(byteBuffer);
-        given(byteBuffer.toByteBuffer()).willThrow(new IOException(""));
+        given(byteBufferConverter.serialize(byteBuffer)).willThrow(new IOException(""));
         // when & then
         assertThatThrownBy(() -> underTest.postEvent(event)).isExactlyInstanceOf(RuntimeException.class);
     }
 
     @Test
-    public void testPostEventShouldWorkWithRegularEvent() {
+    public void testPostEventShouldWorkWithRegularEvent() throws IOException {
         // given
         ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
 
@@ -157,7 +160,7 @@ class ExternalEventServiceTest {
         LoanAccountDataV1 loanAccountData = new LoanAccountDataV1();
         given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
         given(eventSerializer.toAvroDTO(event)).willReturn(loanAccountData);
-        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        given(byteBufferConverter.serialize(any(ByteBufferSerializable.class))).willReturn(data);
         // when
         underTest.postEvent(event);
         // then
@@ -186,7 +189,7 @@ class ExternalEventServiceTest {
 
         given(bulkMessageItemFactory.createBulkMessageItem(1, event)).willReturn(messageItem);
         given(idempotencyKeyGenerator.generate(bulkEvent)).willReturn(idempotencyKey);
-        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        given(byteBufferConverter.serialize(any(ByteBufferSerializable.class))).willReturn(data);
         // when
         underTest.postEvent(bulkEvent);
         // then
@@ -250,7 +253,7 @@ class ExternalEventServiceTest {
     }
 
     @Test
-    public void testPostEventShouldWorkWithTransactionEvent() {
+    public void testPostEventShouldWorkWithTransactionEvent() throws IOException {
         // given
         ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
 
@@ -267,7 +270,7 @@ class ExternalEventServiceTest {
         LoanTransactionDataV1 loanTransactionData = new LoanTransactionDataV1();
         given(eventSerializer.getSupportedSchema()).will(invocation -> LoanTransactionDataV1.class);
         given(eventSerializer.toAvroDTO(event)).willReturn(loanTransactionData);
-        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        given(byteBufferConverter.serialize(any(ByteBufferSerializable.class))).willReturn(data);
         // when
         underTest.postEvent(event);
         // then
@@ -282,7 +285,7 @@ class ExternalEventServiceTest {
     }
 
     @Test
-    public void testPostEventShouldWorkWithTransactionAdjustEvent() {
+    public void testPostEventShouldWorkWithTransactionAdjustEvent() throws IOException {
         // given
         ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
 
@@ -299,7 +302,7 @@ class ExternalEventServiceTest {
         LoanTransactionAdjustmentDataV1 loanTransactionAdjustmentData = new LoanTransactionAdjustmentDataV1();
         given(eventSerializer.getSupportedSchema()).will(invocation -> LoanTransactionAdjustmentDataV1.class);
         given(eventSerializer.toAvroDTO(event)).willReturn(loanTransactionAdjustmentData);
-        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        given(byteBufferConverter.serialize(any(ByteBufferSerializable.class))).willReturn(data);
         // when
         underTest.postEvent(event);
         // then
@@ -312,4 +315,53 @@ class ExternalEventServiceTest {
         assertThat(externalEvent.getType()).isEqualTo(eventType);
         assertThat(externalEvent.getSchema()).isEqualTo(eventSchema);
     }
+
+    @Test
+    public void testPostEventShouldBufferEventWhenBatchInsertIsPossible() throws IOException {
+        // given
+        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
+        String eventType = "TestType";
+        String idempotencyKey = "key";
+        BusinessEvent event = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        byte[] data = new byte[0];
+
+        given(batchWriter.canBuffer()).willReturn(true);
+        given(event.getType()).willReturn(eventType);
+        given(idempotencyKeyGenerator.generate(event)).willReturn(idempotencyKey);
+        given(serializerFactory.create(event)).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
+        given(byteBufferConverter.serialize(any(ByteBufferSerializable.class))).willReturn(data);
+        // when
+        underTest.postEvent(event);
+        // then
+        verify(entityManager).flush();
+        verify(batchWriter).buffer(externalEventArgumentCaptor.capture());
+        verify(repository, never()).save(any(ExternalEvent.class));
+        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
+        assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
+        assertThat(externalEvent.getData()).isEqualTo(data);
+        assertThat(externalEvent.getType()).isEqualTo(eventType);
+    }
+
+    @Test
+    public void testPostEventShouldNotFlushWhenAskedNotTo() throws IOException {
+        // given
+        BusinessEvent event = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+
+        given(batchWriter.canBuffer()).willReturn(true);
+        given(event.getType()).willReturn("TestType");
+        given(idempotencyKeyGenerator.generate(event)).willReturn("key");
+        given(serializerFactory.create(event)).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.toAvroDTO(event)).willReturn(new LoanAccountDataV1());
+        given(byteBufferConverter.serialize(any(ByteBufferSerializable.class))).willReturn(new byte[0]);
+        // when
+        underTest.postEvent(event, false);
+        // then
+        verify(entityManager, never()).flush();
+        verify(batchWriter).buffer(any(ExternalEvent.class));
+    }
 }
@@ -0,0 +1,297 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.processor;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WebHookDeliveryServiceTest {
+
+    private static final long DELIVERY_ID = 7L;
+
+    @Mock
+    private HookDeliveryRepository repository;
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default Tenant", "Asia/Kolkata", null);
+    private final List<String> receivedRequests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseCode = new AtomicInteger(200);
+    private HttpServer endpoint;
+    private FineractProperties.FineractHookDeliveryProperties deliveryProperties;
+    private WebHookDeliveryService underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        endpoint = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        endpoint.createContext("/", exchange -> {
+            receivedRequests.add(exchange.getRequestHeaders().getFirst(WebHookService.ENTITY_HEADER) + " "
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(responseCode.get(), -1);
+            exchange.close();
+        });
+        endpoint.start();
+
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        deliveryProperties = new FineractProperties.FineractHookDeliveryProperties();
+        deliveryProperties.setEnabled(true);
+        deliveryProperties.setBatchSize(10);
+        deliveryProperties.setMaxConcurrencyPerEndpoint(2);
+        deliveryProperties.setMaxAttempts(3);
+        deliveryProperties.setInitialBackoffInMillis(1000L);
+        deliveryProperties.setMaxBackoffInMillis(5000L);
+        deliveryProperties.setLeaseInMillis(60000L);
+        deliveryProperties.setPollIntervalInMillis(1000L);
+        deliveryProperties.setFailedRetentionInMillis(86_400_000L);
+        eventsProperties.setHookDelivery(deliveryProperties);
+        fineractProperties.setEvents(eventsProperties);
+
+        when(repository.saveAndFlush(any(HookDelivery.class))).thenAnswer(invocation -> {
+            HookDelivery delivery = invocation.getArgument(0);
+            delivery.setId(DELIVERY_ID);
+            return delivery;
+        });
+        when(tenantDetailsService.findAllTenants()).thenReturn(List.of(tenant));
+
+        underTest = new WebHookDeliveryService(fineractProperties, tenantDetailsService, repository, new ProcessorHelper(),
+                new TransactionTemplate(transactionManager), Optional.of(new SimpleMeterRegistry()));
+        ThreadLocalContextUtil.setTenant(tenant);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        ThreadLocalContextUtil.reset();
+        underTest.destroy();
+        endpoint.stop(0);
+    }
+
+    @Test
+    public void testEnqueueDeliversPayloadAndDeletesDelivery() {
+        // when
+        underTest.enqueue(createHook(), getEndpointUrl(), "json", "{\"clientId\":1}", "CLIENT", "CREATE");
+
+        // then
+        verify(repository, timeout(5000)).deleteDelivered(DELIVERY_ID);
+        verify(repository, never()).markAttemptFailed(any(), any(), anyInt(), any(), any());
+        assertEquals(List.of("CLIENT {\"clientId\":1}"), receivedRequests);
+    }
+
+    @Test
+    public void testFailedAttemptIsScheduledForRetry() {
+        // given
+        responseCode.set(500);
+
+        // when
+        underTest.enqueue(createHook(), getEndpointUrl(), "json", "{\"clientId\":1}", "CLIENT", "CREATE");
+
+        // then
+        verify(repository, timeout(5000)).markAttemptFailed(eq(DELIVERY_ID), eq(HookDeliveryStatus.PENDING), eq(1), eq("HTTP 500"),
+                any());
+        verify(repository, never()).deleteDelivered(any());
+    }
+
+    @Test
+    public void testLastFailedAttemptMarksDeliveryAsFailed() {
+        // given
+        responseCode.set(503);
+        HookDelivery delivery = createDelivery(2);
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(HookDeliveryStatus.PENDING), any(), any()))
+                .thenReturn(List.of(delivery));
+        when(repository.lease(eq(DELIVERY_ID), any(), any())).thenReturn(1);
+
+        // when
+        underTest.pollAllTenants();
+
+        // then
+        verify(repository, timeout(5000)).markAttemptFailed(eq(DELIVERY_ID), eq(HookDeliveryStatus.FAILED), eq(3), eq("HTTP 503"),
+                any());
+    }
+
+    @Test
+    public void testDeliveryLeasedByAnotherInstanceIsSkipped() {
+        // given
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(HookDeliveryStatus.PENDING), any(), any()))
+                .thenReturn(List.of(createDelivery(0)));
+        when(repository.lease(eq(DELIVERY_ID), any(), any())).thenReturn(0);
+
+        // when
+        underTest.pollAllTenants();
+
+        // then
+        assertEquals(List.of(), receivedRequests);
+    }
+
+    @Test
+    public void testDeliveryWaitingForEndpointIsSentWhenLeaseIsRenewed() throws Exception {
+        // given
+        Semaphore permits = blockEndpoint();
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(HookDeliveryStatus.PENDING), any(), any()))
+                .thenReturn(List.of(createDelivery(0)));
+        when(repository.lease(eq(DELIVERY_ID), eq(0L), any())).thenReturn(1);
+        when(repository.lease(eq(DELIVERY_ID), eq(1L), any())).thenReturn(1);
+
+        // when
+        underTest.pollAllTenants();
+        await().atMost(5, TimeUnit.SECONDS).until(permits::hasQueuedThreads);
+        permits.release();
+
+        // then
+        verify(repository, timeout(5000)).deleteDelivered(DELIVERY_ID);
+        verify(repository).lease(eq(DELIVERY_ID), eq(1L), any());
+        assertEquals(List.of("CLIENT {\"clientId\":1}"), receivedRequests);
+    }
+
+    @Test
+    public void testDeliveryLeasedByAnotherInstanceWhileWaitingForEndpointIsSkipped() throws Exception {
+        // given
+        Semaphore permits = blockEndpoint();
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(HookDeliveryStatus.PENDING), any(), any()))
+                .thenReturn(List.of(createDelivery(0)));
+        when(repository.lease(eq(DELIVERY_ID), eq(0L), any())).thenReturn(1);
+        when(repository.lease(eq(DELIVERY_ID), eq(1L), any())).thenReturn(0);
+
+        // when
+        underTest.pollAllTenants();
+        await().atMost(5, TimeUnit.SECONDS).until(permits::hasQueuedThreads);
+        permits.release();
+
+        // then
+        verify(repository, timeout(5000)).lease(eq(DELIVERY_ID), eq(1L), any());
+        await().atMost(5, TimeUnit.SECONDS).until(() -> permits.availablePermits() == 1);
+        verify(repository, never()).deleteDelivered(any());
+        verify(repository, never()).markAttemptFailed(any(), any(), anyInt(), any(), any());
+        assertEquals(List.of(), receivedRequests);
+    }
+
+    @Test
+    public void testFailedDeliveriesArePurgedAfterRetention() {
+        // given
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(HookDeliveryStatus.PENDING), any(), any()))
+                .thenReturn(List.of());
+        OffsetDateTime before = DateUtils.getAuditOffsetDateTime().minusDays(1);
+
+        // when
+        underTest.pollAllTenants();
+        underTest.pollAllTenants();
+
+        // then purged once per purge interval
+        ArgumentCaptor<OffsetDateTime> purgeBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(repository, times(1)).purge(eq(HookDeliveryStatus.FAILED), purgeBefore.capture());
+        assertFalse(purgeBefore.getValue().isBefore(before));
+        assertTrue(purgeBefore.getValue().isBefore(DateUtils.getAuditOffsetDateTime().minusHours(23)));
+    }
+
+    @Test
+    public void testFailedDeliveriesAreKeptWithoutRetention() {
+        // given
+        deliveryProperties.setFailedRetentionInMillis(0L);
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(HookDeliveryStatus.PENDING), any(), any()))
+                .thenReturn(List.of());
+
+        // when
+        underTest.pollAllTenants();
+
+        // then
+        verify(repository, never()).purge(any(), any());
+    }
+
+    @Test
+    public void testBackoffDoublesUntilMaximum() {
+        assertEquals(1000L, underTest.getBackoffInMillis(1));
+        assertEquals(2000L, underTest.getBackoffInMillis(2));
+        assertEquals(4000L, underTest.getBackoffInMillis(3));
+        assertEquals(5000L, underTest.getBackoffInMillis(4));
+        assertEquals(5000L, underTest.getBackoffInMillis(100));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Semaphore blockEndpoint() {
+        Semaphore permits = new Semaphore(0);
+        ((Map<String, Semaphore>) ReflectionTestUtils.getField(underTest, "endpointPermits")).put(getEndpointUrl(), permits);
+        return permits;
+    }
+
+    private HookDelivery createDelivery(int attempts) {
+        OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+        HookDelivery delivery = new HookDelivery(11L, getEndpointUrl(), "json", "CLIENT", "CREATE", "{\"clientId\":1}", now, now);
+        delivery.setId(DELIVERY_ID);
+        ReflectionTestUtils.setField(delivery, "attempts", attempts);
+        ReflectionTestUtils.setField(delivery, "version", 0L);
+        return delivery;
+    }
+
+    private Hook createHook() {
+        Hook hook = new Hook();
+        hook.setId(11L);
+        return hook;
+    }
+
+    private String getEndpointUrl() {
+        return "http://127.0.0.1:" + endpoint.getAddress().getPort() + "/";
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CredentialCachingAuthenticationProviderTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FineractProperties.FineractSecurityCredentialCache credentialCache;
+    private CredentialCachingAuthenticationProvider underTest;
+
+    @BeforeEach
+    public void setUp() {
+        credentialCache = new FineractProperties.FineractSecurityCredentialCache();
+        credentialCache.setEnabled(true);
+        credentialCache.setTtlInSeconds(60);
+        credentialCache.setMaxSize(100);
+        FineractProperties.FineractSecurityProperties.FineractSecurityBasicAuth basicAuth =
+                new FineractProperties.FineractSecurityProperties.FineractSecurityBasicAuth();
+        basicAuth.setEnabled(true);
+        basicAuth.setCredentialCache(credentialCache);
+        FineractProperties.FineractSecurityProperties security = new FineractProperties.FineractSecurityProperties();
+        security.setBasicauth(basicAuth);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSecurity(security);
+
+        underTest = new CredentialCachingAuthenticationProvider(fineractProperties, Optional.of(meterRegistry));
+        underTest.setUserDetailsService(userDetailsService);
+        underTest.setPasswordEncoder(passwordEncoder);
+        given(passwordEncoder.matches("password", "{bcrypt}hash-1")).willReturn(true);
+        given(passwordEncoder.matches("password", "{bcrypt}hash-2")).willReturn(true);
+        given(userDetailsService.loadUserByUsername("mifos")).willReturn(user("{bcrypt}hash-1", true));
+
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testVerifiedCredentialsShouldBeReused() {
+        // when
+        underTest.authenticate(token("password"));
+        underTest.authenticate(token("password"));
+        // then
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        assertThat(meterRegistry.find("fineract.security.authentication.cpu").tag("outcome", "cached")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCpuTimeShouldNotBeRecordedOnVirtualThreads() throws Exception {
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(1L).tenantIdentifier("default").build());
+                try {
+                    underTest.authenticate(token("password"));
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }).get();
+        }
+        // then
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        assertThat(meterRegistry.find("fineract.security.authentication.cpu").timer()).isNull();
+    }
+
+    @Test
+    public void testCacheShouldNotBeUsedWhenDisabled() {
+        // given
+        credentialCache.setEnabled(false);
+        // when
+        underTest.authenticate(token("password"));
+        underTest.authenticate(token("password"));
+        // then
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    public void testWrongPasswordShouldNotBeCached() {
+        // when
+        assertThrows(BadCredentialsException.class, () -> underTest.authenticate(token("wrong")));
+        assertThrows(BadCredentialsException.class, () -> underTest.authenticate(token("wrong")));
+        // then
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    public void testPasswordChangeShouldInvalidateCachedCredentials() {
+        // given
+        underTest.authenticate(token("password"));
+        given(userDetailsService.loadUserByUsername("mifos")).willReturn(user("{bcrypt}hash-2", true));
+        // when
+        underTest.authenticate(token("password"));
+        // then
+        verify(passwordEncoder, times(1)).matches("password", "{bcrypt}hash-1");
+        verify(passwordEncoder, times(1)).matches("password", "{bcrypt}hash-2");
+    }
+
+    @Test
+    public void testDisabledUserShouldBeRejectedDespiteCachedCredentials() {
+        // given
+        underTest.authenticate(token("password"));
+        given(userDetailsService.loadUserByUsername("mifos")).willReturn(user("{bcrypt}hash-1", false));
+        // when
+        assertThrows(DisabledException.class, () -> underTest.authenticate(token("password")));
+    }
+
+    @Test
+    public void testCredentialsShouldBeCachedPerTenant() {
+        // given
+        underTest.authenticate(token("password"));
+        ThreadLocalContextUtil.setTenant(FineractPlatformTenant.builder().id(2L).tenantIdentifier("other").build());
+        // when
+        underTest.authenticate(token("password"));
+        // then
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    private UsernamePasswordAuthenticationToken token(String password) {
+        return new UsernamePasswordAuthenticationToken("mifos", password);
+    }
+
+    private User user(String passwordHash, boolean enabled) {
+        return new User("mifos", passwordHash, enabled, true, true, true, List.of());
+    }
+}
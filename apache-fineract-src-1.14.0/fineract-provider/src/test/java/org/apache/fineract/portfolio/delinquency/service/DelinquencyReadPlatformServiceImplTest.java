@@ -25,7 +25,10 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import org.apache.fineract.portfolio.delinquency.data.DelinquencyRangeData;
 import org.apache.fineract.portfolio.delinquency.domain.DelinquencyBucketRepository;
+import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRange;
 import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRangeRepository;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyAction;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyActionRepository;
@@ -43,6 +46,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -78,6 +82,25 @@ class DelinquencyReadPlatformServiceImplTest {
     @InjectMocks
     private DelinquencyReadPlatformServiceImpl underTest;
 
+    @Test
+    public void testCurrentDelinquencyTagsAreRetrievedWithOneQuery() {
+        // given
+        DelinquencyRange range = Mockito.mock(DelinquencyRange.class);
+        DelinquencyRangeData rangeData = Mockito.mock(DelinquencyRangeData.class);
+        List<Long> loanIds = List.of(1L, 2L, 3L);
+        Mockito.when(repositoryLoanDelinquencyTagHistory.findCurrentDelinquencyRangesByLoanIds(loanIds))
+                .thenReturn(List.of(new Object[] { 1L, range }, new Object[] { 3L, range }));
+        Mockito.when(mapperRange.map(range)).thenReturn(rangeData);
+
+        // when
+        Map<Long, DelinquencyRangeData> result = underTest.retrieveCurrentDelinquencyTags(loanIds);
+
+        // then
+        Assertions.assertEquals(Map.of(1L, rangeData, 3L, rangeData), result);
+        Mockito.verify(repositoryLoanDelinquencyTagHistory, Mockito.times(1)).findCurrentDelinquencyRangesByLoanIds(loanIds);
+        Mockito.verifyNoInteractions(loanRepository);
+    }
+
     @Test
     public void testNoEnrichmentWhenThereIsNoDelinquencyAction() {
         // given
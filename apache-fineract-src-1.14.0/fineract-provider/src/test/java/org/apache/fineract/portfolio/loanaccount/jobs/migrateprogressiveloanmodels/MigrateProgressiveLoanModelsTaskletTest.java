@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.migrateprogressiveloanmodels;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.batch.repeat.RepeatStatus.FINISHED;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.service.ProgressiveLoanInterestScheduleModelParserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MigrateProgressiveLoanModelsTaskletTest {
+
+    @Mock
+    private StepContribution stepContribution;
+
+    @Mock
+    private ChunkContext chunkContext;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private ProgressiveLoanInterestScheduleModelParserService progressiveLoanInterestScheduleModelParserService;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> paramsCaptor;
+    @Captor
+    private ArgumentCaptor<TransactionDefinition> transactionDefinitionCaptor;
+
+    @InjectMocks
+    private MigrateProgressiveLoanModelsTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        given(sqlGenerator.limit(anyInt())).willAnswer(invocation -> "LIMIT " + invocation.getArgument(0));
+        given(progressiveLoanInterestScheduleModelParserService.jsonToBinary(anyString()))
+                .willAnswer(invocation -> ((String) invocation.getArgument(0)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testExecuteShouldConvertEveryPageInItsOwnTransaction() throws Exception {
+        // given
+        given(jdbcTemplate.queryForList(anyString(), eq(0L))).willReturn(List.of(row(1L, 0, "{\"a\":1}"), row(2L, 3, "{\"a\":2}")));
+        given(jdbcTemplate.queryForList(anyString(), eq(2L))).willReturn(List.of(row(5L, 1, "{\"a\":5}")));
+        given(jdbcTemplate.queryForList(anyString(), eq(5L))).willReturn(List.of());
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willReturn(new int[] { 1, 1 }, new int[] { 1 });
+        // when
+        RepeatStatus result = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertThat(result).isEqualTo(FINISHED);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq("update m_loan_progressive_model set binary_model=?, version=version+1 "
+                + "where id=? and version=?"), paramsCaptor.capture());
+        List<Object[]> firstPage = paramsCaptor.getAllValues().get(0);
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0)).containsExactly("{\"a\":1}".getBytes(StandardCharsets.UTF_8), 1L, 0);
+        assertThat(firstPage.get(1)).containsExactly("{\"a\":2}".getBytes(StandardCharsets.UTF_8), 2L, 3);
+        List<Object[]> secondPage = paramsCaptor.getAllValues().get(1);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0)).containsExactly("{\"a\":5}".getBytes(StandardCharsets.UTF_8), 5L, 1);
+
+        verify(transactionManager, times(2)).getTransaction(transactionDefinitionCaptor.capture());
+        assertThat(transactionDefinitionCaptor.getAllValues())
+                .allMatch(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    public void testExecuteShouldOnlySelectJsonModelsNotYetConverted() throws Exception {
+        // given
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        given(jdbcTemplate.queryForList(anyString(), eq(0L))).willReturn(List.of());
+        // when
+        RepeatStatus result = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertThat(result).isEqualTo(FINISHED);
+        verify(jdbcTemplate).queryForList(sqlCaptor.capture(), eq(0L));
+        assertThat(sqlCaptor.getValue()).contains("binary_model is null", "json_model is not null", "id > ?", "order by id", "LIMIT 100");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    public void testExecuteShouldSkipRowsChangedConcurrently() throws Exception {
+        // given
+        given(jdbcTemplate.queryForList(anyString(), eq(0L))).willReturn(List.of(row(1L, 0, "{}"), row(2L, 0, "{}")));
+        given(jdbcTemplate.queryForList(anyString(), eq(2L))).willReturn(List.of());
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willReturn(new int[] { 0, 1 });
+        // when
+        RepeatStatus result = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertThat(result).isEqualTo(FINISHED);
+        verify(jdbcTemplate).queryForList(anyString(), eq(2L));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    private static Map<String, Object> row(Long id, int version, String json) {
+        return Map.of("id", id, "version", version, "json_model", json);
+    }
+}
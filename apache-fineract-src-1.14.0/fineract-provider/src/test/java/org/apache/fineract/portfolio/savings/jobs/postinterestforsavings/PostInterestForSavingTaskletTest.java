@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.LongStream;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPosterTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PostInterestForSavingTaskletTest {
+
+    @Mock
+    private SavingsAccountReadPlatformService savingAccountReadPlatformService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private StepContribution stepContribution;
+    @Mock
+    private ChunkContext chunkContext;
+    @Mock
+    private StepContext stepContext;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Long> postedAccountIds = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> posterTenants = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> posterThreads = Collections.synchronizedList(new ArrayList<>());
+    private ThreadPoolTaskExecutor taskExecutor;
+    private PostInterestForSavingTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        when(chunkContext.getStepContext()).thenReturn(stepContext);
+        when(stepContext.getJobParameters()).thenReturn(Map.of("thread-pool-size", "2", "batch-size", "2"));
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix("configurable-");
+        taskExecutor.setCorePoolSize(1);
+        taskExecutor.setMaxPoolSize(1);
+        taskExecutor.initialize();
+        underTest = new PostInterestForSavingTasklet(savingAccountReadPlatformService, configurationDomainService, applicationContext,
+                Optional.of(meterRegistry), taskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenMultiplePagesWhenTaskExecutionThenAllAccountsArePosted() throws Exception {
+        // given
+        List<SavingsAccountData> firstPage = accounts(1, 4);
+        List<SavingsAccountData> secondPage = accounts(5, 7);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), eq(4), anyInt(), eq(0L)))
+                .thenReturn(firstPage);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), eq(4), anyInt(), eq(4L)))
+                .thenReturn(secondPage);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), eq(4), anyInt(), eq(7L)))
+                .thenReturn(List.of());
+        when(applicationContext.getBean(SavingsSchedularInterestPosterTask.class)).thenAnswer(invocation -> recordingTask(false));
+        // when
+        RepeatStatus resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), postedAccountIds.stream().sorted().toList());
+        assertEquals(7.0, meterRegistry.get("fineract.savings.interest.posting.read.accounts").counter().count());
+        assertEquals(7.0, meterRegistry.get("fineract.savings.interest.posting.posted.accounts").counter().count());
+    }
+
+    @Test
+    public void givenFailingWorkUnitWhenTaskExecutionThenOtherWorkUnitsArePosted() throws Exception {
+        // given
+        List<SavingsAccountData> page = accounts(1, 4);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), anyInt(), anyInt(), eq(0L)))
+                .thenReturn(page);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), anyInt(), anyInt(), eq(4L)))
+                .thenReturn(List.of());
+        List<Boolean> failures = Collections.synchronizedList(new ArrayList<>(List.of(true, false)));
+        when(applicationContext.getBean(SavingsSchedularInterestPosterTask.class))
+                .thenAnswer(invocation -> recordingTask(failures.remove(0)));
+        // when
+        underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(2, postedAccountIds.size());
+        assertEquals(2.0, meterRegistry.get("fineract.savings.interest.posting.posted.accounts").counter().count());
+        assertEquals(2.0, meterRegistry.get("fineract.savings.interest.posting.failed.accounts").counter().count());
+    }
+
+    @Test
+    public void givenManagedExecutorWhenTaskExecutionThenPostersRunOnItWithTenantContext() throws Exception {
+        // given
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), anyInt(), anyInt(), eq(0L)))
+                .thenReturn(accounts(1, 4));
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), anyInt(), anyInt(), eq(4L)))
+                .thenReturn(List.of());
+        when(applicationContext.getBean(SavingsSchedularInterestPosterTask.class)).thenAnswer(invocation -> recordingTask(false));
+        // when
+        underTest.execute(stepContribution, chunkContext);
+        // then
+        assertEquals(2, taskExecutor.getCorePoolSize());
+        assertEquals(2, taskExecutor.getMaxPoolSize());
+        assertEquals(List.of("default", "default"), posterTenants);
+        assertTrue(posterThreads.stream().allMatch(name -> name.startsWith("configurable-")), posterThreads.toString());
+        assertEquals("default", ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+    }
+
+    @Test
+    @Timeout(30)
+    public void givenDeadPostersWhenTaskExecutionThenReaderFailsInsteadOfWaiting() {
+        // given
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(anyBoolean(), anyInt(), anyInt(), anyLong()))
+                .thenAnswer(invocation -> {
+                    long maxSavingsId = invocation.getArgument(3);
+                    return maxSavingsId < 100 ? accounts(maxSavingsId + 1, maxSavingsId + 4) : List.of();
+                });
+        // an error is not handled per work unit and ends the poster
+        when(applicationContext.getBean(SavingsSchedularInterestPosterTask.class)).thenThrow(new AssertionError("poster died"));
+        // when
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> underTest.execute(stepContribution, chunkContext));
+        // then
+        assertInstanceOf(AssertionError.class, exception.getCause());
+    }
+
+    @Test
+    public void givenPageWhenSplitThenWorkUnitsHaveBatchSize() {
+        List<List<SavingsAccountData>> workUnits = PostInterestForSavingTasklet.split(accounts(1, 5), 2);
+        assertEquals(List.of(2, 2, 1), workUnits.stream().map(List::size).toList());
+    }
+
+    private SavingsSchedularInterestPosterTask recordingTask(boolean fail) throws JobExecutionException {
+        SavingsSchedularInterestPosterTask task = mock(SavingsSchedularInterestPosterTask.class);
+        List<Collection<SavingsAccountData>> assigned = new ArrayList<>();
+        doAnswer(invocation -> assigned.add(invocation.getArgument(0))).when(task).setSavingAccounts(any());
+        if (fail) {
+            doThrow(new JobExecutionException(List.of(new IllegalStateException("failed")))).when(task).call();
+        } else {
+            doAnswer(invocation -> {
+                assigned.forEach(accounts -> accounts.forEach(account -> postedAccountIds.add(account.getId())));
+                posterTenants.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+                posterThreads.add(Thread.currentThread().getName());
+                return null;
+            }).when(task).call();
+        }
+        return task;
+    }
+
+    private List<SavingsAccountData> accounts(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(id -> {
+            SavingsAccountData account = mock(SavingsAccountData.class);
+            when(account.getId()).thenReturn(id);
+            return account;
+        }).toList();
+    }
+}
@@ -324,6 +324,10 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
     protected SavingsHelper savingsHelper;
     @Transient
     protected List<SavingsAccountTransaction> savingsAccountTransactions = new ArrayList<>();
+    @Transient
+    protected boolean incrementalDailyBalanceRecalculation;
+    @Transient
+    protected LocalDate dailyBalancesStaleFrom;
 
     @Column(name = "deposit_type_enum", insertable = false, updatable = false)
     private Integer depositType;
@@ -1012,8 +1016,14 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
             accountTransactionsSorted = retrieveListOfTransactions();
         }
 
+        final int recalculateFrom = findDailyBalanceRecalculationStart(accountTransactionsSorted);
+        if (recalculateFrom > 0) {
+            runningBalance = findLastBalanceTransactionBefore(accountTransactionsSorted, recalculateFrom).getRunningBalance(this.currency);
+        }
+
         boolean isTransactionsModified = false;
-        for (final SavingsAccountTransaction transaction : accountTransactionsSorted) {
+        for (final SavingsAccountTransaction transaction : accountTransactionsSorted.subList(recalculateFrom,
+                accountTransactionsSorted.size())) {
             if (transaction.isReversed() || transaction.isReversalTransaction()) {
                 transaction.zeroBalanceFields();
             } else {
@@ -1087,11 +1097,16 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
                 accountTransactionsSorted = retrieveListOfTransactions();
             }
         }
-        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate);
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate, recalculateFrom);
     }
 
     protected void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
             final LocalDate interestPostingUpToDate) {
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate, 0);
+    }
+
+    private void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final LocalDate interestPostingUpToDate, final int recalculateFrom) {
         // loop over transactions in reverse
         LocalDate endOfBalanceDate = interestPostingUpToDate;
         for (int i = accountTransactionsSorted.size() - 1; i >= 0; i--) {
@@ -1102,8 +1117,63 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
                 // this transactions transaction date is end of balance date for
                 // previous transaction.
                 endOfBalanceDate = transaction.getTransactionDate().minusDays(1);
+                if (i < recalculateFrom) {
+                    // the end date of the last balance before the recalculated tail is the only one that can change
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Enables recalculating only the tail of the transaction history that changed since the account was loaded, starting
+     * from the running balance persisted on the last transaction before it.
+     */
+    public void setIncrementalDailyBalanceRecalculation(final boolean incrementalDailyBalanceRecalculation) {
+        this.incrementalDailyBalanceRecalculation = incrementalDailyBalanceRecalculation;
+    }
+
+    void markDailyBalancesStaleFrom(final LocalDate transactionDate) {
+        if (transactionDate != null
+                && (this.dailyBalancesStaleFrom == null || DateUtils.isBefore(transactionDate, this.dailyBalancesStaleFrom))) {
+            this.dailyBalancesStaleFrom = transactionDate;
+        }
+    }
+
+    /**
+     * Returns the index of the first transaction whose derived balances have to be recalculated, or 0 for a full
+     * recalculation. Only changes on or after the date of the latest persisted transaction are recalculated
+     * incrementally; back-dated changes, or a tail without a persisted running balance before it, fall back to a full
+     * recalculation.
+     */
+    int findDailyBalanceRecalculationStart(final List<SavingsAccountTransaction> accountTransactionsSorted) {
+        if (!this.incrementalDailyBalanceRecalculation || this.dailyBalancesStaleFrom == null) {
+            return 0;
+        }
+        int recalculateFrom = accountTransactionsSorted.size();
+        while (recalculateFrom > 0) {
+            final SavingsAccountTransaction transaction = accountTransactionsSorted.get(recalculateFrom - 1);
+            if (DateUtils.isBefore(transaction.getTransactionDate(), this.dailyBalancesStaleFrom)) {
+                break;
+            }
+            if (transaction.getId() != null && DateUtils.isAfter(transaction.getTransactionDate(), this.dailyBalancesStaleFrom)) {
+                return 0;
+            }
+            recalculateFrom--;
+        }
+        final SavingsAccountTransaction lastBalance = findLastBalanceTransactionBefore(accountTransactionsSorted, recalculateFrom);
+        return lastBalance == null || lastBalance.getRunningBalance() == null ? 0 : recalculateFrom;
+    }
+
+    private SavingsAccountTransaction findLastBalanceTransactionBefore(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            final SavingsAccountTransaction transaction = accountTransactionsSorted.get(i);
+            if (!transaction.isReversed() && !transaction.isReversalTransaction()) {
+                return transaction;
             }
         }
+        return null;
     }
 
     public SavingsAccountTransaction deposit(final SavingsAccountTransactionDTO transactionDTO, final boolean backdatedTxnsAllowedTill,
@@ -2897,10 +2967,12 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
 
     public void addTransaction(final SavingsAccountTransaction transaction) {
         this.transactions.add(transaction);
+        markDailyBalancesStaleFrom(transaction.getTransactionDate());
     }
 
     public void addTransactionToExisting(final SavingsAccountTransaction transaction) {
         this.savingsAccountTransactions.add(transaction);
+        markDailyBalancesStaleFrom(transaction.getTransactionDate());
     }
 
     public void setStatus(final Integer status) {
@@ -381,6 +381,9 @@ public final class SavingsAccountTransaction extends AbstractAuditableWithUTCDat
 
     public void reverse() {
         this.reversed = true;
+        if (this.savingsAccount != null) {
+            this.savingsAccount.markDailyBalancesStaleFrom(this.dateOf);
+        }
     }
 
     public BigDecimal getAmount() {
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the daily balance recalculation that follows a teller deposit on an account with a long transaction history,
+ * once over the full history and once incrementally over the changed tail.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread) // The tenant and business date are bound to the benchmark thread
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SavingsAccountDailyBalanceBenchmark {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+
+    @Param({ "1000", "10000", "100000" })
+    private int numberOfTransactions;
+
+    private SavingsAccount account;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate start = LocalDate.of(2000, 1, 1);
+        today = start.plusDays(numberOfTransactions / 4 + 1);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, today)));
+        MoneyHelper.initializeTenantRoundingMode("default", 6);
+
+        account = new SavingsAccount();
+        account.currency = CURRENCY;
+        for (int i = 0; i < numberOfTransactions; i++) {
+            LocalDate date = start.plusDays(i / 4);
+            Money amount = Money.of(CURRENCY, BigDecimal.valueOf(10 + i % 7));
+            SavingsAccountTransaction transaction = i % 5 == 4
+                    ? SavingsAccountTransaction.withdrawal(account, null, null, date, amount, null)
+                    : SavingsAccountTransaction.deposit(account, null, null, date, amount, null);
+            transaction.setId((long) i + 1);
+            account.transactions.add(transaction);
+        }
+        account.recalculateDailyBalances(Money.zero(CURRENCY), today, false, false);
+        account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, today, Money.of(CURRENCY, BigDecimal.TEN), null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Benchmark
+    public SavingsAccount fullRecalculation() {
+        account.setIncrementalDailyBalanceRecalculation(false);
+        account.recalculateDailyBalances(Money.zero(CURRENCY), today, false, false);
+        return account;
+    }
+
+    @Benchmark
+    public SavingsAccount incrementalRecalculation() {
+        account.setIncrementalDailyBalanceRecalculation(true);
+        account.recalculateDailyBalances(Money.zero(CURRENCY), today, false, false);
+        return account;
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SavingsAccountDailyBalanceTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, TODAY)));
+        MoneyHelper.initializeTenantRoundingMode("default", 6);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testIncrementalRecalculationMatchesFullRecalculation() {
+        SavingsAccount incremental = persistedAccount(50);
+        SavingsAccount full = persistedAccount(50);
+        incremental.setIncrementalDailyBalanceRecalculation(true);
+
+        incremental.addTransaction(withdrawal(incremental, TODAY, "120"));
+        full.addTransaction(withdrawal(full, TODAY, "120"));
+        incremental.recalculateDailyBalances(Money.zero(CURRENCY), TODAY, false, false);
+        full.recalculateDailyBalances(Money.zero(CURRENCY), TODAY, false, false);
+
+        assertSameBalances(full.retrieveListOfTransactions(), incremental.retrieveListOfTransactions());
+    }
+
+    @Test
+    void testIncrementalRecalculationStartsAtChangedTail() {
+        SavingsAccount account = persistedAccount(10);
+        account.setIncrementalDailyBalanceRecalculation(true);
+        account.addTransaction(deposit(account, START.plusDays(9), "5"));
+
+        // the new deposit shares its date with the last persisted one, both are recalculated
+        assertEquals(9, account.findDailyBalanceRecalculationStart(account.retrieveListOfTransactions()));
+    }
+
+    @Test
+    void testBackdatedChangeFallsBackToFullRecalculation() {
+        SavingsAccount account = persistedAccount(10);
+        account.setIncrementalDailyBalanceRecalculation(true);
+        account.addTransaction(deposit(account, START.plusDays(3), "5"));
+
+        assertEquals(0, account.findDailyBalanceRecalculationStart(account.retrieveListOfTransactions()));
+    }
+
+    @Test
+    void testReversalOfPersistedTransactionFallsBackToFullRecalculation() {
+        SavingsAccount account = persistedAccount(10);
+        account.setIncrementalDailyBalanceRecalculation(true);
+        account.retrieveListOfTransactions().get(2).reverse();
+
+        assertEquals(0, account.findDailyBalanceRecalculationStart(account.retrieveListOfTransactions()));
+    }
+
+    @Test
+    void testWithoutIncrementalModeFullRecalculationIsUsed() {
+        SavingsAccount account = persistedAccount(10);
+        account.addTransaction(deposit(account, TODAY, "5"));
+
+        assertEquals(0, account.findDailyBalanceRecalculationStart(account.retrieveListOfTransactions()));
+    }
+
+    private static SavingsAccount persistedAccount(int numberOfTransactions) {
+        SavingsAccount account = new SavingsAccount();
+        account.currency = CURRENCY;
+        for (int i = 0; i < numberOfTransactions; i++) {
+            SavingsAccountTransaction transaction = i % 3 == 2 ? withdrawal(account, START.plusDays(i), "40")
+                    : deposit(account, START.plusDays(i), "100");
+            transaction.setId((long) i + 1);
+            account.transactions.add(transaction);
+        }
+        account.recalculateDailyBalances(Money.zero(CURRENCY), TODAY, false, false);
+        return account;
+    }
+
+    private static SavingsAccountTransaction deposit(SavingsAccount account, LocalDate date, String amount) {
+        return SavingsAccountTransaction.deposit(account, null, null, date, Money.of(CURRENCY, new BigDecimal(amount)), null);
+    }
+
+    private static SavingsAccountTransaction withdrawal(SavingsAccount account, LocalDate date, String amount) {
+        return SavingsAccountTransaction.withdrawal(account, null, null, date, Money.of(CURRENCY, new BigDecimal(amount)), null);
+    }
+
+    private static void assertSameBalances(List<SavingsAccountTransaction> expected, List<SavingsAccountTransaction> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getRunningBalance(), actual.get(i).getRunningBalance());
+            assertEquals(expected.get(i).getCumulativeBalance(), actual.get(i).getCumulativeBalance());
+            assertEquals(expected.get(i).getBalanceEndDate(), actual.get(i).getBalanceEndDate());
+        }
+    }
+}